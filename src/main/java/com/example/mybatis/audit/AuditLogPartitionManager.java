@@ -0,0 +1,122 @@
+package com.example.mybatis.audit;
+
+import com.example.mybatis.mapper.AuditLogPartitionMapper;
+import com.example.mybatis.properties.AuditLogProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code audit_log} in step with the calendar: creates the current and the
+ * next {@code premake-months} partitions, and detaches or drops partitions that lie entirely before the
+ * retention cutoff. Removing a month this way is a catalog operation instead of a DELETE over its rows.
+ * The default partition is never touched.
+ */
+@Component
+public class AuditLogPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogPartitionManager.class);
+    private static final String PREFIX = "audit_log_p";
+    private static final Pattern PARTITION_NAME = Pattern.compile(PREFIX + "(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final AuditLogPartitionMapper partitionMapper;
+    private final AuditLogProperties properties;
+
+    public AuditLogPartitionManager(AuditLogPartitionMapper partitionMapper, AuditLogProperties properties) {
+        this.partitionMapper = partitionMapper;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.audit-log.partitions.cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        if (!properties.getPartitions().isEnabled()) {
+            return;
+        }
+        try {
+            maintain(LocalDate.now());
+        } catch (Exception e) {
+            log.warn("Audit log partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    void maintain(LocalDate today) {
+        Set<YearMonth> existing = existingMonths();
+        YearMonth current = YearMonth.from(today);
+        for (int i = 0; i <= Math.max(0, properties.getPartitions().getPremakeMonths()); i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!existing.contains(month)) {
+                create(month);
+            }
+        }
+
+        Period retention = properties.getRetention();
+        if (retention == null || retention.isZero() || retention.isNegative()) {
+            return;
+        }
+        LocalDate cutoff = today.minus(retention);
+        for (YearMonth month : existing) {
+            if (!month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                expire(month);
+            }
+        }
+    }
+
+    private Set<YearMonth> existingMonths() {
+        Set<YearMonth> months = new TreeSet<>();
+        for (String name : partitionMapper.selectPartitionNames()) {
+            Matcher m = PARTITION_NAME.matcher(name);
+            if (m.matches()) {
+                months.add(YearMonth.parse(m.group(1), SUFFIX));
+            }
+        }
+        return months;
+    }
+
+    private void create(YearMonth month) {
+        String name = partitionName(month);
+        try {
+            partitionMapper.createPartition(name, month.atDay(1).toString(), month.plusMonths(1).atDay(1).toString());
+            log.info("Created audit log partition {}", name);
+        } catch (Exception e) {
+            // Typically rows for that month already sit in the default partition
+            log.warn("Could not create audit log partition {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void expire(YearMonth month) {
+        String name = partitionName(month);
+        try {
+            if (properties.getPartitions().getExpiredAction() == AuditLogProperties.ExpiredPartitionAction.DROP) {
+                partitionMapper.dropPartition(name);
+                log.info("Dropped expired audit log partition {}", name);
+            } else {
+                partitionMapper.detachPartition(name);
+                log.info("Detached expired audit log partition {}", name);
+            }
+        } catch (Exception e) {
+            log.warn("Could not remove audit log partition {}: {}", name, e.getMessage());
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PREFIX + month.format(SUFFIX);
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.mybatis.audit;
+
+import com.example.mybatis.entity.AuditLog;
+import com.example.mybatis.mapper.AuditLogMapper;
+import com.example.mybatis.properties.AuditLogProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes audit records off the request thread. Records go into a bounded queue that a single background
+ * thread drains into multi-row INSERTs, flushing when a batch is full or {@code flush-interval} has passed.
+ * When the queue is full the record is dropped (optionally after a short wait), so auditing never stalls
+ * the API. Queued records are flushed on shutdown.
+ */
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+    private static final long POLL_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AuditLogMapper auditLogMapper;
+    private final AuditLogProperties.Writer properties;
+    private final BlockingQueue<AuditLog> queue;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(AuditLogMapper auditLogMapper, AuditLogProperties properties) {
+        this.auditLogMapper = auditLogMapper;
+        this.properties = properties.getWriter();
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, this.properties.getQueueCapacity()));
+    }
+
+    /**
+     * Queues the record for writing, or writes it immediately when the writer is synchronous or not running.
+     *
+     * @return false if the record was dropped because the queue was full
+     */
+    public boolean submit(AuditLog auditLog) {
+        if (auditLog.getCreatedAt() == null) {
+            auditLog.setCreatedAt(Instant.now());
+        }
+        if (!properties.isAsync() || !running) {
+            writeBatch(List.of(auditLog));
+            return true;
+        }
+        boolean queued;
+        if (properties.getOverflowPolicy() == AuditLogProperties.OverflowPolicy.BLOCK) {
+            try {
+                queued = queue.offer(auditLog, properties.getBlockTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+        } else {
+            queued = queue.offer(auditLog);
+        }
+        if (!queued) {
+            dropped.increment();
+            long total = dropped.sum();
+            if (total == 1 || total % 1000 == 0) {
+                log.warn("Audit log queue full, dropped {} records so far", total);
+            }
+        }
+        return queued;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !properties.isAsync()) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            log.warn("Audit log writer did not finish within {}, {} records left unwritten",
+                    properties.getShutdownTimeout(), queue.size());
+        } else {
+            // Records submitted while the worker was doing its final drain
+            flushRemaining();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Records currently waiting in the queue. */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    /** Records rejected because the queue was full. */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /** Records lost because their batch INSERT failed. */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                List<AuditLog> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    writeBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        flushRemaining();
+    }
+
+    private void flushRemaining() {
+        List<AuditLog> batch = new ArrayList<>(batchSize());
+        while (queue.drainTo(batch, batchSize()) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Waits for a first record, then collects more until the batch is full or the flush interval ends.
+     * Polls in short slices so that {@link #stop()} is noticed quickly.
+     */
+    private List<AuditLog> nextBatch() throws InterruptedException {
+        AuditLog first = queue.poll(POLL_SLICE_NANOS, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return List.of();
+        }
+        int batchSize = batchSize();
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + properties.getFlushInterval().toNanos();
+        while (running) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            AuditLog next = queue.poll(Math.min(remaining, POLL_SLICE_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+        return batch;
+    }
+
+    private void writeBatch(List<AuditLog> batch) {
+        try {
+            if (batch.size() == 1) {
+                auditLogMapper.insert(batch.get(0));
+            } else {
+                auditLogMapper.insertBatch(batch);
+            }
+            written.add(batch.size());
+        } catch (Exception e) {
+            failed.add(batch.size());
+            log.warn("Failed to save {} audit log records: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private int batchSize() {
+        return Math.max(1, properties.getBatchSize());
+    }
+}
@@ -2,23 +2,40 @@ package com.example.mybatis.config;
 
 import com.example.mybatis.filter.RateLimitFilter;
 import com.example.mybatis.properties.RateLimitProperties;
+import com.example.mybatis.ratelimit.BucketStore;
+import com.example.mybatis.ratelimit.LocalBucketStore;
+import com.example.mybatis.ratelimit.PostgresBucketStore;
+import com.example.mybatis.security.VerifiedTokenCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 
+import javax.sql.DataSource;
+
 @Configuration
 public class RateLimitConfig {
 
+    @Bean
+    public BucketStore bucketStore(RateLimitProperties properties, ObjectProvider<DataSource> dataSource) {
+        if (properties.getMode() == RateLimitProperties.Mode.CLUSTER) {
+            return new PostgresBucketStore(dataSource.getObject(), properties);
+        }
+        return new LocalBucketStore(properties);
+    }
+
     @Bean
     public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(
             RateLimitProperties properties,
-            @Autowired(required = false) ObjectMapper objectMapper) {
+            @Autowired(required = false) ObjectMapper objectMapper,
+            BucketStore bucketStore,
+            VerifiedTokenCache verifiedTokenCache) {
         ObjectMapper mapper = objectMapper != null ? objectMapper : new ObjectMapper();
         FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>();
-        registration.setFilter(new RateLimitFilter(properties, mapper));
+        registration.setFilter(new RateLimitFilter(properties, mapper, bucketStore, verifiedTokenCache));
         registration.addUrlPatterns("/*");
         registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
         registration.setName("rateLimitFilter");
@@ -11,20 +11,28 @@ public final class ApiMessages {
     // Auth
     public static final String LOGIN_SUCCESS = "Login successful";
     public static final String INVALID_USERNAME_OR_PASSWORD = "Invalid username or password";
+    public static final String TOKEN_REFRESHED = "Token refreshed";
+    public static final String INVALID_REFRESH_TOKEN = "Invalid or expired refresh token";
+    public static final String LOGOUT_SUCCESS = "Logout successful";
 
     // Security
     public static final String UNAUTHORIZED = "Unauthorized";
     public static final String TOO_MANY_REQUESTS = "Too many requests. Try again later.";
+    public static final String SERVER_BUSY = "Server is busy. Try again later.";
 
     // CRUD (shared for User, Role, Permission, Menu)
     public static final String GET_ONE_SUCCESS = "Get successfully";
     public static final String CREATED_SUCCESS = "Created successfully";
     public static final String UPDATED_SUCCESS = "Updated successfully";
     public static final String DELETED_SUCCESS = "Deleted successfully";
+    public static final String IMPORT_COMPLETED = "Import completed";
+    public static final String IMPORT_ABORTED = "Import stopped before the end of the upload";
+    public static final String IMPORT_IN_PROGRESS = "Another user import is running. Try again later.";
 
     // Role–menu
     public static final String GET_MENUS_BY_ROLE_SUCCESS = "Get menus by role successfully";
     public static final String MENUS_ASSIGNED = "Menus assigned successfully";
+    public static final String GET_MY_MENUS_SUCCESS = "Get current user menus successfully";
 
     // Errors (exception handler & generic)
     public static final String INVALID_REQUEST_BODY = "Invalid request body or JSON format";
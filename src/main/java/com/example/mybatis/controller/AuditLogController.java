@@ -0,0 +1,50 @@
+package com.example.mybatis.controller;
+
+import com.example.mybatis.dto.request.ExportFormat;
+import com.example.mybatis.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/audit-logs")
+@Tag(name = "Audit logs", description = "Export recorded requests")
+public class AuditLogController {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogController.class);
+
+    private final ExportService exportService;
+
+    public AuditLogController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @Operation(summary = "Export audit logs",
+            description = "Streams audit records matching the filters, oldest first, as NDJSON or CSV. "
+                    + "A from/to range only reads the monthly partitions it covers.")
+    @GetMapping("/export")
+    public void export(
+            @Parameter(description = "ndjson (default) or csv") @RequestParam(required = false) String format,
+            @Parameter(description = "Filter by operator username") @RequestParam(required = false) String ousername,
+            @Parameter(description = "Filter by HTTP method") @RequestParam(required = false) String method,
+            @Parameter(description = "Created at or after (ISO-8601 instant)") @RequestParam(required = false) Instant from,
+            @Parameter(description = "Created before (ISO-8601 instant)") @RequestParam(required = false) Instant to,
+            HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = ExportFormat.resolve(format);
+        log.debug("export audit logs format={}, ousername={}, method={}, from={}, to={}",
+                exportFormat, ousername, method, from, to);
+        exportService.exportAuditLogs(ousername, method, from, to, exportFormat,
+                ExportResponses.start(response, exportFormat, "audit-logs"));
+    }
+}
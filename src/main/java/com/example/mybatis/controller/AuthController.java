@@ -2,16 +2,19 @@ package com.example.mybatis.controller;
 
 import com.example.mybatis.constants.ApiMessages;
 import com.example.mybatis.dto.request.LoginRequest;
+import com.example.mybatis.dto.request.RefreshTokenRequest;
 import com.example.mybatis.dto.response.ApiResponse;
 import com.example.mybatis.dto.response.LoginResponse;
 import com.example.mybatis.dto.response.PermissionResponse;
 import com.example.mybatis.dto.response.RoleResponse;
-import com.example.mybatis.mapper.PermissionMapper;
-import com.example.mybatis.mapper.RoleMapper;
+import com.example.mybatis.dto.response.TokenResponse;
 import com.example.mybatis.mapper.dto.PermissionDtoMapper;
 import com.example.mybatis.mapper.dto.RoleDtoMapper;
-import com.example.mybatis.security.JwtUtil;
+import com.example.mybatis.security.JwtAuthenticationFilter;
 import com.example.mybatis.security.SecurityUser;
+import com.example.mybatis.security.TokenPair;
+import com.example.mybatis.security.TokenService;
+import com.example.mybatis.security.VerifiedToken;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
@@ -21,7 +24,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -36,19 +41,14 @@ public class AuthController {
     private static final Logger log = LoggerFactory.getLogger(AuthController.class);
 
     private final AuthenticationManager authenticationManager;
-    private final JwtUtil jwtUtil;
-    private final RoleMapper roleMapper;
-    private final PermissionMapper permissionMapper;
+    private final TokenService tokenService;
     private final RoleDtoMapper roleDtoMapper;
     private final PermissionDtoMapper permissionDtoMapper;
 
-    public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil,
-                          RoleMapper roleMapper, PermissionMapper permissionMapper,
+    public AuthController(AuthenticationManager authenticationManager, TokenService tokenService,
                           RoleDtoMapper roleDtoMapper, PermissionDtoMapper permissionDtoMapper) {
         this.authenticationManager = authenticationManager;
-        this.jwtUtil = jwtUtil;
-        this.roleMapper = roleMapper;
-        this.permissionMapper = permissionMapper;
+        this.tokenService = tokenService;
         this.roleDtoMapper = roleDtoMapper;
         this.permissionDtoMapper = permissionDtoMapper;
     }
@@ -68,15 +68,47 @@ public class AuthController {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
         SecurityUser user = (SecurityUser) authentication.getPrincipal();
-        String token = jwtUtil.generateToken(user.getUsername());
+        TokenPair tokens = tokenService.issue(user);
 
-        List<RoleResponse> roles = roleDtoMapper.toDTOList(roleMapper.selectByUserId(user.getId()));
-        List<PermissionResponse> permissions = permissionMapper.selectByUserId(user.getId()).stream()
+        // Roles and permissions were loaded together with the user during authentication
+        List<RoleResponse> roles = roleDtoMapper.toDTOList(user.getRoles());
+        List<PermissionResponse> permissions = user.getPermissions().stream()
                 .map(permissionDtoMapper::toDTO)
                 .collect(Collectors.toList());
 
-        LoginResponse response = new LoginResponse(token, user.getId(), user.getUsername(), roles, permissions);
+        LoginResponse response = new LoginResponse(tokens.accessToken(), tokens.refreshToken(), tokens.expiresIn(),
+                user.getId(), user.getUsername(), roles, permissions);
         log.info("login success userId={} username={}", user.getId(), user.getUsername());
         return ResponseEntity.ok(ApiResponse.success(response, ApiMessages.LOGIN_SUCCESS, 200));
     }
+
+    @Operation(
+            summary = "Refresh",
+            description = "Exchange a refresh token for a new access token and refresh token. The presented refresh token can no longer be used.",
+            security = {}
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "New token pair issued"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Refresh token invalid, expired or already used")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<TokenResponse>> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        TokenPair tokens = tokenService.refresh(request.getRefreshToken());
+        TokenResponse response = new TokenResponse(tokens.accessToken(), tokens.refreshToken(), tokens.expiresIn());
+        return ResponseEntity.ok(ApiResponse.success(response, ApiMessages.TOKEN_REFRESHED, 200));
+    }
+
+    @Operation(
+            summary = "Logout",
+            description = "Revoke the refresh token and the access token used for this request."
+    )
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @AuthenticationPrincipal SecurityUser user,
+            @Valid @RequestBody RefreshTokenRequest request,
+            @RequestAttribute(name = JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE, required = false) VerifiedToken accessToken) {
+        tokenService.logout(user, request.getRefreshToken(), accessToken);
+        log.info("logout userId={}", user.getId());
+        return ResponseEntity.ok(ApiResponse.success(null, ApiMessages.LOGOUT_SUCCESS, 200));
+    }
 }
@@ -0,0 +1,23 @@
+package com.example.mybatis.controller;
+
+import com.example.mybatis.dto.request.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** Sets the headers of an export download and hands out the body stream. */
+final class ExportResponses {
+
+    private ExportResponses() {
+    }
+
+    static OutputStream start(HttpServletResponse response, ExportFormat format, String baseName) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(format.fileName(baseName)).build().toString());
+        return response.getOutputStream();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.mybatis.controller;
+
+import com.example.mybatis.properties.JwtProperties;
+import com.example.mybatis.security.JwtKeyRing;
+import com.example.mybatis.security.JwtUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Public keys for verifying our tokens, in the standard JWK Set format (not wrapped in {@code ApiResponse}),
+ * so other services can verify tokens locally and cache the keys.
+ */
+@RestController
+public class JwksController {
+
+    private final JwtUtil jwtUtil;
+    private final JwtProperties jwtProperties;
+
+    public JwksController(JwtUtil jwtUtil, JwtProperties jwtProperties) {
+        this.jwtUtil = jwtUtil;
+        this.jwtProperties = jwtProperties;
+    }
+
+    @Operation(
+            summary = "JWK Set",
+            description = "Public keys that verify access tokens, selected by the token's kid header. Empty when tokens are signed with HS256.",
+            security = {}
+    )
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        JwtKeyRing keyRing = jwtUtil.getKeyRing();
+        // The ETag lets clients revalidate with If-None-Match and get a 304 until the keys change
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwtProperties.getJwksMaxAge()).cachePublic())
+                .eTag(keyRing.getJwksETag())
+                .body(keyRing.getJwks());
+    }
+}
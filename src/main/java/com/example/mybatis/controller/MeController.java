@@ -0,0 +1,40 @@
+package com.example.mybatis.controller;
+
+import com.example.mybatis.constants.ApiMessages;
+import com.example.mybatis.dto.response.ApiResponse;
+import com.example.mybatis.dto.response.MenuResponse;
+import com.example.mybatis.security.SecurityUser;
+import com.example.mybatis.service.RoleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/me")
+@Tag(name = "Me", description = "Data of the authenticated user")
+public class MeController {
+
+    private static final Logger log = LoggerFactory.getLogger(MeController.class);
+
+    private final RoleService roleService;
+
+    public MeController(RoleService roleService) {
+        this.roleService = roleService;
+    }
+
+    @Operation(summary = "Get my menus", description = "Returns the menu tree merged across all roles of the current user")
+    @GetMapping("/menus")
+    public ResponseEntity<ApiResponse<List<MenuResponse>>> getMyMenus(@AuthenticationPrincipal SecurityUser user) {
+        log.debug("getMyMenus username={}", user.getUsername());
+        List<MenuResponse> menus = roleService.getMenusByRoleCodes(user.getRoleCodes());
+        return ResponseEntity.ok(ApiResponse.success(menus, ApiMessages.GET_MY_MENUS_SUCCESS, 200));
+    }
+}
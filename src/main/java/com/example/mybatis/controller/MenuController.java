@@ -1,6 +1,7 @@
 package com.example.mybatis.controller;
 
 import com.example.mybatis.constants.ApiMessages;
+import com.example.mybatis.dto.request.CountMode;
 import com.example.mybatis.dto.request.MenuCreateRequest;
 import com.example.mybatis.dto.request.MenuUpdateRequest;
 import com.example.mybatis.dto.response.ApiResponse;
@@ -33,27 +34,25 @@ public class MenuController {
         this.menuService = menuService;
     }
 
-    @Operation(summary = "List menus", description = "Returns paginated menus, optionally filtered by name, path, parentId")
+    @Operation(summary = "List menus", description = "Returns paginated menus, optionally filtered by name, path, parentId. Cursor mode orders by id")
     @GetMapping
     public ResponseEntity<ApiResponse<List<MenuResponse>>> list(
             @Parameter(description = "Zero-based page index") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cursor mode: nextCursor of the previous page, or empty for the first page; page is then ignored")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Total count: exact, none or estimated; defaults to exact, or none in cursor mode")
+            @RequestParam(required = false) String count,
             @Parameter(description = "Filter by name") @RequestParam(required = false) String name,
             @Parameter(description = "Filter by path") @RequestParam(required = false) String path,
             @Parameter(description = "Filter by parent menu ID") @RequestParam(required = false) Long parentId
     ) {
-        log.debug("list menus page={}, size={}, name={}, path={}, parentId={}", page, size, name, path, parentId);
-        PageResponse<MenuResponse> pr = menuService.findAll(page, size, name, path, parentId);
-        PaginationDto pagination = PaginationDto.builder()
-                .pageSize(pr.getSize())
-                .pageNumber(pr.getNumber() + 1)
-                .totalPages(pr.getTotalPages())
-                .totalElements(pr.getTotalElements())
-                .numberOfElements(pr.getContent().size())
-                .first(pr.getNumber() == 0)
-                .last(pr.getNumber() >= pr.getTotalPages() - 1)
-                .empty(pr.getContent().isEmpty())
-                .build();
+        log.debug("list menus page={}, cursor={}, count={}, size={}, name={}, path={}, parentId={}", page, cursor, count, size, name, path, parentId);
+        CountMode countMode = CountMode.resolve(count, cursor != null);
+        PageResponse<MenuResponse> pr = cursor != null
+                ? menuService.findAllByCursor(cursor, size, name, path, parentId, countMode)
+                : menuService.findAll(page, size, name, path, parentId, countMode);
+        PaginationDto pagination = PaginationDto.from(pr);
         return ResponseEntity.ok(ApiResponse.successWithPage(
                 pr.getContent(),
                 pagination,
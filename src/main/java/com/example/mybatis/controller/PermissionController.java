@@ -1,16 +1,21 @@
 package com.example.mybatis.controller;
 
 import com.example.mybatis.constants.ApiMessages;
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.ExportFormat;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.PermissionCreateRequest;
 import com.example.mybatis.dto.request.PermissionUpdateRequest;
 import com.example.mybatis.dto.response.ApiResponse;
 import com.example.mybatis.dto.response.PageResponse;
 import com.example.mybatis.dto.response.PaginationDto;
 import com.example.mybatis.dto.response.PermissionResponse;
+import com.example.mybatis.service.ExportService;
 import com.example.mybatis.service.PermissionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +23,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -28,9 +34,11 @@ public class PermissionController {
     private static final Logger log = LoggerFactory.getLogger(PermissionController.class);
 
     private final PermissionService permissionService;
+    private final ExportService exportService;
 
-    public PermissionController(PermissionService permissionService) {
+    public PermissionController(PermissionService permissionService, ExportService exportService) {
         this.permissionService = permissionService;
+        this.exportService = exportService;
     }
 
     @Operation(summary = "List permissions", description = "Returns paginated permissions, optionally filtered by code and name")
@@ -38,21 +46,22 @@ public class PermissionController {
     public ResponseEntity<ApiResponse<List<PermissionResponse>>> list(
             @Parameter(description = "Zero-based page index") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cursor mode: nextCursor of the previous page, or empty for the first page; page is then ignored")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Total count: exact, none or estimated; defaults to exact, or none in cursor mode")
+            @RequestParam(required = false) String count,
+            @Parameter(description = "How text filters match: contains (default) or prefix")
+            @RequestParam(required = false) String match,
             @Parameter(description = "Filter by code") @RequestParam(required = false) String code,
             @Parameter(description = "Filter by name") @RequestParam(required = false) String name
     ) {
-        log.debug("list permissions page={}, size={}, code={}, name={}", page, size, code, name);
-        PageResponse<PermissionResponse> pr = permissionService.findAll(page, size, code, name);
-        PaginationDto pagination = PaginationDto.builder()
-                .pageSize(pr.getSize())
-                .pageNumber(pr.getNumber() + 1)
-                .totalPages(pr.getTotalPages())
-                .totalElements(pr.getTotalElements())
-                .numberOfElements(pr.getContent().size())
-                .first(pr.getNumber() == 0)
-                .last(pr.getNumber() >= pr.getTotalPages() - 1)
-                .empty(pr.getContent().isEmpty())
-                .build();
+        log.debug("list permissions page={}, cursor={}, count={}, size={}, code={}, name={}", page, cursor, count, size, code, name);
+        CountMode countMode = CountMode.resolve(count, cursor != null);
+        MatchMode matchMode = MatchMode.resolve(match);
+        PageResponse<PermissionResponse> pr = cursor != null
+                ? permissionService.findAllByCursor(cursor, size, code, name, matchMode, countMode)
+                : permissionService.findAll(page, size, code, name, matchMode, countMode);
+        PaginationDto pagination = PaginationDto.from(pr);
         return ResponseEntity.ok(ApiResponse.successWithPage(
                 pr.getContent(),
                 pagination,
@@ -61,6 +70,22 @@ public class PermissionController {
         ));
     }
 
+    @Operation(summary = "Export permissions", description = "Streams every permission matching the filters as NDJSON or CSV; no paging")
+    @GetMapping("/export")
+    public void export(
+            @Parameter(description = "ndjson (default) or csv") @RequestParam(required = false) String format,
+            @Parameter(description = "How text filters match: contains (default) or prefix")
+            @RequestParam(required = false) String match,
+            @Parameter(description = "Filter by code") @RequestParam(required = false) String code,
+            @Parameter(description = "Filter by name") @RequestParam(required = false) String name,
+            HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = ExportFormat.resolve(format);
+        MatchMode matchMode = MatchMode.resolve(match);
+        log.debug("export permissions format={}, code={}, name={}, match={}", exportFormat, code, name, matchMode);
+        exportService.exportPermissions(code, name, matchMode, exportFormat, ExportResponses.start(response, exportFormat, "permissions"));
+    }
+
     @Operation(summary = "Get permission by ID")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<PermissionResponse>> getOne(
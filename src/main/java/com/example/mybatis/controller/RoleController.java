@@ -1,6 +1,9 @@
 package com.example.mybatis.controller;
 
 import com.example.mybatis.constants.ApiMessages;
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.ExportFormat;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.RoleCreateRequest;
 import com.example.mybatis.dto.request.RoleMenuAssignRequest;
 import com.example.mybatis.dto.request.RoleUpdateRequest;
@@ -9,10 +12,12 @@ import com.example.mybatis.dto.response.MenuResponse;
 import com.example.mybatis.dto.response.PageResponse;
 import com.example.mybatis.dto.response.PaginationDto;
 import com.example.mybatis.dto.response.RoleResponse;
+import com.example.mybatis.service.ExportService;
 import com.example.mybatis.service.RoleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +25,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -30,9 +36,11 @@ public class RoleController {
     private static final Logger log = LoggerFactory.getLogger(RoleController.class);
 
     private final RoleService roleService;
+    private final ExportService exportService;
 
-    public RoleController(RoleService roleService) {
+    public RoleController(RoleService roleService, ExportService exportService) {
         this.roleService = roleService;
+        this.exportService = exportService;
     }
 
     @Operation(summary = "List roles", description = "Returns paginated roles, optionally filtered by code and name")
@@ -40,21 +48,22 @@ public class RoleController {
     public ResponseEntity<ApiResponse<List<RoleResponse>>> list(
             @Parameter(description = "Zero-based page index") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cursor mode: nextCursor of the previous page, or empty for the first page; page is then ignored")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Total count: exact, none or estimated; defaults to exact, or none in cursor mode")
+            @RequestParam(required = false) String count,
+            @Parameter(description = "How text filters match: contains (default) or prefix")
+            @RequestParam(required = false) String match,
             @Parameter(description = "Filter by code") @RequestParam(required = false) String code,
             @Parameter(description = "Filter by name") @RequestParam(required = false) String name
     ) {
-        log.debug("list roles page={}, size={}, code={}, name={}", page, size, code, name);
-        PageResponse<RoleResponse> pr = roleService.findAll(page, size, code, name);
-        PaginationDto pagination = PaginationDto.builder()
-                .pageSize(pr.getSize())
-                .pageNumber(pr.getNumber() + 1)
-                .totalPages(pr.getTotalPages())
-                .totalElements(pr.getTotalElements())
-                .numberOfElements(pr.getContent().size())
-                .first(pr.getNumber() == 0)
-                .last(pr.getNumber() >= pr.getTotalPages() - 1)
-                .empty(pr.getContent().isEmpty())
-                .build();
+        log.debug("list roles page={}, cursor={}, count={}, size={}, code={}, name={}", page, cursor, count, size, code, name);
+        CountMode countMode = CountMode.resolve(count, cursor != null);
+        MatchMode matchMode = MatchMode.resolve(match);
+        PageResponse<RoleResponse> pr = cursor != null
+                ? roleService.findAllByCursor(cursor, size, code, name, matchMode, countMode)
+                : roleService.findAll(page, size, code, name, matchMode, countMode);
+        PaginationDto pagination = PaginationDto.from(pr);
         return ResponseEntity.ok(ApiResponse.successWithPage(
                 pr.getContent(),
                 pagination,
@@ -63,6 +72,22 @@ public class RoleController {
         ));
     }
 
+    @Operation(summary = "Export roles", description = "Streams every role matching the filters as NDJSON or CSV; no paging")
+    @GetMapping("/export")
+    public void export(
+            @Parameter(description = "ndjson (default) or csv") @RequestParam(required = false) String format,
+            @Parameter(description = "How text filters match: contains (default) or prefix")
+            @RequestParam(required = false) String match,
+            @Parameter(description = "Filter by code") @RequestParam(required = false) String code,
+            @Parameter(description = "Filter by name") @RequestParam(required = false) String name,
+            HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = ExportFormat.resolve(format);
+        MatchMode matchMode = MatchMode.resolve(match);
+        log.debug("export roles format={}, code={}, name={}, match={}", exportFormat, code, name, matchMode);
+        exportService.exportRoles(code, name, matchMode, exportFormat, ExportResponses.start(response, exportFormat, "roles"));
+    }
+
     @Operation(summary = "Get role by ID")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<RoleResponse>> getOne(
@@ -1,23 +1,38 @@
 package com.example.mybatis.controller;
 
 import com.example.mybatis.constants.ApiMessages;
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.ExportFormat;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.UserCreateRequest;
 import com.example.mybatis.dto.request.UserUpdateRequest;
 import com.example.mybatis.dto.response.ApiResponse;
 import com.example.mybatis.dto.response.PageResponse;
 import com.example.mybatis.dto.response.PaginationDto;
+import com.example.mybatis.dto.response.UserImportResponse;
 import com.example.mybatis.dto.response.UserResponse;
+import com.example.mybatis.exception.BadRequestException;
+import com.example.mybatis.service.ExportService;
+import com.example.mybatis.service.UserImportService;
 import com.example.mybatis.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -28,9 +43,13 @@ public class UserController {
     private static final Logger log = LoggerFactory.getLogger(UserController.class);
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final ExportService exportService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserImportService userImportService, ExportService exportService) {
         this.userService = userService;
+        this.userImportService = userImportService;
+        this.exportService = exportService;
     }
 
     @Operation(summary = "List users", description = "Returns paginated users, optionally filtered by name and email")
@@ -38,21 +57,22 @@ public class UserController {
     public ResponseEntity<ApiResponse<List<UserResponse>>> list(
             @Parameter(description = "Zero-based page index") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Cursor mode: nextCursor of the previous page, or empty for the first page; page is then ignored")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Total count: exact, none or estimated; defaults to exact, or none in cursor mode")
+            @RequestParam(required = false) String count,
+            @Parameter(description = "How text filters match: contains (default) or prefix")
+            @RequestParam(required = false) String match,
             @Parameter(description = "Filter by name (username)") @RequestParam(required = false) String name,
             @Parameter(description = "Filter by email") @RequestParam(required = false) String email
     ) {
-        log.debug("list users page={}, size={}, name={}, email={}", page, size, name, email);
-        PageResponse<UserResponse> pr = userService.findAll(page, size, name, email);
-        PaginationDto pagination = PaginationDto.builder()
-                .pageSize(pr.getSize())
-                .pageNumber(pr.getNumber() + 1)
-                .totalPages(pr.getTotalPages())
-                .totalElements(pr.getTotalElements())
-                .numberOfElements(pr.getContent().size())
-                .first(pr.getNumber() == 0)
-                .last(pr.getNumber() >= pr.getTotalPages() - 1)
-                .empty(pr.getContent().isEmpty())
-                .build();
+        log.debug("list users page={}, cursor={}, count={}, size={}, name={}, email={}", page, cursor, count, size, name, email);
+        CountMode countMode = CountMode.resolve(count, cursor != null);
+        MatchMode matchMode = MatchMode.resolve(match);
+        PageResponse<UserResponse> pr = cursor != null
+                ? userService.findAllByCursor(cursor, size, name, email, matchMode, countMode)
+                : userService.findAll(page, size, name, email, matchMode, countMode);
+        PaginationDto pagination = PaginationDto.from(pr);
         ApiResponse<List<UserResponse>> response = ApiResponse.successWithPage(
                 pr.getContent(),
                 pagination,
@@ -62,6 +82,23 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Export users",
+            description = "Streams every user matching the filters, with role codes, as NDJSON or CSV; no paging")
+    @GetMapping("/export")
+    public void export(
+            @Parameter(description = "ndjson (default) or csv") @RequestParam(required = false) String format,
+            @Parameter(description = "How text filters match: contains (default) or prefix")
+            @RequestParam(required = false) String match,
+            @Parameter(description = "Filter by name (username)") @RequestParam(required = false) String name,
+            @Parameter(description = "Filter by email") @RequestParam(required = false) String email,
+            HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = ExportFormat.resolve(format);
+        MatchMode matchMode = MatchMode.resolve(match);
+        log.debug("export users format={}, name={}, email={}, match={}", exportFormat, name, email, matchMode);
+        exportService.exportUsers(name, email, matchMode, exportFormat, ExportResponses.start(response, exportFormat, "users"));
+    }
+
     @Operation(summary = "Get user by ID")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<UserResponse>> getOne(
@@ -78,6 +115,28 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(null, ApiMessages.CREATED_SUCCESS, 201));
     }
 
+    @Operation(
+            summary = "Import users",
+            description = "Creates users from a streamed CSV (text/csv, header: username,password,email,enabled,roleIds "
+                    + "with role ids separated by ';') or NDJSON (application/x-ndjson, one user object per line) upload. "
+                    + "Invalid rows are skipped and listed with their line number; valid rows are saved in chunks. "
+                    + "If the import stops early, chunks saved until then stay saved and the result is marked aborted."
+    )
+    @PostMapping(path = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponse<UserImportResponse>> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        UserImportService.Format format = UserImportService.Format.of(mediaType);
+        if (format == null) {
+            throw new BadRequestException("Unsupported import format: " + contentType);
+        }
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+        log.info("importUsers format={}", format);
+        UserImportResponse result = userImportService.importUsers(new InputStreamReader(body, charset), format);
+        String message = result.isAborted() ? ApiMessages.IMPORT_ABORTED : ApiMessages.IMPORT_COMPLETED;
+        return ResponseEntity.ok(ApiResponse.success(result, message, 200));
+    }
+
     @Operation(summary = "Update user", description = "Updates only non-null fields; omit password to keep current")
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> update(
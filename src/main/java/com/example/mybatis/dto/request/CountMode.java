@@ -0,0 +1,35 @@
+package com.example.mybatis.dto.request;
+
+import com.example.mybatis.exception.BadRequestException;
+
+import java.util.Locale;
+
+/** How list endpoints compute {@code totalElements}. */
+public enum CountMode {
+
+    /** Exact COUNT(*) for the filters, cached briefly per filter tuple. */
+    EXACT,
+
+    /** No count; totals are left out of the response. */
+    NONE,
+
+    /** Planner estimate from pg_class for unfiltered lists; falls back to EXACT when filters are set. */
+    ESTIMATED;
+
+    /**
+     * Parses the {@code count} request parameter (case-insensitive). When absent, page/size mode defaults
+     * to EXACT for compatibility and cursor mode to NONE, since a cursor walk does not need totals.
+     *
+     * @throws BadRequestException for an unknown value
+     */
+    public static CountMode resolve(String value, boolean cursorMode) {
+        if (value == null || value.isBlank()) {
+            return cursorMode ? NONE : EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid count mode: " + value);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.mybatis.dto.request;
+
+import com.example.mybatis.exception.BadRequestException;
+
+import java.util.Locale;
+
+/** Output format of the export endpoints. */
+public enum ExportFormat {
+
+    /** One JSON object per line. */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /** RFC 4180 CSV with a header line; multi-valued columns are joined with {@code ;}. */
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /** File name for the Content-Disposition header, e.g. {@code users.csv}. */
+    public String fileName(String baseName) {
+        return baseName + "." + extension;
+    }
+
+    /**
+     * Parses the {@code format} request parameter (case-insensitive), defaulting to NDJSON.
+     *
+     * @throws BadRequestException for an unknown value
+     */
+    public static ExportFormat resolve(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid export format: " + value);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.mybatis.dto.request;
+
+import com.example.mybatis.exception.BadRequestException;
+
+import java.util.Locale;
+
+/** How the text filters of list and export endpoints match; both modes ignore case. */
+public enum MatchMode {
+
+    /** The value may appear anywhere; served by the pg_trgm GIN indexes. */
+    CONTAINS,
+
+    /** The value must be a prefix; served by the {@code lower(column) text_pattern_ops} B-tree indexes. */
+    PREFIX;
+
+    public boolean isPrefix() {
+        return this == PREFIX;
+    }
+
+    /**
+     * Parses the {@code match} request parameter (case-insensitive), defaulting to CONTAINS.
+     *
+     * @throws BadRequestException for an unknown value
+     */
+    public static MatchMode resolve(String value) {
+        if (value == null || value.isBlank()) {
+            return CONTAINS;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid match mode: " + value);
+        }
+    }
+
+    /**
+     * LIKE pattern for values of {@code lower(column)} starting with the given text. {@code %}, {@code _} and
+     * the escape character are escaped, so they match literally and the whole text stays an indexable prefix.
+     */
+    public static String prefixPattern(String value) {
+        String lower = value.toLowerCase(Locale.ROOT);
+        StringBuilder pattern = new StringBuilder(lower.length() + 1);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.mybatis.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Refresh token returned by login or a previous refresh")
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "Refresh token must not be blank")
+    @Schema(description = "Refresh token", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String refreshToken;
+}
@@ -15,15 +15,20 @@ public class LoginResponse {
 
     private String token;
     private String type = "Bearer";
+    private String refreshToken;
+    /** Access token lifetime in seconds. */
+    private long expiresIn;
     private Long id;
     private String username;
     private List<RoleResponse> roles;
     private List<PermissionResponse> permissions;
 
-    public LoginResponse(String token, Long id, String username,
+    public LoginResponse(String token, String refreshToken, long expiresIn, Long id, String username,
                          List<RoleResponse> roles, List<PermissionResponse> permissions) {
         this.token = token;
         this.type = "Bearer";
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
         this.id = id;
         this.username = username;
         this.roles = roles;
@@ -8,16 +8,62 @@ import java.util.List;
 public class PageResponse<T> {
 
     private final List<T> content;
-    private final long totalElements;
-    private final int totalPages;
+    /** Null when the list was requested without a count. */
+    private final Long totalElements;
+    /** Null when {@link #totalElements} is unknown. */
+    private final Integer totalPages;
     private final int size;
     private final int number;
+    private final boolean first;
+    private final boolean last;
+    /** True when the page was fetched by cursor; {@link #number} is then meaningless. */
+    private final boolean cursorPaged;
+    /** Cursor of the next page in cursor mode, null on the last page and in page/size mode. */
+    private final String nextCursor;
 
     public PageResponse(List<T> content, long totalElements, int size, int number) {
+        this(content, Long.valueOf(totalElements), size, number);
+    }
+
+    /** Page/size page; without a total, the page counts as last when it is not full. */
+    public PageResponse(List<T> content, Long totalElements, int size, int number) {
         this.content = content;
         this.totalElements = totalElements;
         this.size = size;
         this.number = number;
-        this.totalPages = size > 0 ? (int) Math.ceil((double) totalElements / size) : 0;
+        this.totalPages = pageCount(totalElements, size);
+        this.first = number == 0;
+        this.last = totalPages != null ? number >= totalPages - 1 : content.size() < size;
+        this.cursorPaged = false;
+        this.nextCursor = null;
+    }
+
+    private PageResponse(List<T> content, Long totalElements, int size, boolean first, String nextCursor) {
+        this.content = content;
+        this.totalElements = totalElements;
+        this.size = size;
+        this.number = 0;
+        this.totalPages = pageCount(totalElements, size);
+        this.first = first;
+        this.last = nextCursor == null;
+        this.cursorPaged = true;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Page fetched by keyset pagination.
+     *
+     * @param totalElements total rows for the filters, or null when not counted
+     * @param first         whether the page was requested without a cursor
+     * @param nextCursor    cursor of the next page, or null when this is the last page
+     */
+    public static <T> PageResponse<T> ofCursor(List<T> content, Long totalElements, int size, boolean first,
+                                               String nextCursor) {
+        return new PageResponse<>(content, totalElements, size, first, nextCursor);
+    }
+
+    private static Integer pageCount(Long totalElements, int size) {
+        if (totalElements == null) return null;
+        return size > 0 ? (int) Math.ceil((double) totalElements / size) : 0;
     }
 }
@@ -1,5 +1,6 @@
 package com.example.mybatis.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -11,14 +12,34 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PaginationDto {
 
     private int pageSize;
-    private int pageNumber;
-    private int totalPages;
-    private long totalElements;
+    /** One-based page number; null in cursor mode. */
+    private Integer pageNumber;
+    /** Null when the list was requested with {@code count=none}. */
+    private Integer totalPages;
+    /** Exact or estimated total depending on {@code count}; null with {@code count=none}. */
+    private Long totalElements;
     private int numberOfElements;
     private boolean first;
     private boolean last;
     private boolean empty;
+    /** Opaque cursor to pass as {@code cursor} for the next page; only set in cursor mode when more rows exist. */
+    private String nextCursor;
+
+    public static PaginationDto from(PageResponse<?> pr) {
+        return PaginationDto.builder()
+                .pageSize(pr.getSize())
+                .pageNumber(pr.isCursorPaged() ? null : pr.getNumber() + 1)
+                .totalPages(pr.getTotalPages())
+                .totalElements(pr.getTotalElements())
+                .numberOfElements(pr.getContent().size())
+                .first(pr.isFirst())
+                .last(pr.isLast())
+                .empty(pr.getContent().isEmpty())
+                .nextCursor(pr.getNextCursor())
+                .build();
+    }
 }
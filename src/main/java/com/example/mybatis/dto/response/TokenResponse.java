@@ -0,0 +1,25 @@
+package com.example.mybatis.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenResponse {
+
+    private String token;
+    private String type = "Bearer";
+    private String refreshToken;
+    /** Access token lifetime in seconds. */
+    private long expiresIn;
+
+    public TokenResponse(String token, String refreshToken, long expiresIn) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+}
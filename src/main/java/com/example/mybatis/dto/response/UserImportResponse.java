@@ -0,0 +1,55 @@
+package com.example.mybatis.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk user import")
+public class UserImportResponse {
+
+    @Schema(description = "Data rows read from the upload")
+    private long total;
+
+    @Schema(description = "Users created")
+    private long imported;
+
+    @Schema(description = "Rows rejected")
+    private long failed;
+
+    @Schema(description = "Rejected rows with the reason, up to the configured limit")
+    private List<RowError> errors;
+
+    @Schema(description = "True when more rows failed than are listed in errors")
+    private boolean errorsTruncated;
+
+    @Schema(description = "True when the import stopped before the end of the upload; rows saved until then stay saved")
+    private boolean aborted;
+
+    @Schema(description = "Why the import stopped early, when aborted")
+    private String abortReason;
+
+    public UserImportResponse(long total, long imported, long failed, List<RowError> errors, boolean errorsTruncated) {
+        this(total, imported, failed, errors, errorsTruncated, false, null);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+
+        @Schema(description = "Line of the row in the upload (1-based)")
+        private final long line;
+
+        @Schema(description = "Username of the row, when it could be read")
+        private final String username;
+
+        private final String message;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.mybatis.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    private Long id;
+    private Long userId;
+    /** Hex SHA-256 of the token handed to the client. */
+    private String tokenHash;
+    private Instant expiresAt;
+    private Instant createdAt;
+    private Instant revokedAt;
+}
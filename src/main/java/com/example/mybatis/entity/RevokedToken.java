@@ -0,0 +1,20 @@
+package com.example.mybatis.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    private String jti;
+    /** Expiry of the revoked token; the row is useless after it. */
+    private Instant expiresAt;
+    private Instant revokedAt;
+}
@@ -0,0 +1,19 @@
+package com.example.mybatis.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** A user with its roles and the permissions granted through them, as loaded by {@code UserMapper.selectAccessByUsername}. */
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserAccess extends User {
+
+    private Long authzVersion;
+    private List<Role> roles = new ArrayList<>();
+    private List<Permission> permissions = new ArrayList<>();
+}
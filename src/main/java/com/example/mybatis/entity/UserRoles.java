@@ -0,0 +1,20 @@
+package com.example.mybatis.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Roles of one user, as grouped by {@code RoleMapper.selectByUserIds}. */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRoles {
+
+    private Long userId;
+    private List<Role> roles = new ArrayList<>();
+}
@@ -0,0 +1,8 @@
+package com.example.mybatis.exception;
+
+public class UnauthorizedException extends RuntimeException {
+
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,8 @@
 package com.example.mybatis.filter;
 
+import com.example.mybatis.audit.AuditLogWriter;
 import com.example.mybatis.audit.CurrentUserService;
 import com.example.mybatis.entity.AuditLog;
-import com.example.mybatis.mapper.AuditLogMapper;
 import com.example.mybatis.properties.AuditLogProperties;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -11,23 +11,37 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.core.annotation.Order;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.regex.Pattern;
 
 @Order(-500)
 public class AuditLogFilter extends OncePerRequestFilter {
 
+    /**
+     * JSON string fields whose values never reach {@code audit_log}: the login password and the access and
+     * refresh tokens of {@code /auth/**} (only their SHA-256 is stored elsewhere). A value cut off by
+     * {@code max-body-length} is masked up to the end of the body.
+     */
+    private static final Pattern SECRET_FIELD = Pattern.compile(
+            "(\"(?:password|token|accessToken|refreshToken)\"\\s*:\\s*)\"(?:[^\"\\\\]|\\\\.)*(?:\"|\\\\?$)");
+    private static final String MASKED = "$1\"***\"";
+
     private final AuditLogProperties properties;
-    private final AuditLogMapper auditLogMapper;
+    private final AuditLogWriter auditLogWriter;
     private final CurrentUserService currentUserService;
+    private final PathExclusions excludedPaths;
+    private final PathExclusions excludedBodyPaths;
 
-    public AuditLogFilter(AuditLogProperties properties, AuditLogMapper auditLogMapper,
+    public AuditLogFilter(AuditLogProperties properties, AuditLogWriter auditLogWriter,
                           CurrentUserService currentUserService) {
         this.properties = properties;
-        this.auditLogMapper = auditLogMapper;
+        this.auditLogWriter = auditLogWriter;
         this.currentUserService = currentUserService;
+        this.excludedPaths = PathExclusions.compile(properties.getExcludePaths());
+        this.excludedBodyPaths = PathExclusions.compile(properties.getExcludeBodyPaths());
     }
 
     @Override
@@ -38,38 +52,36 @@ public class AuditLogFilter extends OncePerRequestFilter {
             return;
         }
         String path = request.getRequestURI();
-        if (isExcluded(path)) {
+        if (excludedPaths.matches(path)) {
             filterChain.doFilter(request, response);
             return;
         }
 
         int cacheLimit = Math.max(0, properties.getMaxBodyLength());
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request, cacheLimit);
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+        boolean recordRequestBody = !excludedBodyPaths.matches(path);
+        ContentCachingRequestWrapper wrappedRequest =
+                new ContentCachingRequestWrapper(request, recordRequestBody ? cacheLimit : 0);
+        CappedTeeResponseWrapper wrappedResponse = new CappedTeeResponseWrapper(response, cacheLimit);
 
         try {
             filterChain.doFilter(wrappedRequest, wrappedResponse);
         } finally {
-            saveAuditLog(wrappedRequest, wrappedResponse);
-            wrappedResponse.copyBodyToResponse();
+            wrappedResponse.finish();
+            saveAuditLog(wrappedRequest, wrappedResponse, recordRequestBody);
         }
     }
 
-    private boolean isExcluded(String path) {
-        return properties.getExcludePaths().stream()
-                .anyMatch(pattern -> path.equals(pattern) || path.startsWith(pattern + "/"));
-    }
 
     private void saveAuditLog(ContentCachingRequestWrapper request,
-                              ContentCachingResponseWrapper response) {
+                              CappedTeeResponseWrapper response, boolean recordRequestBody) {
         try {
             String method = request.getMethod();
             String httpUrl = request.getRequestURI();
             if (request.getQueryString() != null) {
                 httpUrl = httpUrl + "?" + request.getQueryString();
             }
-            String requestData = getTruncatedBody(request.getContentAsByteArray());
-            String responseData = getTruncatedBody(response.getContentAsByteArray());
+            String requestData = recordRequestBody ? getRequestBody(request) : null;
+            String responseData = withTruncationMarker(maskSecrets(response.getContentAsString()), response.isTruncated());
             String ousername = currentUserService.getCurrentUsername();
 
             AuditLog log = new AuditLog();
@@ -78,7 +90,8 @@ public class AuditLogFilter extends OncePerRequestFilter {
             log.setRequestData(requestData);
             log.setResponseData(responseData);
             log.setOusername(ousername);
-            auditLogMapper.insert(log);
+            log.setCreatedAt(Instant.now());
+            auditLogWriter.submit(log);
         } catch (Exception e) {
             // Log but do not fail the request
             if (logger.isWarnEnabled()) {
@@ -87,16 +100,29 @@ public class AuditLogFilter extends OncePerRequestFilter {
         }
     }
 
-    private String getTruncatedBody(byte[] content) {
-        if (content == null || content.length == 0) {
+    private String getRequestBody(ContentCachingRequestWrapper request) {
+        byte[] content = request.getContentAsByteArray();
+        if (content.length == 0) {
             return null;
         }
-        String body = new String(content, StandardCharsets.UTF_8);
-        int max = Math.max(0, properties.getMaxBodyLength());
-        if (max > 0 && body.length() > max) {
-            return body.substring(0, max) + "...[truncated]";
+        // The wrapper stops caching at max-body-length, so anything longer was cut off
+        boolean truncated = request.getContentLengthLong() > content.length;
+        int length = truncated ? CappedTeeResponseWrapper.completeUtf8Length(content, content.length) : content.length;
+        return withTruncationMarker(maskSecrets(new String(content, 0, length, StandardCharsets.UTF_8)), truncated);
+    }
+
+    static String maskSecrets(String body) {
+        if (body == null || body.isEmpty()) {
+            return body;
+        }
+        return SECRET_FIELD.matcher(body).replaceAll(MASKED);
+    }
+
+    private String withTruncationMarker(String body, boolean truncated) {
+        if (body == null || !truncated) {
+            return body;
         }
-        return body;
+        return body + "...[truncated]";
     }
 
     private String truncateUrl(String url) {
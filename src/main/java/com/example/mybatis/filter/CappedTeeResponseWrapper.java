@@ -0,0 +1,201 @@
+package com.example.mybatis.filter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Response wrapper that passes the body straight through to the client and keeps a copy of only the first
+ * {@code limit} bytes for auditing. Unlike {@link org.springframework.web.util.ContentCachingResponseWrapper}
+ * nothing is held back, so large responses are neither buffered on the heap nor delayed.
+ * <p>
+ * Call {@link #finish()} once the chain has returned so that a writer obtained via {@link #getWriter()} is
+ * flushed to the underlying stream.
+ */
+public class CappedTeeResponseWrapper extends HttpServletResponseWrapper {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final int limit;
+    private byte[] captured = new byte[0];
+    private int capturedLength;
+    private long totalLength;
+
+    private TeeOutputStream outputStream;
+    private PrintWriter writer;
+
+    public CappedTeeResponseWrapper(HttpServletResponse response, int limit) {
+        super(response);
+        this.limit = Math.max(0, limit);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(getResponse().getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            outputStream = new TeeOutputStream(getResponse().getOutputStream());
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, charset()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /** Flushes a pending writer; does not commit the response. */
+    public void finish() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /** The captured prefix of the body, at most {@code limit} bytes. */
+    public byte[] getContentAsByteArray() {
+        return Arrays.copyOf(captured, capturedLength);
+    }
+
+    /**
+     * Decodes the captured prefix, dropping a multi-byte character cut in half by the limit.
+     *
+     * @return the text, or null if nothing was written
+     */
+    public String getContentAsString() {
+        if (capturedLength == 0) {
+            return null;
+        }
+        Charset charset = charset();
+        int length = capturedLength;
+        if (isTruncated() && StandardCharsets.UTF_8.equals(charset)) {
+            length = completeUtf8Length(captured, capturedLength);
+        }
+        return new String(captured, 0, length, charset);
+    }
+
+    /** Whether the body was longer than what was captured. */
+    public boolean isTruncated() {
+        return totalLength > capturedLength;
+    }
+
+    /** Number of body bytes written to the client. */
+    public long getContentLength() {
+        return totalLength;
+    }
+
+    private Charset charset() {
+        String encoding = getCharacterEncoding();
+        try {
+            return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        totalLength += len;
+        int n = Math.min(len, limit - capturedLength);
+        if (n <= 0) {
+            return;
+        }
+        ensureCapacity(capturedLength + n);
+        System.arraycopy(b, off, captured, capturedLength, n);
+        capturedLength += n;
+    }
+
+    private void capture(int b) {
+        totalLength++;
+        if (capturedLength < limit) {
+            ensureCapacity(capturedLength + 1);
+            captured[capturedLength++] = (byte) b;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > captured.length) {
+            int grown = Math.max(required, Math.max(INITIAL_CAPACITY, captured.length * 2));
+            captured = Arrays.copyOf(captured, Math.min(grown, limit));
+        }
+    }
+
+    /** Length of {@code bytes[0, length)} without a trailing incomplete UTF-8 sequence. */
+    static int completeUtf8Length(byte[] bytes, int length) {
+        int i = length - 1;
+        int continuation = 0;
+        while (i >= 0 && continuation < 3 && (bytes[i] & 0xC0) == 0x80) {
+            i--;
+            continuation++;
+        }
+        if (i < 0) {
+            return length;
+        }
+        int lead = bytes[i] & 0xFF;
+        int expected = lead >= 0xF0 ? 3 : lead >= 0xE0 ? 2 : lead >= 0xC0 ? 1 : 0;
+        return continuation < expected ? i : length;
+    }
+
+    private class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
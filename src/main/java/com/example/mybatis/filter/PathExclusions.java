@@ -0,0 +1,176 @@
+package com.example.mybatis.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Path list compiled once for the servlet filters (exclude paths, rate limit routes). Matching a request path
+ * allocates nothing.
+ * <ul>
+ *   <li>A literal entry such as {@code /actuator} matches that path and everything below it
+ *       ({@code /actuator/health}), but not {@code /actuatorx}. Literals live in a character trie, so a lookup
+ *       costs one walk over the path regardless of how many entries there are.</li>
+ *   <li>An entry with wildcards is a glob over the whole path: {@code ?} matches one character, {@code *} any
+ *       characters within a segment and {@code **} any characters across segments. A glob ending in
+ *       {@code /**} with a literal prefix is stored as that literal.</li>
+ * </ul>
+ */
+public final class PathExclusions {
+
+    private static final PathExclusions NONE = new PathExclusions(new Node(), new char[0][]);
+
+    private final Node root;
+    private final char[][] globs;
+
+    private PathExclusions(Node root, char[][] globs) {
+        this.root = root;
+        this.globs = globs;
+    }
+
+    public static PathExclusions compile(List<String> patterns) {
+        return compile(patterns, true);
+    }
+
+    /**
+     * Compiles route patterns such as rate limit policy paths: a literal entry matches that exact path only,
+     * while a literal ending in {@code /**} still matches the path and everything below it.
+     */
+    public static PathExclusions compileRoutes(List<String> patterns) {
+        return compile(patterns, false);
+    }
+
+    private static PathExclusions compile(List<String> patterns, boolean literalSubtrees) {
+        if (patterns == null || patterns.isEmpty()) {
+            return NONE;
+        }
+        Node root = new Node();
+        List<char[]> globs = new ArrayList<>();
+        for (String raw : patterns) {
+            if (raw == null || raw.isBlank()) {
+                continue;
+            }
+            String pattern = raw.trim();
+            if (pattern.endsWith("/**") && !hasWildcard(pattern.substring(0, pattern.length() - 3))) {
+                root.insert(pattern.substring(0, pattern.length() - 3));
+            } else if (hasWildcard(pattern) || !literalSubtrees) {
+                globs.add(pattern.toCharArray());
+            } else {
+                root.insert(pattern);
+            }
+        }
+        return new PathExclusions(root, globs.toArray(new char[0][]));
+    }
+
+    public boolean matches(String path) {
+        if (path == null) {
+            return false;
+        }
+        if (root.matchesPrefix(path)) {
+            return true;
+        }
+        for (char[] glob : globs) {
+            if (glob(glob, 0, path, 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasWildcard(String pattern) {
+        return pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0;
+    }
+
+    private static boolean glob(char[] p, int pi, String s, int si) {
+        while (pi < p.length) {
+            char c = p[pi];
+            if (c == '*') {
+                boolean deep = pi + 1 < p.length && p[pi + 1] == '*';
+                int next = deep ? pi + 2 : pi + 1;
+                if (next == p.length) {
+                    return deep || s.indexOf('/', si) < 0;
+                }
+                // "/**/" may also match a single "/" (zero segments)
+                if (deep && pi > 0 && p[pi - 1] == '/' && p[next] == '/' && glob(p, next + 1, s, si)) {
+                    return true;
+                }
+                for (int k = si; k <= s.length(); k++) {
+                    if (glob(p, next, s, k)) {
+                        return true;
+                    }
+                    if (!deep && k < s.length() && s.charAt(k) == '/') {
+                        return false;
+                    }
+                }
+                return false;
+            }
+            if (si >= s.length()) {
+                return false;
+            }
+            char actual = s.charAt(si);
+            if (c == '?' ? actual == '/' : c != actual) {
+                return false;
+            }
+            pi++;
+            si++;
+        }
+        return si == s.length();
+    }
+
+    /** Trie node; children are kept in small parallel arrays since exclude lists are short. */
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        void insert(String pattern) {
+            // "/actuator/" and "/actuator" mean the same subtree
+            int end = pattern.length();
+            while (end > 1 && pattern.charAt(end - 1) == '/') {
+                end--;
+            }
+            Node node = this;
+            for (int i = 0; i < end; i++) {
+                node = node.childOrCreate(pattern.charAt(i));
+            }
+            node.terminal = true;
+        }
+
+        boolean matchesPrefix(String path) {
+            Node node = this;
+            int length = path.length();
+            for (int i = 0; i < length; i++) {
+                if (node.terminal && path.charAt(i) == '/') {
+                    return true;
+                }
+                node = node.child(path.charAt(i));
+                if (node == null) {
+                    return false;
+                }
+            }
+            return node.terminal;
+        }
+
+        private Node child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(char c) {
+            Node existing = child(c);
+            if (existing != null) {
+                return existing;
+            }
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            children[children.length - 1] = new Node();
+            return children[children.length - 1];
+        }
+    }
+}
@@ -3,31 +3,45 @@ package com.example.mybatis.filter;
 import com.example.mybatis.constants.ApiMessages;
 import com.example.mybatis.dto.response.ApiResponse;
 import com.example.mybatis.properties.RateLimitProperties;
+import com.example.mybatis.ratelimit.BucketStore;
+import com.example.mybatis.ratelimit.RateLimitPolicies;
+import com.example.mybatis.ratelimit.RateLimitPolicy;
+import com.example.mybatis.security.VerifiedTokenCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.bucket4j.Bucket;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Order(-1000)
 public class RateLimitFilter extends OncePerRequestFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final RateLimitProperties properties;
     private final ObjectMapper objectMapper;
-    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final BucketStore bucketStore;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RateLimitPolicies policies;
+    private final PathExclusions excludedPaths;
 
-    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, BucketStore bucketStore,
+                           VerifiedTokenCache verifiedTokenCache) {
         this.properties = properties;
         this.objectMapper = objectMapper;
+        this.bucketStore = bucketStore;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.policies = RateLimitPolicies.compile(properties);
+        this.excludedPaths = PathExclusions.compile(properties.getExcludePaths());
     }
 
     @Override
@@ -39,13 +53,14 @@ public class RateLimitFilter extends OncePerRequestFilter {
             return;
         }
         String path = request.getRequestURI();
-        if (isExcluded(path)) {
+        if (excludedPaths.matches(path)) {
             filterChain.doFilter(request, response);
             return;
         }
-        String clientKey = resolveClientKey(request);
-        Bucket bucket = buckets.computeIfAbsent(clientKey, k -> createBucket());
-        if (bucket.tryConsume(1)) {
+        RateLimitPolicy policy = policies.resolve(request.getMethod(), path);
+        String bucketKey = resolveBucketKey(request, policy);
+        Bucket bucket = bucketStore.getBucket(bucketKey, policy::getConfiguration);
+        if (bucket.tryConsume(policy.getCost())) {
             filterChain.doFilter(request, response);
         } else {
             response.setStatus(429);
@@ -56,15 +71,35 @@ public class RateLimitFilter extends OncePerRequestFilter {
         }
     }
 
-    private boolean isExcluded(String path) {
-        return properties.getExcludePaths().stream()
-                .anyMatch(pattern -> path.equals(pattern) || path.startsWith(pattern + "/"));
+
+    private String resolveBucketKey(HttpServletRequest request, RateLimitPolicy policy) {
+        if (policy.getKeyType() == RateLimitProperties.KeyType.USERNAME) {
+            String username = resolveUsername(request);
+            if (username != null) {
+                return policy.userKey(username);
+            }
+        }
+        return policy.ipKey(resolveClientIp(request));
     }
 
-    private String resolveClientKey(HttpServletRequest request) {
+    /** Subject of a valid bearer token; anything else is treated as anonymous and limited by IP. */
+    private String resolveUsername(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        try {
+            return verifiedTokenCache.verify(header.substring(BEARER_PREFIX.length()).trim()).subject();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String resolveClientIp(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isBlank()) {
-            return xForwardedFor.split(",")[0].trim();
+            int comma = xForwardedFor.indexOf(',');
+            return (comma < 0 ? xForwardedFor : xForwardedFor.substring(0, comma)).trim();
         }
         String xRealIp = request.getHeader("X-Real-IP");
         if (xRealIp != null && !xRealIp.isBlank()) {
@@ -72,11 +107,4 @@ public class RateLimitFilter extends OncePerRequestFilter {
         }
         return request.getRemoteAddr();
     }
-
-    private Bucket createBucket() {
-        int rpm = Math.max(1, properties.getRequestsPerMinute());
-        return Bucket.builder()
-                .addLimit(limit -> limit.capacity(rpm).refillGreedy(rpm, Duration.ofMinutes(1)))
-                .build();
-    }
 }
@@ -2,9 +2,28 @@ package com.example.mybatis.mapper;
 
 import com.example.mybatis.entity.AuditLog;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.time.Instant;
+import java.util.List;
 
 @Mapper
 public interface AuditLogMapper {
 
     int insert(AuditLog auditLog);
+
+    /** Inserts all records with one multi-row INSERT. Generated ids are not set on the records. */
+    int insertBatch(@Param("logs") List<AuditLog> logs);
+
+    /**
+     * Records matching the filters, oldest first, as a cursor; read it inside a transaction. A {@code from}/{@code to}
+     * range (inclusive/exclusive) limits the scan to the matching monthly partitions.
+     */
+    Cursor<AuditLog> selectForExport(
+            @Param("ousername") String ousername,
+            @Param("method") String method,
+            @Param("from") Instant from,
+            @Param("to") Instant to
+    );
 }
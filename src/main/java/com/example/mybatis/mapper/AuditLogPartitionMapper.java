@@ -0,0 +1,25 @@
+package com.example.mybatis.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * DDL for the monthly partitions of {@code audit_log}. Names and bounds are spliced into the statements
+ * because PostgreSQL does not accept bind parameters in DDL; callers must only pass values they built
+ * themselves.
+ */
+@Mapper
+public interface AuditLogPartitionMapper {
+
+    /** Names of the tables currently attached to {@code audit_log}, including the default partition. */
+    List<String> selectPartitionNames();
+
+    /** Creates a partition for {@code [from, to)}; bounds are ISO dates. */
+    void createPartition(@Param("name") String name, @Param("from") String from, @Param("to") String to);
+
+    void detachPartition(@Param("name") String name);
+
+    void dropPartition(@Param("name") String name);
+}
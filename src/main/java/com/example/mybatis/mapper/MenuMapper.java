@@ -19,6 +19,15 @@ public interface MenuMapper {
             @Param("limit") int limit
     );
 
+    /** Keyset variant of selectByCondition. Ordered by id rather than sort_order so the cursor is stable. */
+    List<Menu> selectByConditionAfter(
+            @Param("name") String name,
+            @Param("path") String path,
+            @Param("parentId") Long parentId,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
     long countByCondition(
             @Param("name") String name,
             @Param("path") String path,
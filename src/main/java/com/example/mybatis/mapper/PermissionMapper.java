@@ -1,8 +1,10 @@
 package com.example.mybatis.mapper;
 
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.entity.Permission;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 
@@ -16,11 +18,28 @@ public interface PermissionMapper {
     List<Permission> selectByCondition(
             @Param("code") String code,
             @Param("name") String name,
+            @Param("match") MatchMode match,
             @Param("offset") int offset,
             @Param("limit") int limit
     );
 
-    long countByCondition(@Param("code") String code, @Param("name") String name);
+    /** Keyset variant of selectByCondition: rows with {@code id > afterId}, ordered by id. */
+    List<Permission> selectByConditionAfter(
+            @Param("code") String code,
+            @Param("name") String name,
+            @Param("match") MatchMode match,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
+    long countByCondition(@Param("code") String code, @Param("name") String name, @Param("match") MatchMode match);
+
+    /** Every row matching the filters, ordered by id, as a cursor; read it inside a transaction. */
+    Cursor<Permission> selectForExport(
+            @Param("code") String code,
+            @Param("name") String name,
+            @Param("match") MatchMode match
+    );
 
     int insert(Permission permission);
 
@@ -0,0 +1,22 @@
+package com.example.mybatis.mapper;
+
+import com.example.mybatis.entity.RefreshToken;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.Instant;
+
+@Mapper
+public interface RefreshTokenMapper {
+
+    int insert(RefreshToken token);
+
+    RefreshToken selectByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /** Marks the token revoked; returns 0 when it already was, so two concurrent refreshes cannot both win. */
+    int revoke(@Param("id") Long id);
+
+    int revokeAllByUserId(@Param("userId") Long userId);
+
+    int deleteExpired(@Param("now") Instant now);
+}
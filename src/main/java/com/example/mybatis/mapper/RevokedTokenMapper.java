@@ -0,0 +1,20 @@
+package com.example.mybatis.mapper;
+
+import com.example.mybatis.entity.RevokedToken;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+@Mapper
+public interface RevokedTokenMapper {
+
+    /** Adds the jti to the denylist; revoking an already revoked jti is a no-op. */
+    int insert(@Param("jti") String jti, @Param("expiresAt") Instant expiresAt);
+
+    /** Unexpired entries revoked after {@code since} (all unexpired entries when since is null), oldest first. */
+    List<RevokedToken> selectRevokedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    int deleteExpired(@Param("now") Instant now);
+}
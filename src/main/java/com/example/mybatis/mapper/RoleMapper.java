@@ -1,8 +1,11 @@
 package com.example.mybatis.mapper;
 
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.entity.Role;
+import com.example.mybatis.entity.UserRoles;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 
@@ -14,14 +17,34 @@ public interface RoleMapper {
     List<Role> selectByCondition(
             @Param("code") String code,
             @Param("name") String name,
+            @Param("match") MatchMode match,
             @Param("offset") int offset,
             @Param("limit") int limit
     );
 
-    long countByCondition(@Param("code") String code, @Param("name") String name);
+    /** Keyset variant of selectByCondition: rows with {@code id > afterId}, ordered by id. */
+    List<Role> selectByConditionAfter(
+            @Param("code") String code,
+            @Param("name") String name,
+            @Param("match") MatchMode match,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
+    long countByCondition(@Param("code") String code, @Param("name") String name, @Param("match") MatchMode match);
+
+    /** Every row matching the filters, ordered by id, as a cursor; read it inside a transaction. */
+    Cursor<Role> selectForExport(
+            @Param("code") String code,
+            @Param("name") String name,
+            @Param("match") MatchMode match
+    );
 
     List<Role> selectByUserId(@Param("userId") Long userId);
 
+    /** Loads the roles of all given users in one query, grouped per user. Users without roles are omitted. */
+    List<UserRoles> selectByUserIds(@Param("userIds") List<Long> userIds);
+
     /** Returns role ids that exist in DB (and not soft-deleted). */
     List<Long> selectExistingIds(@Param("ids") List<Long> ids);
 
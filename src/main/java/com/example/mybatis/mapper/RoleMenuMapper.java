@@ -4,6 +4,7 @@ import com.example.mybatis.entity.Menu;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -11,7 +12,21 @@ public interface RoleMenuMapper {
 
     int insert(@Param("roleId") Long roleId, @Param("menuId") Long menuId);
 
+    /** Links the role to all menus in one multi-row INSERT, skipping existing links; {@code menuIds} must not be empty. */
+    int insertBatch(@Param("roleId") Long roleId, @Param("menuIds") Collection<Long> menuIds);
+
     int deleteByRoleId(@Param("roleId") Long roleId);
 
+    /**
+     * Makes the role's menus exactly {@code menuIds} in one statement: deletes links not in the list and inserts
+     * the missing ones, leaving unchanged links untouched. An empty list removes every link.
+     *
+     * @return number of links deleted plus inserted; 0 when the assignment was already up to date
+     */
+    int replaceMenus(@Param("roleId") Long roleId, @Param("menuIds") Collection<Long> menuIds);
+
     List<Menu> selectMenusByRoleId(@Param("roleId") Long roleId);
+
+    /** Distinct menus assigned to any of the roles with the given codes (deleted roles and menus excluded). */
+    List<Menu> selectMenusByRoleCodes(@Param("roleCodes") Collection<String> roleCodes);
 }
@@ -0,0 +1,14 @@
+package com.example.mybatis.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface TableStatsMapper {
+
+    /**
+     * Planner row estimate ({@code pg_class.reltuples}) for a table in the current schema. Includes
+     * soft-deleted rows. Returns null for an unknown table and a negative value if it was never analyzed.
+     */
+    Long selectEstimatedRowCount(@Param("table") String table);
+}
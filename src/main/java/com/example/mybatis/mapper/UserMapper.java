@@ -1,9 +1,13 @@
 package com.example.mybatis.mapper;
 
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.entity.User;
+import com.example.mybatis.entity.UserAccess;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -13,21 +17,67 @@ public interface UserMapper {
 
     User selectByUsername(@Param("username") String username);
 
+    /** The user with roles and distinct permissions in one statement; null if not found or deleted. */
+    UserAccess selectAccessByUsername(@Param("username") String username);
+
+    /** Current authorization version of an enabled, non-deleted user; null otherwise. */
+    Long selectAuthzVersion(@Param("id") Long id);
+
+    /** Page of users matching the filters; {@code match} decides between substring and prefix matching. */
     List<User> selectByCondition(
             @Param("name") String name,
             @Param("email") String email,
+            @Param("match") MatchMode match,
             @Param("offset") int offset,
             @Param("limit") int limit
     );
 
+    /**
+     * Keyset page: rows matching the filters with {@code id > afterId} (all rows when afterId is null),
+     * ordered by id. Unlike OFFSET paging the cost does not grow with the page depth.
+     */
+    List<User> selectByConditionAfter(
+            @Param("name") String name,
+            @Param("email") String email,
+            @Param("match") MatchMode match,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
     long countByCondition(
             @Param("name") String name,
-            @Param("email") String email
+            @Param("email") String email,
+            @Param("match") MatchMode match
+    );
+
+    /**
+     * Every user matching the filters with their roles, ordered by id, fetched in batches as the cursor is read.
+     * Passwords are not selected. Must be read inside a transaction, or PostgreSQL returns all rows at once.
+     */
+    Cursor<UserAccess> selectForExport(
+            @Param("name") String name,
+            @Param("email") String email,
+            @Param("match") MatchMode match
     );
 
     int insert(User user);
 
+    /**
+     * Inserts the users in one multi-row INSERT, skipping any whose username is already taken.
+     *
+     * @return id and username of each row actually inserted
+     */
+    List<User> insertBatchIgnoreExisting(@Param("users") List<User> users);
+
+    /** The given usernames that already belong to a user, deleted users included. */
+    List<String> selectExistingUsernames(@Param("usernames") Collection<String> usernames);
+
     int update(User user);
 
+    int incrementAuthzVersion(@Param("id") Long id);
+
+    /** Bumps the authorization version of every user holding the role. */
+    int incrementAuthzVersionByRoleId(@Param("roleId") Long roleId);
+
     int deleteById(@Param("id") Long id, @Param("ousername") String ousername);
 }
@@ -3,10 +3,28 @@ package com.example.mybatis.mapper;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 @Mapper
 public interface UserRoleMapper {
 
     int insert(@Param("userId") Long userId, @Param("roleId") Long roleId);
 
+    /** Links the user to all roles in one multi-row INSERT; {@code roleIds} must not be empty. */
+    int insertBatch(@Param("userId") Long userId, @Param("roleIds") Collection<Long> roleIds);
+
+    /** Links several users to their roles in one multi-row INSERT; the map must not be empty. */
+    int insertForUsers(@Param("roleIdsByUserId") Map<Long, List<Long>> roleIdsByUserId);
+
     int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Makes the user's roles exactly {@code roleIds} in one statement, touching only the links that change.
+     * An empty list removes every link.
+     *
+     * @return number of links deleted plus inserted
+     */
+    int replaceRoles(@Param("userId") Long userId, @Param("roleIds") Collection<Long> roleIds);
 }
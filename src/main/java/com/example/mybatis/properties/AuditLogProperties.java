@@ -5,6 +5,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Period;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,6 +20,21 @@ public class AuditLogProperties {
     private int maxBodyLength = 4096;
     private List<String> excludePaths = new ArrayList<>();
 
+    /**
+     * Paths whose request bodies are never recorded, e.g. uploads carrying plaintext passwords in CSV that
+     * cannot be masked field by field. The request itself and its response are still recorded.
+     */
+    private List<String> excludeBodyPaths = new ArrayList<>(List.of("/users/import"));
+    private Writer writer = new Writer();
+
+    /**
+     * How long audit records are kept. Monthly partitions whose newest possible row is older than this are
+     * removed as a whole; null or zero keeps everything.
+     */
+    private Period retention = Period.ofMonths(12);
+
+    private Partitions partitions = new Partitions();
+
     public AuditLogProperties() {
         excludePaths.add("/actuator");
         excludePaths.add("/error");
@@ -26,4 +43,65 @@ public class AuditLogProperties {
     public void setExcludePaths(List<String> excludePaths) {
         this.excludePaths = excludePaths != null ? excludePaths : new ArrayList<>();
     }
+
+    public void setExcludeBodyPaths(List<String> excludeBodyPaths) {
+        this.excludeBodyPaths = excludeBodyPaths != null ? excludeBodyPaths : new ArrayList<>();
+    }
+
+    /** What to do with a record when the writer queue is full. */
+    public enum OverflowPolicy {
+        /** Drop the record and count it; the request never waits. */
+        DROP,
+        /** Wait up to {@link Writer#blockTimeout} for space, then drop. */
+        BLOCK
+    }
+
+    /** What happens to a monthly partition once it is past {@link #retention}. */
+    public enum ExpiredPartitionAction {
+        /** Detach it from {@code audit_log}; the table and its rows stay for archiving. */
+        DETACH,
+        /** Drop the table and its rows. */
+        DROP
+    }
+
+    @Getter
+    @Setter
+    public static class Writer {
+
+        /** Write audit records from a background thread in batches instead of in the request thread. */
+        private boolean async = true;
+
+        /** Maximum number of records waiting to be written. */
+        private int queueCapacity = 10_000;
+
+        /** Maximum number of records per multi-row INSERT. */
+        private int batchSize = 200;
+
+        /** Longest time a record waits for its batch to fill before it is written. */
+        private Duration flushInterval = Duration.ofMillis(500);
+
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+        /** How long a request waits for queue space with {@link OverflowPolicy#BLOCK}. */
+        private Duration blockTimeout = Duration.ofMillis(50);
+
+        /** How long shutdown waits for queued records to be flushed. */
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Partitions {
+
+        /** Create upcoming partitions and apply {@link AuditLogProperties#retention} on a schedule. */
+        private boolean enabled = true;
+
+        /** Number of months ahead of the current one to keep partitions for. */
+        private int premakeMonths = 2;
+
+        /** When partition maintenance runs; it also runs once at startup. */
+        private String cron = "0 15 3 * * *";
+
+        private ExpiredPartitionAction expiredAction = ExpiredPartitionAction.DETACH;
+    }
 }
@@ -0,0 +1,30 @@
+package com.example.mybatis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.security.authz-claims")
+public class AuthzClaimsProperties {
+
+    /**
+     * Whether login tokens carry the user id, role codes and authorization version, so authenticated requests
+     * build their principal from the token instead of loading it from the database.
+     */
+    private boolean enabled = true;
+
+    /** Maximum number of cached per-user authorization versions. */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long a cached authorization version is trusted. Changes made on this instance take effect at once;
+     * changes made on another instance are noticed within this window.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+}
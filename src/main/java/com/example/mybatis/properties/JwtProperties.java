@@ -0,0 +1,66 @@
+package com.example.mybatis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token signing. With {@code HS256} tokens are signed with the shared {@code secret}. With {@code RS256} or
+ * {@code EDDSA} they are signed with the private key of {@code active-key-id} and carry its id in the
+ * {@code kid} header. Every configured public key is accepted and published at
+ * {@code /.well-known/jwks.json}.
+ * <p>
+ * Keys are read once at startup, so each rotation step is a config change plus a restart. To rotate: add the
+ * new key without making it active and restart every instance, so all instances and downstream verifiers
+ * know it. Then switch {@code active-key-id} and restart again. Remove the old key (or just its private key)
+ * once the last token it signed has expired.
+ */
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    public enum Algorithm {
+        HS256, RS256, EDDSA
+    }
+
+    /** HMAC secret; required for HS256 only. */
+    private String secret;
+
+    /** Lifetime of access tokens in milliseconds. */
+    private long expirationMs = 900_000;
+
+    private Algorithm algorithm = Algorithm.HS256;
+
+    /** {@code id} of the key that signs new tokens (RS256/EdDSA). */
+    private String activeKeyId;
+
+    /**
+     * Signing keys for RS256/EdDSA. When empty, a key pair is generated at startup, which only suits a single
+     * development instance: tokens do not survive a restart.
+     */
+    private List<Key> keys = new ArrayList<>();
+
+    /** {@code Cache-Control: max-age} of the JWKS response. */
+    private Duration jwksMaxAge = Duration.ofMinutes(15);
+
+    @Getter
+    @Setter
+    public static class Key {
+
+        /** Key id, sent as the {@code kid} header. */
+        private String id;
+
+        /** PEM-encoded X.509 {@code PUBLIC KEY}. */
+        private String publicKey;
+
+        /** PEM-encoded PKCS#8 {@code PRIVATE KEY}; only needed for the active key. */
+        private String privateKey;
+    }
+}
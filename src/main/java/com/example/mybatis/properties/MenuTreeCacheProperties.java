@@ -0,0 +1,27 @@
+package com.example.mybatis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.menu-tree-cache")
+public class MenuTreeCacheProperties {
+
+    /** Whether the built menu tree of a role is cached between requests. */
+    private boolean enabled = true;
+
+    /** Maximum number of cached trees (roles). */
+    private long maximumSize = 1_000;
+
+    /**
+     * Upper bound on how long a tree is reused. Writes through this instance invalidate it right away;
+     * the TTL only limits staleness from changes made elsewhere (another instance, manual SQL).
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+}
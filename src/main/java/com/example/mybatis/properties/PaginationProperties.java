@@ -0,0 +1,21 @@
+package com.example.mybatis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.pagination")
+public class PaginationProperties {
+
+    /** How long an exact list count is reused for the same filters. Zero disables the count cache. */
+    private Duration countCacheTtl = Duration.ofSeconds(10);
+
+    /** Maximum number of cached counts (distinct table + filter combinations). */
+    private long countCacheMaximumSize = 1_000;
+}
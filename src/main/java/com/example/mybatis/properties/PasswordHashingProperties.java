@@ -0,0 +1,56 @@
+package com.example.mybatis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.security.password")
+public class PasswordHashingProperties {
+
+    /**
+     * Algorithm for newly encoded passwords. Stored hashes carry an {@code {id}} prefix, so existing hashes of
+     * any supported algorithm keep working; hashes without a prefix are treated as BCrypt.
+     */
+    private Algorithm algorithm = Algorithm.BCRYPT;
+
+    /** BCrypt log rounds (4-31); each step doubles the cost. */
+    private int bcryptStrength = 10;
+
+    /** PBKDF2-HMAC-SHA256 iterations. */
+    private int pbkdf2Iterations = 310_000;
+
+    /** Argon2id memory in KiB. */
+    private int argon2MemoryKib = 19_456;
+
+    private int argon2Iterations = 2;
+
+    private int argon2Parallelism = 1;
+
+    private Executor executor = new Executor();
+
+    public enum Algorithm {
+        BCRYPT,
+        PBKDF2,
+        ARGON2
+    }
+
+    @Getter
+    @Setter
+    public static class Executor {
+
+        /** Hashes computed at the same time; defaults to the number of CPUs. */
+        private int concurrency = Runtime.getRuntime().availableProcessors();
+
+        /** Hash requests allowed to wait for a free thread; beyond that requests fail with 503. */
+        private int queueCapacity = 64;
+
+        /** Longest a request waits for its hash, queueing included, before it fails with 503. */
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+}
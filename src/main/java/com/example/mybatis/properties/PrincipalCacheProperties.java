@@ -0,0 +1,24 @@
+package com.example.mybatis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.security.principal-cache")
+public class PrincipalCacheProperties {
+
+    /** Whether resolved principals are cached between requests. */
+    private boolean enabled = true;
+
+    /** Maximum number of cached principals (usernames). */
+    private long maximumSize = 10_000;
+
+    /** How long a cached principal is reused before it is reloaded from the database. */
+    private Duration ttl = Duration.ofMinutes(5);
+}
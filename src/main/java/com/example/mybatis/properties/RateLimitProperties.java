@@ -5,6 +5,7 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,7 +24,108 @@ public class RateLimitProperties {
     /** Path patterns to exclude from rate limiting (e.g. /actuator/health, /error). */
     private List<String> excludePaths = new ArrayList<>(List.of("/actuator/health", "/error"));
 
+    /**
+     * Route-specific limits, checked in order; the first policy whose path and method match applies. Requests
+     * matching no policy use {@link #requestsPerMinute} keyed by client IP.
+     */
+    private List<Policy> policies = new ArrayList<>();
+
+    /** Where bucket state lives: in this instance only, or shared by all instances through PostgreSQL. */
+    private Mode mode = Mode.LOCAL;
+
+    private Store store = new Store();
+
+    private Cluster cluster = new Cluster();
+
     public void setExcludePaths(List<String> excludePaths) {
         this.excludePaths = excludePaths != null ? excludePaths : new ArrayList<>();
     }
+
+    public void setPolicies(List<Policy> policies) {
+        this.policies = policies != null ? policies : new ArrayList<>();
+    }
+
+    public enum Mode {
+        LOCAL,
+        CLUSTER
+    }
+
+    /** What identifies the client a bucket belongs to. */
+    public enum KeyType {
+        /** Client IP (first X-Forwarded-For entry, then X-Real-IP, then the remote address). */
+        IP,
+        /** Username of a valid bearer token; requests without one fall back to IP. */
+        USERNAME
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        /** Unique name; buckets of different policies never share tokens. */
+        private String name;
+
+        /** Path patterns such as {@code /users/**}, matched against the request path. */
+        private List<String> paths = new ArrayList<>();
+
+        /** HTTP methods the policy applies to; empty means all. */
+        private List<String> methods = new ArrayList<>();
+
+        private KeyType key = KeyType.IP;
+
+        /** Tokens taken from the bucket per request. */
+        private int cost = 1;
+
+        /** Limits that must all have tokens left, e.g. a short burst limit and a longer sustained one. */
+        private List<Limit> limits = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        private long capacity;
+
+        /** Time in which {@link #refillTokens} tokens are added back. */
+        private Duration period = Duration.ofMinutes(1);
+
+        /** Tokens added per period; defaults to {@link #capacity}. */
+        private Long refillTokens;
+    }
+
+    @Getter
+    @Setter
+    public static class Store {
+
+        /** Maximum number of client buckets kept in memory; least recently used ones are evicted first. */
+        private long maximumSize = 100_000;
+
+        /**
+         * Minimum time a bucket is kept without requests. A bucket whose limits take longer to refill
+         * completely (e.g. 5 per 15 minutes) is kept for that long instead, so an exhausted sustained limit
+         * is not reset by a short pause.
+         */
+        private Duration idleTimeout = Duration.ofMinutes(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Cluster {
+
+        /**
+         * Tokens a node may consume locally before it must synchronize with the database. 0 synchronizes every
+         * request (concurrent requests for the same key still share one round trip). Higher values cut
+         * database traffic at the cost of the cluster overshooting the limit by up to this many per node.
+         */
+        private long maxUnsyncedTokens = 0;
+
+        /** Longest time locally consumed tokens stay unsynchronized when {@code max-unsynced-tokens > 0}. */
+        private Duration maxUnsyncedTimeout = Duration.ofMillis(500);
+
+        /** How often expired rows are deleted from {@code rate_limit_bucket}. */
+        private Duration cleanupInterval = Duration.ofMinutes(5);
+
+        /** Maximum rows deleted per cleanup statement. */
+        private int cleanupBatchSize = 1000;
+    }
 }
@@ -0,0 +1,21 @@
+package com.example.mybatis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.security.refresh-token")
+public class RefreshTokenProperties {
+
+    /** Lifetime of a refresh token. Each use rotates it, so this bounds how long a session may stay idle. */
+    private Duration ttl = Duration.ofDays(14);
+
+    /** How often expired refresh tokens are deleted. */
+    private Duration cleanupInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,19 @@
+package com.example.mybatis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.security.token-cache")
+public class TokenCacheProperties {
+
+    /** Whether verified bearer tokens are cached so repeat requests skip signature verification. */
+    private boolean enabled = true;
+
+    /** Maximum number of cached tokens. Entries are also evicted when the token's exp is reached. */
+    private long maximumSize = 50_000;
+}
@@ -0,0 +1,33 @@
+package com.example.mybatis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.security.revocation")
+public class TokenRevocationProperties {
+
+    /** How often entries revoked on other instances are pulled from {@code revoked_token}. */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+
+    /**
+     * How far back each pull re-reads. Covers rows whose transaction committed after a later-stamped row was
+     * already read.
+     */
+    private Duration overlap = Duration.ofSeconds(30);
+
+    /** How often expired entries are deleted and the in-memory filter is rebuilt. */
+    private Duration cleanupInterval = Duration.ofMinutes(10);
+
+    /** Entries the bloom filter is sized for; it is resized on rebuild when the list outgrows it. */
+    private int expectedEntries = 100_000;
+
+    /** Target false-positive rate of the bloom filter. A false positive only costs one hash-set lookup. */
+    private double falsePositiveRate = 0.01;
+}
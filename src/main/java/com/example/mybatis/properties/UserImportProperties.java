@@ -0,0 +1,25 @@
+package com.example.mybatis.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.user-import")
+public class UserImportProperties {
+
+    /** Rows hashed and written per transaction. */
+    private int chunkSize = 500;
+
+    /**
+     * Threads hashing passwords for an import. Defaults to half the CPUs so logins, which hash on their own
+     * pool, keep the rest.
+     */
+    private int hashingConcurrency = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /** Row errors listed in the response; further failures are only counted. */
+    private int maxReportedErrors = 1_000;
+}
@@ -0,0 +1,25 @@
+package com.example.mybatis.ratelimit;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the token buckets of {@link com.example.mybatis.filter.RateLimitFilter}, one per client key.
+ * Implementations decide where bucket state lives and when idle buckets are forgotten.
+ */
+public interface BucketStore {
+
+    /**
+     * Returns the bucket for the key, creating it from {@code configuration} if the key has none yet
+     * (or its previous bucket was evicted).
+     */
+    Bucket getBucket(String key, Supplier<BucketConfiguration> configuration);
+
+    /** Number of buckets currently held, or -1 if the store cannot tell. */
+    long getBucketCount();
+
+    /** Buckets removed so far because they were idle or the store was full. */
+    long getEvictionCount();
+}
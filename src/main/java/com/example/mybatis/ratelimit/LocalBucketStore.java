@@ -0,0 +1,85 @@
+package com.example.mybatis.ratelimit;
+
+import com.example.mybatis.properties.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.local.LocalBucketBuilder;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * In-memory {@link BucketStore} for a single instance. A bucket is kept until it has gone unused for as long as
+ * its slowest limit needs to refill completely, and at least {@code idle-timeout}; only then is it full again,
+ * so forgetting it changes nothing for the client. {@code maximum-size} caps memory when many distinct keys
+ * arrive within one window (e.g. a crawler rotating IPs); the least recently used buckets go first.
+ */
+public class LocalBucketStore implements BucketStore {
+
+    private final Duration idleTimeout;
+    private final Cache<String, Entry> buckets;
+
+    public LocalBucketStore(RateLimitProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    LocalBucketStore(RateLimitProperties properties, Ticker ticker) {
+        RateLimitProperties.Store store = properties.getStore();
+        this.idleTimeout = store.getIdleTimeout();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, store.getMaximumSize()))
+                .expireAfter(Expiry.accessing((String key, Entry entry) -> entry.idleTimeout()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Bucket getBucket(String key, Supplier<BucketConfiguration> configuration) {
+        return buckets.get(key, k -> newEntry(configuration.get())).bucket();
+    }
+
+    private Entry newEntry(BucketConfiguration configuration) {
+        LocalBucketBuilder builder = Bucket.builder();
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            builder.addLimit(bandwidth);
+        }
+        Duration refill = timeToRefill(configuration);
+        return new Entry(builder.build(), refill.compareTo(idleTimeout) > 0 ? refill : idleTimeout);
+    }
+
+    /** Time an empty bucket needs until every limit is full again, e.g. 15 minutes for 5 per 15 minutes. */
+    static Duration timeToRefill(BucketConfiguration configuration) {
+        long nanos = 0;
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            long periods = Math.ceilDiv(bandwidth.getCapacity(), bandwidth.getRefillTokens());
+            long refill = periods > Long.MAX_VALUE / bandwidth.getRefillPeriodNanos()
+                    ? Long.MAX_VALUE
+                    : periods * bandwidth.getRefillPeriodNanos();
+            nanos = Math.max(nanos, refill);
+        }
+        return Duration.ofNanos(nanos);
+    }
+
+    @Override
+    public long getBucketCount() {
+        return buckets.estimatedSize();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return buckets.stats().evictionCount();
+    }
+
+    void cleanUp() {
+        buckets.cleanUp();
+    }
+
+    private record Entry(Bucket bucket, Duration idleTimeout) {
+    }
+}
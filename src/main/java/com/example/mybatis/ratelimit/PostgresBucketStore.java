@@ -0,0 +1,100 @@
+package com.example.mybatis.ratelimit;
+
+import com.example.mybatis.properties.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.jdbc.PrimaryKeyMapper;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimization;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import io.github.bucket4j.postgresql.Bucket4jPostgreSQL;
+import io.github.bucket4j.postgresql.PostgreSQLadvisoryLockBasedProxyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+/**
+ * {@link BucketStore} shared by every instance through the {@code rate_limit_bucket} table, so a client gets
+ * {@code requests-per-minute} across the cluster rather than per node. State changes are serialized with
+ * PostgreSQL advisory locks.
+ * <p>
+ * Bucket proxies are kept in a bounded local cache because the sync optimization is stateful: with
+ * {@code max-unsynced-tokens = 0} concurrent requests for one key are batched into a single round trip,
+ * with a positive value a node consumes locally and writes back once that many tokens or
+ * {@code max-unsynced-timeout} have accumulated.
+ */
+public class PostgresBucketStore implements BucketStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresBucketStore.class);
+    static final String TABLE = "rate_limit_bucket";
+
+    private final PostgreSQLadvisoryLockBasedProxyManager<String> proxyManager;
+    private final Optimization optimization;
+    private final RateLimitProperties.Cluster cluster;
+    private final Cache<String, Bucket> buckets;
+
+    public PostgresBucketStore(DataSource dataSource, RateLimitProperties properties) {
+        this.cluster = properties.getCluster();
+        RateLimitProperties.Store store = properties.getStore();
+        this.proxyManager = Bucket4jPostgreSQL.advisoryLockBasedBuilder(dataSource)
+                .primaryKeyMapper(PrimaryKeyMapper.STRING)
+                .table(TABLE)
+                .idColumn("id")
+                .stateColumn("state")
+                .expiresAtColumn("expires_at")
+                .expirationAfterWrite(ExpirationAfterWriteStrategy
+                        .basedOnTimeForRefillingBucketUpToMax(store.getIdleTimeout()))
+                .build();
+        this.optimization = cluster.getMaxUnsyncedTokens() > 0
+                ? Optimizations.delaying(new DelayParameters(cluster.getMaxUnsyncedTokens(), cluster.getMaxUnsyncedTimeout()))
+                : Optimizations.batching();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, store.getMaximumSize()))
+                .expireAfterAccess(store.getIdleTimeout())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Bucket getBucket(String key, Supplier<BucketConfiguration> configuration) {
+        return buckets.get(key, k -> proxyManager.builder()
+                .withOptimization(optimization)
+                .build(k, configuration));
+    }
+
+    /** Buckets this node holds a proxy for; the table may contain more. */
+    @Override
+    public long getBucketCount() {
+        return buckets.estimatedSize();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return buckets.stats().evictionCount();
+    }
+
+    /** Deletes rows whose bucket would have refilled completely; they are recreated on the next request. */
+    @Scheduled(fixedDelayString = "${app.rate-limit.cluster.cleanup-interval:5m}")
+    public void removeExpired() {
+        try {
+            int batchSize = Math.max(1, cluster.getCleanupBatchSize());
+            int removed;
+            int total = 0;
+            do {
+                removed = proxyManager.removeExpired(batchSize);
+                total += removed;
+            } while (removed == batchSize);
+            if (total > 0) {
+                log.debug("Removed {} expired rate limit buckets", total);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to remove expired rate limit buckets: {}", e.getMessage());
+        }
+    }
+}
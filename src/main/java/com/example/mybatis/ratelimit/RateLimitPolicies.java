@@ -0,0 +1,46 @@
+package com.example.mybatis.ratelimit;
+
+import com.example.mybatis.properties.RateLimitProperties;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The configured rate limit policies, compiled once at startup. Lookup walks them in configuration order and
+ * falls back to the global per-IP limit.
+ */
+public final class RateLimitPolicies {
+
+    private final RateLimitPolicy[] policies;
+    private final RateLimitPolicy fallback;
+
+    private RateLimitPolicies(RateLimitPolicy[] policies, RateLimitPolicy fallback) {
+        this.policies = policies;
+        this.fallback = fallback;
+    }
+
+    public static RateLimitPolicies compile(RateLimitProperties properties) {
+        List<RateLimitPolicy> compiled = properties.getPolicies().stream()
+                .map(RateLimitPolicy::compile)
+                .toList();
+        Set<String> names = new HashSet<>();
+        names.add("default");
+        for (RateLimitPolicy policy : compiled) {
+            if (!names.add(policy.getName())) {
+                throw new IllegalArgumentException("Duplicate rate limit policy name: " + policy.getName());
+            }
+        }
+        return new RateLimitPolicies(compiled.toArray(new RateLimitPolicy[0]), RateLimitPolicy.fallback(properties.getRequestsPerMinute()));
+    }
+
+    /** The first policy matching the request, or the default policy. Allocates nothing. */
+    public RateLimitPolicy resolve(String method, String path) {
+        for (RateLimitPolicy policy : policies) {
+            if (policy.matches(method, path)) {
+                return policy;
+            }
+        }
+        return fallback;
+    }
+}
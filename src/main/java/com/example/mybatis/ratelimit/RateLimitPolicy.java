@@ -0,0 +1,113 @@
+package com.example.mybatis.ratelimit;
+
+import com.example.mybatis.filter.PathExclusions;
+import com.example.mybatis.properties.RateLimitProperties;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConfigurationBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A compiled {@link RateLimitProperties.Policy}: path patterns, bucket key prefixes and the bucket configuration
+ * are built once, so matching a request and creating its bucket reuse the same objects.
+ * <p>
+ * Paths are matched against the raw request path with {@link PathExclusions#compileRoutes}. URI variables are
+ * accepted for readability: {@code {id}} matches within one segment like {@code *}, {@code {*rest}} matches
+ * across segments like {@code **}.
+ */
+public final class RateLimitPolicy {
+
+    private final String name;
+    private final PathExclusions paths;
+    private final Set<String> methods;
+    private final RateLimitProperties.KeyType keyType;
+    private final int cost;
+    private final BucketConfiguration configuration;
+    private final String ipKeyPrefix;
+    private final String userKeyPrefix;
+
+    private RateLimitPolicy(String name, PathExclusions paths, Set<String> methods,
+                            RateLimitProperties.KeyType keyType, int cost, BucketConfiguration configuration) {
+        this.name = name;
+        this.paths = paths;
+        this.methods = methods;
+        this.keyType = keyType;
+        this.cost = cost;
+        this.configuration = configuration;
+        this.ipKeyPrefix = name + ":ip:";
+        this.userKeyPrefix = name + ":user:";
+    }
+
+    static RateLimitPolicy compile(RateLimitProperties.Policy policy) {
+        if (policy.getName() == null || policy.getName().isBlank()) {
+            throw new IllegalArgumentException("Rate limit policy needs a name");
+        }
+        if (policy.getLimits().isEmpty()) {
+            throw new IllegalArgumentException("Rate limit policy '" + policy.getName() + "' has no limits");
+        }
+        PathExclusions paths = PathExclusions.compileRoutes(policy.getPaths().stream()
+                .map(RateLimitPolicy::toGlob)
+                .toList());
+        Set<String> methods = policy.getMethods().stream()
+                .map(m -> m.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        ConfigurationBuilder builder = BucketConfiguration.builder();
+        for (RateLimitProperties.Limit limit : policy.getLimits()) {
+            long capacity = Math.max(1, limit.getCapacity());
+            long refill = limit.getRefillTokens() != null ? Math.max(1, limit.getRefillTokens()) : capacity;
+            builder.addLimit(l -> l.capacity(capacity).refillGreedy(refill, limit.getPeriod()));
+        }
+        return new RateLimitPolicy(policy.getName(), paths, methods,
+                policy.getKey(), Math.max(1, policy.getCost()), builder.build());
+    }
+
+    /** Policy for requests that match no configured one: {@code requestsPerMinute} per IP. */
+    static RateLimitPolicy fallback(int requestsPerMinute) {
+        int rpm = Math.max(1, requestsPerMinute);
+        BucketConfiguration configuration = BucketConfiguration.builder()
+                .addLimit(limit -> limit.capacity(rpm).refillGreedy(rpm, Duration.ofMinutes(1)))
+                .build();
+        return new RateLimitPolicy("default", PathExclusions.compileRoutes(List.of()), Set.of(),
+                RateLimitProperties.KeyType.IP, 1, configuration);
+    }
+
+    private static String toGlob(String pattern) {
+        return pattern == null ? null : pattern
+                .replaceAll("\\{\\*[^}]*}", "**")
+                .replaceAll("\\{[^}]*}", "*");
+    }
+
+    boolean matches(String method, String path) {
+        return (methods.isEmpty() || methods.contains(method)) && paths.matches(path);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RateLimitProperties.KeyType getKeyType() {
+        return keyType;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public BucketConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /** Bucket key of a client identified by IP, e.g. {@code login:ip:10.0.0.1}. */
+    public String ipKey(String ip) {
+        return ipKeyPrefix.concat(ip);
+    }
+
+    /** Bucket key of a client identified by username, e.g. {@code users:user:jane}. */
+    public String userKey(String username) {
+        return userKeyPrefix.concat(username);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.mybatis.security;
+
+import com.example.mybatis.mapper.UserMapper;
+import com.example.mybatis.properties.AuthzClaimsProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small TTL cache of {@code user.authz_version} keyed by user id. {@link JwtAuthenticationFilter} trusts the
+ * role claims of a token only while its {@code av} claim equals the cached version; otherwise it falls back
+ * to loading the principal.
+ * <p>
+ * Services call {@link #bumpUser} or {@link #bumpRole} whenever a user's roles or state change. The bump
+ * increments the column in the current transaction and evicts the local entry, so other instances see the
+ * new version once their entry expires (see {@code app.security.authz-claims.ttl}).
+ */
+@Component
+public class AuthzVersionCache {
+
+    private final UserMapper userMapper;
+    private final Cache<Long, Long> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AuthzVersionCache(UserMapper userMapper, AuthzClaimsProperties properties) {
+        this.userMapper = userMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getMaximumSize()))
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    /**
+     * Whether {@code version} is the user's current authorization version. Unknown, disabled and deleted
+     * users are never current; they are not cached, so such tokens always take the slow path.
+     */
+    public boolean isCurrent(long userId, long version) {
+        Long current = cache.getIfPresent(userId);
+        if (current != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            current = cache.get(userId, userMapper::selectAuthzVersion);
+        }
+        return current != null && current == version;
+    }
+
+    /** Invalidates the authorization claims of one user (roles replaced, disabled, deleted). */
+    public void bumpUser(Long userId) {
+        if (userId == null) return;
+        userMapper.incrementAuthzVersion(userId);
+        PrincipalCache.runNowAndAfterCommit(() -> cache.invalidate(userId));
+    }
+
+    /** Invalidates the authorization claims of every user holding the role (code changed, role deleted). */
+    public void bumpRole(Long roleId) {
+        if (roleId == null) return;
+        userMapper.incrementAuthzVersionByRoleId(roleId);
+        // Which users hold the role is not known here; dropping everything is cheap for a cache this small
+        PrincipalCache.runNowAndAfterCommit(cache::invalidateAll);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.mybatis.security;
 
+import com.example.mybatis.entity.User;
+import com.example.mybatis.properties.AuthzClaimsProperties;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,13 +21,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
+    /** Request attribute holding the {@link VerifiedToken} of an authenticated request (e.g. for logout). */
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = "com.example.mybatis.security.JwtAuthenticationFilter.TOKEN";
 
-    private final JwtUtil jwtUtil;
-    private final AppUserDetailsService userDetailsService;
+    private final VerifiedTokenCache tokenCache;
+    private final PrincipalCache principalCache;
+    private final AuthzVersionCache authzVersionCache;
+    private final AuthzClaimsProperties authzClaimsProperties;
+    private final TokenRevocationList revocationList;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, AppUserDetailsService userDetailsService) {
-        this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+    public JwtAuthenticationFilter(VerifiedTokenCache tokenCache, PrincipalCache principalCache,
+                                   AuthzVersionCache authzVersionCache, AuthzClaimsProperties authzClaimsProperties,
+                                   TokenRevocationList revocationList) {
+        this.tokenCache = tokenCache;
+        this.principalCache = principalCache;
+        this.authzVersionCache = authzVersionCache;
+        this.authzClaimsProperties = authzClaimsProperties;
+        this.revocationList = revocationList;
     }
 
     @Override
@@ -34,16 +46,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             if (StringUtils.hasText(jwt)) {
-                String username = jwtUtil.getUsernameFromToken(jwt);
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    if (jwtUtil.validateToken(jwt, username)) {
-                        UsernamePasswordAuthenticationToken authentication =
-                                new UsernamePasswordAuthenticationToken(
-                                        userDetails, null, userDetails.getAuthorities());
-                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                // Signature is verified once per distinct token (cached by digest); expiry is checked on every call
+                VerifiedToken token = tokenCache.verify(jwt);
+                String username = token.subject();
+                if (username != null && !revocationList.isRevoked(token.jti())
+                        && SecurityContextHolder.getContext().getAuthentication() == null) {
+                    UserDetails userDetails = fromClaims(token);
+                    if (userDetails == null) {
+                        userDetails = principalCache.load(username);
                     }
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, token);
                 }
             }
         } catch (Exception e) {
@@ -52,6 +69,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Principal built from the token's role claims, or null when the token has none or they are stale
+     * (the user's authorization version moved on since the token was issued).
+     */
+    private SecurityUser fromClaims(VerifiedToken token) {
+        if (!authzClaimsProperties.isEnabled() || !token.hasAuthzClaims()
+                || !authzVersionCache.isCurrent(token.userId(), token.authzVersion())) {
+            return null;
+        }
+        User user = new User();
+        user.setId(token.userId());
+        user.setUsername(token.subject());
+        user.setEnabled(true);
+        return new SecurityUser(user, token.roles());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearer = request.getHeader(AUTHORIZATION_HEADER);
         if (StringUtils.hasText(bearer) && bearer.startsWith(BEARER_PREFIX)) {
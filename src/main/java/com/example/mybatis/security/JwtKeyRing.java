@@ -0,0 +1,232 @@
+package com.example.mybatis.security;
+
+import com.example.mybatis.properties.JwtProperties;
+import com.example.mybatis.properties.JwtProperties.Algorithm;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.SecretKey;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable set of signing and verification keys, built from {@code jwt.*} when {@link JwtUtil} starts.
+ * The JWKS document and its ETag are built once here rather than per request.
+ */
+public final class JwtKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+    /** X.509 SubjectPublicKeyInfo prefix of an Ed25519 key; the raw 32-byte key follows it. */
+    private static final int ED25519_SPKI_PREFIX = 12;
+
+    private final Algorithm algorithm;
+    private final String activeKeyId;
+    private final Key signingKey;
+    private final Map<String, PublicKey> publicKeys;
+    private final Map<String, Object> jwks;
+    private final String jwksETag;
+
+    private JwtKeyRing(Algorithm algorithm, String activeKeyId, Key signingKey, Map<String, PublicKey> publicKeys) {
+        this.algorithm = algorithm;
+        this.activeKeyId = activeKeyId;
+        this.signingKey = signingKey;
+        this.publicKeys = Map.copyOf(publicKeys);
+        List<Map<String, Object>> jwkList = new ArrayList<>();
+        publicKeys.forEach((kid, key) -> jwkList.add(jwk(algorithm, kid, key)));
+        this.jwks = Map.of("keys", List.copyOf(jwkList));
+        this.jwksETag = etag(publicKeys);
+    }
+
+    /** Ring with a single HMAC secret (HS256); publishes no keys. */
+    public static JwtKeyRing hmac(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("jwt.secret is required for HS256");
+        }
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return new JwtKeyRing(Algorithm.HS256, null, key, Map.of());
+    }
+
+    public static JwtKeyRing from(JwtProperties properties) {
+        Algorithm algorithm = properties.getAlgorithm();
+        if (algorithm == Algorithm.HS256) {
+            return hmac(properties.getSecret());
+        }
+        if (properties.getKeys().isEmpty()) {
+            log.warn("No jwt.keys configured for {}; using a generated key pair that will not survive a restart",
+                    algorithm);
+            return generate(algorithm);
+        }
+        Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+        PrivateKey signingKey = null;
+        for (JwtProperties.Key configured : properties.getKeys()) {
+            String kid = configured.getId();
+            if (kid == null || kid.isBlank() || configured.getPublicKey() == null) {
+                throw new IllegalStateException("Every jwt.keys entry needs an id and a public-key");
+            }
+            if (publicKeys.put(kid, publicKey(algorithm, configured.getPublicKey())) != null) {
+                throw new IllegalStateException("Duplicate jwt key id: " + kid);
+            }
+            if (kid.equals(properties.getActiveKeyId()) && configured.getPrivateKey() != null) {
+                signingKey = privateKey(algorithm, configured.getPrivateKey());
+            }
+        }
+        if (signingKey == null) {
+            throw new IllegalStateException(
+                    "jwt.active-key-id must name a configured key with a private-key: " + properties.getActiveKeyId());
+        }
+        return new JwtKeyRing(algorithm, properties.getActiveKeyId(), signingKey, publicKeys);
+    }
+
+    /** Ring with a freshly generated key pair (RSA 2048 or Ed25519). */
+    public static JwtKeyRing generate(Algorithm algorithm) {
+        if (algorithm == Algorithm.HS256) {
+            throw new IllegalArgumentException("HS256 uses a configured secret");
+        }
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(keyFactoryAlgorithm(algorithm));
+            if (algorithm == Algorithm.RS256) {
+                generator.initialize(2048);
+            }
+            KeyPair pair = generator.generateKeyPair();
+            String kid = "generated-" + UUID.randomUUID();
+            return new JwtKeyRing(algorithm, kid, pair.getPrivate(), Map.of(kid, pair.getPublic()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate a " + algorithm + " key pair", e);
+        }
+    }
+
+    /** Signs with the active key, adding its {@code kid} header for asymmetric algorithms. */
+    JwtBuilder sign(JwtBuilder builder) {
+        return switch (algorithm) {
+            case HS256 -> builder.signWith((SecretKey) signingKey);
+            case RS256 -> builder.header().keyId(activeKeyId).and().signWith((PrivateKey) signingKey, Jwts.SIG.RS256);
+            case EDDSA -> builder.header().keyId(activeKeyId).and().signWith((PrivateKey) signingKey, Jwts.SIG.EdDSA);
+        };
+    }
+
+    /**
+     * Key that verifies a token with the given {@code kid}.
+     *
+     * @throws JwtException when the kid is missing or unknown
+     */
+    Key verificationKey(String kid) {
+        if (algorithm == Algorithm.HS256) {
+            return signingKey;
+        }
+        PublicKey key = kid != null ? publicKeys.get(kid) : null;
+        if (key == null) {
+            throw new JwtException("Unknown signing key id: " + kid);
+        }
+        return key;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    /** RFC 7517 JWK Set with every public key of this ring; empty for HS256. */
+    public Map<String, Object> getJwks() {
+        return jwks;
+    }
+
+    public String getJwksETag() {
+        return jwksETag;
+    }
+
+    private static Map<String, Object> jwk(Algorithm algorithm, String kid, PublicKey key) {
+        Base64.Encoder b64 = Base64.getUrlEncoder().withoutPadding();
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        if (algorithm == Algorithm.RS256) {
+            RSAPublicKey rsa = (RSAPublicKey) key;
+            jwk.put("kty", "RSA");
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", "RS256");
+            jwk.put("n", b64.encodeToString(unsigned(rsa.getModulus())));
+            jwk.put("e", b64.encodeToString(unsigned(rsa.getPublicExponent())));
+        } else {
+            byte[] encoded = key.getEncoded();
+            jwk.put("kty", "OKP");
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            jwk.put("alg", "EdDSA");
+            jwk.put("crv", "Ed25519");
+            jwk.put("x", b64.encodeToString(Arrays.copyOfRange(encoded, ED25519_SPKI_PREFIX, encoded.length)));
+        }
+        return Collections.unmodifiableMap(jwk);
+    }
+
+    /** Big-endian magnitude without the sign byte {@link BigInteger#toByteArray} may prepend. */
+    private static byte[] unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return bytes.length > 1 && bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    private static String etag(Map<String, PublicKey> publicKeys) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            publicKeys.forEach((kid, key) -> {
+                digest.update(kid.getBytes(StandardCharsets.UTF_8));
+                digest.update(key.getEncoded());
+            });
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static PublicKey publicKey(Algorithm algorithm, String pem) {
+        try {
+            return KeyFactory.getInstance(keyFactoryAlgorithm(algorithm))
+                    .generatePublic(new X509EncodedKeySpec(decodePem(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid " + algorithm + " public key", e);
+        }
+    }
+
+    private static PrivateKey privateKey(Algorithm algorithm, String pem) {
+        try {
+            return KeyFactory.getInstance(keyFactoryAlgorithm(algorithm))
+                    .generatePrivate(new PKCS8EncodedKeySpec(decodePem(pem)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid " + algorithm + " private key", e);
+        }
+    }
+
+    private static String keyFactoryAlgorithm(Algorithm algorithm) {
+        return algorithm == Algorithm.RS256 ? "RSA" : "Ed25519";
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
@@ -1,47 +1,104 @@
 package com.example.mybatis.security;
 
+import com.example.mybatis.properties.JwtProperties;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
+import io.jsonwebtoken.LocatorAdapter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
-    private final SecretKey key;
+    /** User id claim. */
+    public static final String CLAIM_USER_ID = "uid";
+    /** Role codes claim (without the {@code ROLE_} prefix). */
+    public static final String CLAIM_ROLES = "roles";
+    /** Authorization version claim, compared against {@code user.authz_version} to detect stale roles. */
+    public static final String CLAIM_AUTHZ_VERSION = "av";
+
     private final long expirationMs;
+    /** Loaded from {@code jwt.*} at startup; a key change takes effect on restart. */
+    private final JwtKeyRing keyRing;
+    /** Immutable and thread-safe; built once instead of per call. */
+    private final JwtParser parser;
+
+    @Autowired
+    public JwtUtil(JwtProperties properties) {
+        this(JwtKeyRing.from(properties), properties.getExpirationMs());
+    }
+
+    /** HS256 with a shared secret. */
+    public JwtUtil(String secret, long expirationMs) {
+        this(JwtKeyRing.hmac(secret), expirationMs);
+    }
 
-    public JwtUtil(
-            @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration-ms:86400000}") long expirationMs
-    ) {
-        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    public JwtUtil(JwtKeyRing keyRing, long expirationMs) {
+        this.keyRing = keyRing;
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                return keyRing.verificationKey(header.getKeyId());
+            }
+        }).build();
+    }
+
+    public JwtKeyRing getKeyRing() {
+        return keyRing;
     }
 
     public String generateToken(String username) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expirationMs);
-        return Jwts.builder()
+        return keyRing.sign(Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .issuedAt(now)
-                .expiration(expiry)
-                .signWith(key)
+                .expiration(expiry))
                 .compact();
     }
 
+    /** Lifetime of issued access tokens. */
+    public long getExpirationMs() {
+        return expirationMs;
+    }
+
+    /**
+     * Token that also carries the user id, role codes and authorization version of the principal, so
+     * {@link JwtAuthenticationFilter} can authenticate requests without loading the user.
+     */
+    public String generateToken(SecurityUser user) {
+        Date now = new Date();
+        Date expiry = new Date(now.getTime() + expirationMs);
+        return keyRing.sign(Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLES, user.getRoleCodes())
+                .claim(CLAIM_AUTHZ_VERSION, user.getAuthzVersion())
+                .issuedAt(now)
+                .expiration(expiry))
+                .compact();
+    }
+
+    /**
+     * Parses the token once, verifying signature and expiry, and returns its claims.
+     * Throws {@link JwtException} (or {@link IllegalArgumentException} for blank input) when the token is invalid.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public boolean validateToken(String token, String username) {
@@ -0,0 +1,120 @@
+package com.example.mybatis.security;
+
+import com.example.mybatis.constants.ApiMessages;
+import com.example.mybatis.exception.ServiceUnavailableException;
+import com.example.mybatis.properties.PasswordHashingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Small fixed pool that runs password hashing, so at most {@code concurrency} hashes burn CPU at once no
+ * matter how many requests arrive. Callers still wait for the result, but only up to {@code timeout} and only
+ * while the queue has room: a login storm gets fast 503s instead of tying up every servlet thread.
+ */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+    private static final String THREAD_PREFIX = "password-hash-";
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties) {
+        PasswordHashingProperties.Executor config = properties.getExecutor();
+        int threads = Math.max(1, config.getConcurrency());
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                r -> {
+                    Thread t = new Thread(r, THREAD_PREFIX + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutNanos = config.getTimeout().toNanos();
+    }
+
+    /**
+     * Runs the task on the hashing pool and waits for it. Runs inline when already on a hashing thread.
+     *
+     * @throws ServiceUnavailableException when the queue is full or the result does not arrive in time
+     */
+    public <T> T run(Supplier<T> task) {
+        if (Thread.currentThread().getName().startsWith(THREAD_PREFIX)) {
+            return task.get();
+        }
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue full ({} waiting), rejecting request", executor.getQueue().size());
+            throw new ServiceUnavailableException(ApiMessages.SERVER_BUSY);
+        }
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new ServiceUnavailableException(ApiMessages.SERVER_BUSY);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(ApiMessages.SERVER_BUSY);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /** Hashes being computed right now. */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /** Hash requests waiting for a thread. */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public long getCompletedCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    /** Requests turned away because the queue was full. */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /** Requests that gave up waiting for their hash. */
+    public long getTimedOutCount() {
+        return timedOut.sum();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
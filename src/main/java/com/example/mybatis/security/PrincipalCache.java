@@ -0,0 +1,73 @@
+package com.example.mybatis.security;
+
+import com.example.mybatis.properties.PrincipalCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded, TTL-based cache of principals resolved by {@link AppUserDetailsService}, keyed by username.
+ * Used by {@link JwtAuthenticationFilter} so an authenticated request does not reload the user and roles.
+ * Login still goes through {@link AppUserDetailsService} directly.
+ */
+@Component
+public class PrincipalCache {
+
+    private final AppUserDetailsService userDetailsService;
+    private final PrincipalCacheProperties properties;
+    private final Cache<String, UserDetails> cache;
+
+    public PrincipalCache(AppUserDetailsService userDetailsService, PrincipalCacheProperties properties) {
+        this.userDetailsService = userDetailsService;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getMaximumSize()))
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    /** Returns the cached principal for the username, loading it on a miss. */
+    public UserDetails load(String username) throws UsernameNotFoundException {
+        if (!properties.isEnabled()) {
+            return userDetailsService.loadUserByUsername(username);
+        }
+        return cache.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    /**
+     * Evicts the principal of the given user id. Runs immediately and again after the current transaction
+     * commits, so a request racing the write cannot re-cache the old state.
+     */
+    public void evictUser(Long userId) {
+        if (userId == null) return;
+        runNowAndAfterCommit(() -> cache.asMap().values()
+                .removeIf(u -> u instanceof SecurityUser su && userId.equals(su.getId())));
+    }
+
+    /** Evicts every cached principal (e.g. after a role is changed or deleted). */
+    public void evictAll() {
+        runNowAndAfterCommit(cache::invalidateAll);
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    /** Runs an eviction now and, inside a transaction, once more after it commits. */
+    public static void runNowAndAfterCommit(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
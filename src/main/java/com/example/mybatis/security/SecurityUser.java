@@ -1,5 +1,7 @@
 package com.example.mybatis.security;
 
+import com.example.mybatis.entity.Permission;
+import com.example.mybatis.entity.Role;
 import com.example.mybatis.entity.User;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
@@ -18,6 +20,11 @@ public class SecurityUser implements UserDetails {
     private final String password;
     private final boolean enabled;
     private final List<GrantedAuthority> authorities;
+    /** Roles as loaded with the user; empty when built from role codes only. */
+    private final List<Role> roles;
+    private final List<Permission> permissions;
+    /** {@code user.authz_version} when the principal was loaded; embedded in tokens as the {@code av} claim. */
+    private final long authzVersion;
 
     public SecurityUser(User user, List<String> roleCodes) {
         this.id = user.getId();
@@ -27,6 +34,34 @@ public class SecurityUser implements UserDetails {
         this.authorities = roleCodes.stream()
                 .map(code -> new SimpleGrantedAuthority("ROLE_" + code))
                 .collect(Collectors.toList());
+        this.roles = List.of();
+        this.permissions = List.of();
+        this.authzVersion = 0;
+    }
+
+    public SecurityUser(User user, List<Role> roles, List<Permission> permissions) {
+        this(user, roles, permissions, 0);
+    }
+
+    public SecurityUser(User user, List<Role> roles, List<Permission> permissions, long authzVersion) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.password = user.getPassword();
+        this.enabled = Boolean.TRUE.equals(user.getEnabled());
+        this.authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role.getCode()))
+                .collect(Collectors.toList());
+        this.roles = List.copyOf(roles);
+        this.permissions = List.copyOf(permissions);
+        this.authzVersion = authzVersion;
+    }
+
+    /** Role codes of the granted authorities, without the {@code ROLE_} prefix. */
+    public List<String> getRoleCodes() {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(authority -> authority.startsWith("ROLE_") ? authority.substring(5) : authority)
+                .toList();
     }
 
     @Override
@@ -0,0 +1,11 @@
+package com.example.mybatis.security;
+
+/**
+ * Tokens handed out at login and on refresh.
+ *
+ * @param accessToken  signed JWT for the {@code Authorization} header
+ * @param refreshToken opaque token for {@code /auth/refresh}; single use
+ * @param expiresIn    access token lifetime in seconds
+ */
+public record TokenPair(String accessToken, String refreshToken, long expiresIn) {
+}
@@ -0,0 +1,116 @@
+package com.example.mybatis.security;
+
+import com.example.mybatis.entity.RevokedToken;
+import com.example.mybatis.mapper.RevokedTokenMapper;
+import com.example.mybatis.properties.TokenRevocationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the {@code revoked_token} denylist, checked by {@link JwtAuthenticationFilter} on every
+ * authenticated request.
+ * <p>
+ * A bloom filter answers "not revoked" for almost every token without touching the set; only filter hits
+ * fall through to the exact set. The copy is kept current by pulling rows revoked since the last pull
+ * (plus an overlap window), and rebuilt from scratch when expired entries are purged. Revocations made on
+ * this instance are visible immediately, those made elsewhere after the next pull.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final RevokedTokenMapper revokedTokenMapper;
+    private final TokenRevocationProperties properties;
+    /** jti to expiry of the revoked token. */
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    /** Guards filter adds against a concurrent rebuild, which would otherwise drop them. */
+    private final Object writeLock = new Object();
+    private volatile BloomFilter filter;
+    private volatile Instant lastRevokedAt;
+
+    public TokenRevocationList(RevokedTokenMapper revokedTokenMapper, TokenRevocationProperties properties) {
+        this.revokedTokenMapper = revokedTokenMapper;
+        this.properties = properties;
+        this.filter = BloomFilter.create(properties.getExpectedEntries(), properties.getFalsePositiveRate());
+    }
+
+    /** Whether the token id has been revoked. Null (tokens issued without a jti) is never revoked. */
+    public boolean isRevoked(String jti) {
+        return jti != null && filter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    /** Revokes the token id until {@code expiresAt}, after which the token is rejected for expiry anyway. */
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        revokedTokenMapper.insert(jti, expiresAt);
+        add(jti, expiresAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    /** Pulls entries revoked on any instance since the last pull. */
+    @Scheduled(fixedDelayString = "${app.security.revocation.refresh-interval:5s}",
+            initialDelayString = "${app.security.revocation.refresh-interval:5s}")
+    public void refresh() {
+        try {
+            Instant cursor = lastRevokedAt;
+            Instant since = cursor != null ? cursor.minus(properties.getOverlap()) : null;
+            List<RevokedToken> rows = revokedTokenMapper.selectRevokedSince(since, Instant.now());
+            for (RevokedToken row : rows) {
+                add(row.getJti(), row.getExpiresAt());
+                if (cursor == null || row.getRevokedAt().isAfter(cursor)) {
+                    cursor = row.getRevokedAt();
+                }
+            }
+            lastRevokedAt = cursor;
+        } catch (Exception e) {
+            log.warn("Refreshing the token revocation list failed: {}", e.getMessage());
+        }
+    }
+
+    /** Deletes expired rows and rebuilds the filter without them, sized for the current list. */
+    @Scheduled(fixedDelayString = "${app.security.revocation.cleanup-interval:10m}",
+            initialDelayString = "${app.security.revocation.cleanup-interval:10m}")
+    public void removeExpired() {
+        Instant now = Instant.now();
+        try {
+            revokedTokenMapper.deleteExpired(now);
+        } catch (Exception e) {
+            log.warn("Deleting expired revoked tokens failed: {}", e.getMessage());
+        }
+        synchronized (writeLock) {
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            BloomFilter rebuilt = BloomFilter.create(
+                    Math.max(properties.getExpectedEntries(), revoked.size() * 2), properties.getFalsePositiveRate());
+            revoked.keySet().forEach(rebuilt::add);
+            filter = rebuilt;
+        }
+    }
+
+    public int getSize() {
+        return revoked.size();
+    }
+
+    private void add(String jti, Instant expiresAt) {
+        synchronized (writeLock) {
+            // Set first: a reader that sees the filter bit must also find the entry
+            revoked.put(jti, expiresAt);
+            filter.add(jti);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.mybatis.security;
+
+import com.example.mybatis.constants.ApiMessages;
+import com.example.mybatis.entity.RefreshToken;
+import com.example.mybatis.entity.User;
+import com.example.mybatis.exception.UnauthorizedException;
+import com.example.mybatis.mapper.RefreshTokenMapper;
+import com.example.mybatis.mapper.UserMapper;
+import com.example.mybatis.properties.AuthzClaimsProperties;
+import com.example.mybatis.properties.RefreshTokenProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Issues access/refresh token pairs, rotates refresh tokens and revokes both on logout.
+ * <p>
+ * Refresh tokens are random, single use and stored only as a SHA-256 hash. Presenting a token that was
+ * already rotated means it was copied, so every refresh token of that user is revoked.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+    private static final int REFRESH_TOKEN_BYTES = 32;
+
+    private final JwtUtil jwtUtil;
+    private final AuthzClaimsProperties authzClaimsProperties;
+    private final RefreshTokenProperties refreshTokenProperties;
+    private final RefreshTokenMapper refreshTokenMapper;
+    private final UserMapper userMapper;
+    private final AppUserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+    private final SecureRandom random = new SecureRandom();
+
+    public TokenService(JwtUtil jwtUtil, AuthzClaimsProperties authzClaimsProperties,
+                        RefreshTokenProperties refreshTokenProperties, RefreshTokenMapper refreshTokenMapper,
+                        UserMapper userMapper, AppUserDetailsService userDetailsService,
+                        TokenRevocationList revocationList) {
+        this.jwtUtil = jwtUtil;
+        this.authzClaimsProperties = authzClaimsProperties;
+        this.refreshTokenProperties = refreshTokenProperties;
+        this.refreshTokenMapper = refreshTokenMapper;
+        this.userMapper = userMapper;
+        this.userDetailsService = userDetailsService;
+        this.revocationList = revocationList;
+    }
+
+    /** Issues a fresh pair for an authenticated principal. */
+    public TokenPair issue(SecurityUser user) {
+        String accessToken = authzClaimsProperties.isEnabled()
+                ? jwtUtil.generateToken(user)
+                : jwtUtil.generateToken(user.getUsername());
+
+        byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        RefreshToken row = new RefreshToken();
+        row.setUserId(user.getId());
+        row.setTokenHash(hash(refreshToken));
+        row.setExpiresAt(Instant.now().plus(refreshTokenProperties.getTtl()));
+        refreshTokenMapper.insert(row);
+
+        return new TokenPair(accessToken, refreshToken, jwtUtil.getExpirationMs() / 1000);
+    }
+
+    /**
+     * Exchanges a refresh token for a new pair, revoking the presented one. The user is reloaded, so the new
+     * access token carries current roles.
+     *
+     * @throws UnauthorizedException when the token is unknown, expired, already used, or its user is gone
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public TokenPair refresh(String refreshToken) {
+        RefreshToken stored = refreshTokenMapper.selectByTokenHash(hash(refreshToken));
+        if (stored == null || !stored.getExpiresAt().isAfter(Instant.now())) {
+            throw new UnauthorizedException(ApiMessages.INVALID_REFRESH_TOKEN);
+        }
+        if (stored.getRevokedAt() != null || refreshTokenMapper.revoke(stored.getId()) == 0) {
+            int revoked = refreshTokenMapper.revokeAllByUserId(stored.getUserId());
+            log.warn("refresh token reuse userId={} revokedTokens={}", stored.getUserId(), revoked);
+            throw new UnauthorizedException(ApiMessages.INVALID_REFRESH_TOKEN);
+        }
+        return issue(loadEnabledUser(stored.getUserId()));
+    }
+
+    /**
+     * Revokes the refresh token (when it belongs to the user) and the access token used for the request.
+     */
+    @Transactional
+    public void logout(SecurityUser user, String refreshToken, VerifiedToken accessToken) {
+        if (refreshToken != null) {
+            RefreshToken stored = refreshTokenMapper.selectByTokenHash(hash(refreshToken));
+            if (stored != null && stored.getUserId().equals(user.getId())) {
+                refreshTokenMapper.revoke(stored.getId());
+            }
+        }
+        if (accessToken != null) {
+            revocationList.revoke(accessToken.jti(), accessToken.expiresAt());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.refresh-token.cleanup-interval:1h}",
+            initialDelayString = "${app.security.refresh-token.cleanup-interval:1h}")
+    public void removeExpired() {
+        try {
+            int deleted = refreshTokenMapper.deleteExpired(Instant.now());
+            if (deleted > 0) {
+                log.debug("Deleted {} expired refresh tokens", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Deleting expired refresh tokens failed: {}", e.getMessage());
+        }
+    }
+
+    private SecurityUser loadEnabledUser(Long userId) {
+        User user = userMapper.selectById(userId);
+        if (user == null) {
+            throw new UnauthorizedException(ApiMessages.INVALID_REFRESH_TOKEN);
+        }
+        try {
+            SecurityUser principal = (SecurityUser) userDetailsService.loadUserByUsername(user.getUsername());
+            if (!principal.isEnabled()) {
+                throw new UnauthorizedException(ApiMessages.INVALID_REFRESH_TOKEN);
+            }
+            return principal;
+        } catch (UsernameNotFoundException e) {
+            throw new UnauthorizedException(ApiMessages.INVALID_REFRESH_TOKEN);
+        }
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
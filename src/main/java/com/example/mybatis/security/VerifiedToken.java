@@ -0,0 +1,59 @@
+package com.example.mybatis.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The parts of a signature-verified JWT needed to authenticate a request.
+ *
+ * @param subject      username (JWT {@code sub})
+ * @param expiresAt    JWT {@code exp}, or null when the token has no expiry
+ * @param userId       {@code uid} claim, or null for tokens issued without authorization claims
+ * @param roles        {@code roles} claim (role codes); empty when absent
+ * @param authzVersion {@code av} claim, or null when absent
+ * @param jti          token id (JWT {@code jti}) used for revocation, or null for tokens issued without one
+ */
+public record VerifiedToken(String subject, Instant expiresAt, Long userId, List<String> roles, Long authzVersion,
+                            String jti) {
+
+    public VerifiedToken(String subject, Instant expiresAt) {
+        this(subject, expiresAt, null, List.of(), null, null);
+    }
+
+    public VerifiedToken(String subject, Instant expiresAt, Long userId, List<String> roles, Long authzVersion) {
+        this(subject, expiresAt, userId, roles, authzVersion, null);
+    }
+
+    public static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                longClaim(claims.get(JwtUtil.CLAIM_USER_ID)),
+                roleCodes(claims.get(JwtUtil.CLAIM_ROLES)),
+                longClaim(claims.get(JwtUtil.CLAIM_AUTHZ_VERSION)),
+                claims.getId());
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    /** True when the token carries the user id and authorization version needed to skip the database. */
+    public boolean hasAuthzClaims() {
+        return userId != null && authzVersion != null;
+    }
+
+    private static Long longClaim(Object value) {
+        // JSON numbers come back as Integer or Long depending on their size
+        return value instanceof Number n ? n.longValue() : null;
+    }
+
+    private static List<String> roleCodes(Object value) {
+        if (!(value instanceof List<?> list)) {
+            return List.of();
+        }
+        return list.stream().filter(String.class::isInstance).map(String.class::cast).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.mybatis.security;
+
+import com.example.mybatis.properties.TokenCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of verified bearer tokens keyed by the SHA-256 digest of the token (the raw token is never stored).
+ * A hit skips base64 decoding, HMAC verification and JSON parsing; the cached {@code exp} is still checked
+ * on every hit, and entries are evicted when their token expires.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtUtil jwtUtil;
+    private final TokenCacheProperties properties;
+    private final Cache<String, VerifiedToken> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, TokenCacheProperties properties) {
+        this.jwtUtil = jwtUtil;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getMaximumSize()))
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    /**
+     * Returns the verified token, from cache when possible.
+     *
+     * @throws JwtException when the token is invalid or expired
+     */
+    public VerifiedToken verify(String token) {
+        if (!properties.isEnabled()) {
+            return VerifiedToken.from(jwtUtil.parseClaims(token));
+        }
+        String key = digest(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (cached.isExpired(Instant.now())) {
+                cache.invalidate(key);
+                throw new ExpiredJwtException(null, null, "JWT expired at " + cached.expiresAt());
+            }
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        VerifiedToken verified = VerifiedToken.from(jwtUtil.parseClaims(token));
+        if (verified.expiresAt() != null) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /** Each entry lives until the exp claim of its token. */
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long millis = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.mybatis.service;
+
+import com.example.mybatis.dto.request.ExportFormat;
+import com.example.mybatis.dto.request.MatchMode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+/**
+ * Full exports written straight to an output stream. Filters match the list endpoints; rows are read through a
+ * database cursor in one read-only transaction, so the export is a consistent snapshot and memory stays flat.
+ * The stream is flushed but not closed.
+ */
+public interface ExportService {
+
+    /** @return number of rows written */
+    long exportUsers(String name, String email, MatchMode match, ExportFormat format, OutputStream out)
+            throws IOException;
+
+    long exportRoles(String code, String name, MatchMode match, ExportFormat format, OutputStream out)
+            throws IOException;
+
+    long exportPermissions(String code, String name, MatchMode match, ExportFormat format, OutputStream out)
+            throws IOException;
+
+    long exportAuditLogs(String ousername, String method, Instant from, Instant to,
+                         ExportFormat format, OutputStream out) throws IOException;
+}
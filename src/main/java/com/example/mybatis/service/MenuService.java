@@ -1,5 +1,6 @@
 package com.example.mybatis.service;
 
+import com.example.mybatis.dto.request.CountMode;
 import com.example.mybatis.dto.request.MenuCreateRequest;
 import com.example.mybatis.dto.request.MenuUpdateRequest;
 import com.example.mybatis.dto.response.MenuResponse;
@@ -7,7 +8,10 @@ import com.example.mybatis.dto.response.PageResponse;
 
 public interface MenuService {
 
-    PageResponse<MenuResponse> findAll(int page, int size, String name, String path, Long parentId);
+    PageResponse<MenuResponse> findAll(int page, int size, String name, String path, Long parentId, CountMode countMode);
+
+    /** Keyset pagination ordered by id (not sort_order); {@code cursor} is empty for the first page. */
+    PageResponse<MenuResponse> findAllByCursor(String cursor, int size, String name, String path, Long parentId, CountMode countMode);
 
     MenuResponse findById(Long id);
 
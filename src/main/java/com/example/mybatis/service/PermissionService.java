@@ -1,5 +1,7 @@
 package com.example.mybatis.service;
 
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.PermissionCreateRequest;
 import com.example.mybatis.dto.request.PermissionUpdateRequest;
 import com.example.mybatis.dto.response.PageResponse;
@@ -7,7 +9,9 @@ import com.example.mybatis.dto.response.PermissionResponse;
 
 public interface PermissionService {
 
-    PageResponse<PermissionResponse> findAll(int page, int size, String code, String name);
+    PageResponse<PermissionResponse> findAll(int page, int size, String code, String name, MatchMode match, CountMode countMode);
+
+    PageResponse<PermissionResponse> findAllByCursor(String cursor, int size, String code, String name, MatchMode match, CountMode countMode);
 
     PermissionResponse findById(Long id);
 
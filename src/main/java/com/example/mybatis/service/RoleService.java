@@ -1,16 +1,21 @@
 package com.example.mybatis.service;
 
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.RoleCreateRequest;
 import com.example.mybatis.dto.request.RoleUpdateRequest;
 import com.example.mybatis.dto.response.MenuResponse;
 import com.example.mybatis.dto.response.PageResponse;
 import com.example.mybatis.dto.response.RoleResponse;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RoleService {
 
-    PageResponse<RoleResponse> findAll(int page, int size, String code, String name);
+    PageResponse<RoleResponse> findAll(int page, int size, String code, String name, MatchMode match, CountMode countMode);
+
+    PageResponse<RoleResponse> findAllByCursor(String cursor, int size, String code, String name, MatchMode match, CountMode countMode);
 
     RoleResponse findById(Long id);
 
@@ -26,6 +31,9 @@ public interface RoleService {
     /** Get all menus assigned to the role. */
     List<MenuResponse> getMenusByRoleId(Long roleId);
 
+    /** Merged menu tree of all the given roles (e.g. the current user's), each menu once. */
+    List<MenuResponse> getMenusByRoleCodes(Collection<String> roleCodes);
+
     /** Assign menus to role (replaces existing assignments). */
     void assignMenusToRole(Long roleId, List<Long> menuIds);
 }
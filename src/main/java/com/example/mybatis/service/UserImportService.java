@@ -0,0 +1,33 @@
+package com.example.mybatis.service;
+
+import com.example.mybatis.dto.response.UserImportResponse;
+import org.springframework.http.MediaType;
+
+import java.io.Reader;
+
+public interface UserImportService {
+
+    MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    enum Format {
+        CSV,
+        NDJSON;
+
+        /** Format for the upload's content type, or null when it is not supported. */
+        public static Format of(MediaType contentType) {
+            if (TEXT_CSV.includes(contentType)) {
+                return CSV;
+            }
+            if (MediaType.APPLICATION_NDJSON.includes(contentType)) {
+                return NDJSON;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Creates users from a streamed upload. Invalid rows are reported and skipped; valid rows are written in
+     * chunks, each in its own transaction, so rows from earlier chunks stay created if a later chunk fails.
+     */
+    UserImportResponse importUsers(Reader body, Format format);
+}
@@ -1,5 +1,7 @@
 package com.example.mybatis.service;
 
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.UserCreateRequest;
 import com.example.mybatis.dto.request.UserUpdateRequest;
 import com.example.mybatis.dto.response.PageResponse;
@@ -7,7 +9,10 @@ import com.example.mybatis.dto.response.UserResponse;
 
 public interface UserService {
 
-    PageResponse<UserResponse> findAll(int page, int size, String name, String email);
+    PageResponse<UserResponse> findAll(int page, int size, String name, String email, MatchMode match, CountMode countMode);
+
+    /** Keyset pagination: {@code cursor} is the previous page's nextCursor, empty for the first page. */
+    PageResponse<UserResponse> findAllByCursor(String cursor, int size, String name, String email, MatchMode match, CountMode countMode);
 
     UserResponse findById(Long id);
 
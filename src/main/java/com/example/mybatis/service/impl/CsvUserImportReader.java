@@ -0,0 +1,172 @@
+package com.example.mybatis.service.impl;
+
+import com.example.mybatis.dto.request.UserCreateRequest;
+import com.example.mybatis.exception.BadRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 CSV with a header row naming the columns {@code username}, {@code password}, {@code roleIds} and
+ * optionally {@code email} and {@code enabled}, in any order. {@code roleIds} holds ids separated by
+ * {@code ;}; a blank {@code enabled} means true. Quoted fields may contain commas, quotes ({@code ""}) and
+ * line breaks. Blank lines are skipped.
+ */
+class CsvUserImportReader implements UserImportReader {
+
+    /** Longest field kept; a longer one fails its row instead of growing without bound. */
+    static final int MAX_FIELD_LENGTH = 10_000;
+
+    private final BufferedReader reader;
+    private final int username;
+    private final int password;
+    private final int email;
+    private final int enabled;
+    private final int roleIds;
+    private long line = 1;
+    private long recordLine;
+    private boolean fieldTooLong;
+    private boolean unterminated;
+
+    CsvUserImportReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new BadRequestException("CSV upload is empty");
+        }
+        List<String> columns = header.stream()
+                .map(name -> name.replace("\uFEFF", "").strip().toLowerCase(Locale.ROOT))
+                .toList();
+        this.username = columns.indexOf("username");
+        this.password = columns.indexOf("password");
+        this.email = columns.indexOf("email");
+        this.enabled = columns.indexOf("enabled");
+        this.roleIds = columns.indexOf("roleids");
+        if (username < 0 || password < 0 || roleIds < 0) {
+            throw new BadRequestException("CSV header must name the columns username, password and roleIds");
+        }
+    }
+
+    @Override
+    public UserImportRow next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        String name = field(fields, username);
+        if (unterminated) {
+            return UserImportRow.failed(recordLine, name, "Quoted field is not closed before the end of the upload");
+        }
+        if (fieldTooLong) {
+            return UserImportRow.failed(recordLine, name, "Field longer than " + MAX_FIELD_LENGTH + " characters");
+        }
+        UserCreateRequest request = new UserCreateRequest();
+        request.setUsername(name);
+        request.setPassword(field(fields, password));
+        String mail = field(fields, email);
+        request.setEmail(mail == null || mail.isBlank() ? null : mail.strip());
+        String flag = field(fields, enabled);
+        if (flag != null && !flag.isBlank()) {
+            switch (flag.strip().toLowerCase(Locale.ROOT)) {
+                case "true", "1", "yes" -> request.setEnabled(true);
+                case "false", "0", "no" -> request.setEnabled(false);
+                default -> {
+                    return UserImportRow.failed(recordLine, name, "enabled must be true or false");
+                }
+            }
+        }
+        List<Long> ids = new ArrayList<>();
+        String idList = field(fields, roleIds);
+        if (idList != null) {
+            for (String id : idList.split(";")) {
+                if (id.isBlank()) {
+                    continue;
+                }
+                try {
+                    ids.add(Long.parseLong(id.strip()));
+                } catch (NumberFormatException e) {
+                    return UserImportRow.failed(recordLine, name, "Invalid role id: " + id.strip());
+                }
+            }
+        }
+        request.setRoleIds(ids);
+        return UserImportRow.parsed(recordLine, request);
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : null;
+    }
+
+    /** Reads one record, which spans several lines when a quoted field contains line breaks; null at the end. */
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        fieldTooLong = false;
+        unterminated = false;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    unterminated = true;
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        append(field, '"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append(field, (char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append(field, (char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    private void append(StringBuilder field, char c) {
+        if (field.length() < MAX_FIELD_LENGTH) {
+            field.append(c);
+        } else {
+            fieldTooLong = true;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.mybatis.service.impl;
+
+import com.example.mybatis.dto.request.ExportFormat;
+import com.example.mybatis.dto.request.MatchMode;
+import com.example.mybatis.entity.AuditLog;
+import com.example.mybatis.entity.Permission;
+import com.example.mybatis.entity.Role;
+import com.example.mybatis.entity.UserAccess;
+import com.example.mybatis.mapper.AuditLogMapper;
+import com.example.mybatis.mapper.PermissionMapper;
+import com.example.mybatis.mapper.RoleMapper;
+import com.example.mybatis.mapper.UserMapper;
+import com.example.mybatis.service.ExportService;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+
+import static com.example.mybatis.service.impl.ExportWriter.column;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    private static final List<ExportWriter.Column<UserAccess>> USER_COLUMNS = List.of(
+            column("id", UserAccess::getId),
+            column("username", UserAccess::getUsername),
+            column("email", UserAccess::getEmail),
+            column("enabled", UserAccess::getEnabled),
+            column("roles", u -> u.getRoles().stream().map(Role::getCode).toList()),
+            column("createdAt", UserAccess::getCreatedAt),
+            column("updatedAt", UserAccess::getUpdatedAt));
+
+    private static final List<ExportWriter.Column<Role>> ROLE_COLUMNS = List.of(
+            column("id", Role::getId),
+            column("code", Role::getCode),
+            column("name", Role::getName),
+            column("description", Role::getDescription));
+
+    private static final List<ExportWriter.Column<Permission>> PERMISSION_COLUMNS = List.of(
+            column("id", Permission::getId),
+            column("code", Permission::getCode),
+            column("name", Permission::getName),
+            column("description", Permission::getDescription));
+
+    private static final List<ExportWriter.Column<AuditLog>> AUDIT_LOG_COLUMNS = List.of(
+            column("id", AuditLog::getId),
+            column("createdAt", AuditLog::getCreatedAt),
+            column("method", AuditLog::getMethod),
+            column("httpUrl", AuditLog::getHttpUrl),
+            column("ousername", AuditLog::getOusername),
+            column("requestData", AuditLog::getRequestData),
+            column("responseData", AuditLog::getResponseData));
+
+    private final UserMapper userMapper;
+    private final RoleMapper roleMapper;
+    private final PermissionMapper permissionMapper;
+    private final AuditLogMapper auditLogMapper;
+
+    public ExportServiceImpl(UserMapper userMapper, RoleMapper roleMapper, PermissionMapper permissionMapper,
+                             AuditLogMapper auditLogMapper) {
+        this.userMapper = userMapper;
+        this.roleMapper = roleMapper;
+        this.permissionMapper = permissionMapper;
+        this.auditLogMapper = auditLogMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(String name, String email, MatchMode match, ExportFormat format, OutputStream out)
+            throws IOException {
+        long rows = write(userMapper.selectForExport(name, email, match), format, out, USER_COLUMNS);
+        log.info("exportUsers format={}, name={}, email={}, match={} rows={}", format, name, email, match, rows);
+        return rows;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportRoles(String code, String name, MatchMode match, ExportFormat format, OutputStream out)
+            throws IOException {
+        long rows = write(roleMapper.selectForExport(code, name, match), format, out, ROLE_COLUMNS);
+        log.info("exportRoles format={}, code={}, name={}, match={} rows={}", format, code, name, match, rows);
+        return rows;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPermissions(String code, String name, MatchMode match, ExportFormat format, OutputStream out)
+            throws IOException {
+        long rows = write(permissionMapper.selectForExport(code, name, match), format, out, PERMISSION_COLUMNS);
+        log.info("exportPermissions format={}, code={}, name={}, match={} rows={}", format, code, name, match, rows);
+        return rows;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAuditLogs(String ousername, String method, Instant from, Instant to,
+                                ExportFormat format, OutputStream out) throws IOException {
+        long rows = write(auditLogMapper.selectForExport(ousername, method, from, to), format, out, AUDIT_LOG_COLUMNS);
+        log.info("exportAuditLogs format={}, ousername={}, method={}, from={}, to={} rows={}",
+                format, ousername, method, from, to, rows);
+        return rows;
+    }
+
+    private static <T> long write(Cursor<T> cursor, ExportFormat format, OutputStream out,
+                                  List<ExportWriter.Column<T>> columns) throws IOException {
+        long rows = 0;
+        try (cursor) {
+            ExportWriter<T> writer = ExportWriter.open(format, out, columns);
+            for (T row : cursor) {
+                writer.write(row);
+                rows++;
+            }
+            writer.finish();
+        }
+        return rows;
+    }
+}
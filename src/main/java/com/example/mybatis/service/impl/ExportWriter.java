@@ -0,0 +1,125 @@
+package com.example.mybatis.service.impl;
+
+import com.example.mybatis.dto.request.ExportFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes export rows to a stream one at a time, as NDJSON objects or as CSV under a header line. Both formats
+ * carry the same columns. Rows are not collected, so memory use does not depend on the size of the export.
+ * The underlying stream is flushed by {@link #finish()} but never closed.
+ */
+final class ExportWriter<T> {
+
+    /** A named column and how to read its value from a row. */
+    record Column<T>(String name, Function<T, ?> value) {
+    }
+
+    private static final JsonFactory JSON_FACTORY = newJsonFactory();
+
+    private final List<Column<T>> columns;
+    private final JsonGenerator json;
+    private final Writer csv;
+
+    private ExportWriter(List<Column<T>> columns, JsonGenerator json, Writer csv) {
+        this.columns = columns;
+        this.json = json;
+        this.csv = csv;
+    }
+
+    private static JsonFactory newJsonFactory() {
+        JsonFactory factory = new JsonFactory();
+        factory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Rows end with a newline themselves; the default separator would prefix each row with a space
+        factory.setRootValueSeparator(null);
+        return factory;
+    }
+
+    static <T> Column<T> column(String name, Function<T, ?> value) {
+        return new Column<>(name, value);
+    }
+
+    static <T> ExportWriter<T> open(ExportFormat format, OutputStream out, List<Column<T>> columns) throws IOException {
+        if (format == ExportFormat.CSV) {
+            Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            ExportWriter<T> writer = new ExportWriter<>(columns, null, csv);
+            writer.writeCsvLine(columns.stream().map(Column::name).toList());
+            return writer;
+        }
+        return new ExportWriter<>(columns, JSON_FACTORY.createGenerator(out), null);
+    }
+
+    void write(T row) throws IOException {
+        if (csv != null) {
+            writeCsvLine(columns.stream().map(c -> c.value().apply(row)).toList());
+            return;
+        }
+        json.writeStartObject();
+        for (Column<T> column : columns) {
+            json.writeFieldName(column.name());
+            writeJsonValue(column.value().apply(row));
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    void finish() throws IOException {
+        if (csv != null) {
+            csv.flush();
+        } else {
+            json.flush();
+        }
+    }
+
+    private void writeJsonValue(Object value) throws IOException {
+        if (value == null) {
+            json.writeNull();
+        } else if (value instanceof Boolean b) {
+            json.writeBoolean(b);
+        } else if (value instanceof Number n) {
+            json.writeNumber(n.longValue());
+        } else if (value instanceof Collection<?> values) {
+            json.writeStartArray();
+            for (Object v : values) {
+                writeJsonValue(v);
+            }
+            json.writeEndArray();
+        } else {
+            json.writeString(value.toString());
+        }
+    }
+
+    private void writeCsvLine(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                csv.write(',');
+            }
+            csv.write(csvField(values.get(i)));
+        }
+        csv.write("\r\n");
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof Collection<?> values
+                ? values.stream().map(String::valueOf).collect(Collectors.joining(";"))
+                : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.mybatis.service.impl;
 
 import com.example.mybatis.audit.CurrentUserService;
+import com.example.mybatis.dto.request.CountMode;
 import com.example.mybatis.dto.request.MenuCreateRequest;
 import com.example.mybatis.dto.request.MenuUpdateRequest;
 import com.example.mybatis.dto.response.MenuResponse;
+import com.example.mybatis.dto.response.PageCursor;
 import com.example.mybatis.dto.response.PageResponse;
 import com.example.mybatis.entity.Menu;
 import com.example.mybatis.exception.BadRequestException;
@@ -27,24 +29,49 @@ public class MenuServiceImpl implements MenuService {
     private final MenuMapper menuMapper;
     private final MenuDtoMapper menuDtoMapper;
     private final CurrentUserService currentUserService;
+    private final PageCounter pageCounter;
+    private final RoleMenuTreeCache menuTreeCache;
 
-    public MenuServiceImpl(MenuMapper menuMapper, MenuDtoMapper menuDtoMapper, CurrentUserService currentUserService) {
+    public MenuServiceImpl(MenuMapper menuMapper, MenuDtoMapper menuDtoMapper, CurrentUserService currentUserService,
+                           PageCounter pageCounter, RoleMenuTreeCache menuTreeCache) {
         this.menuMapper = menuMapper;
         this.menuDtoMapper = menuDtoMapper;
         this.currentUserService = currentUserService;
+        this.pageCounter = pageCounter;
+        this.menuTreeCache = menuTreeCache;
     }
 
     @Override
-    public PageResponse<MenuResponse> findAll(int page, int size, String name, String path, Long parentId) {
+    public PageResponse<MenuResponse> findAll(int page, int size, String name, String path, Long parentId, CountMode countMode) {
         log.debug("findAll page={}, size={}, name={}, path={}, parentId={}", page, size, name, path, parentId);
         int offset = page * size;
         List<Menu> menus = menuMapper.selectByCondition(name, path, parentId, offset, size);
-        long total = menuMapper.countByCondition(name, path, parentId);
+        Long total = pageCounter.count(countMode, "menu",
+                () -> menuMapper.countByCondition(name, path, parentId), name, path, parentId);
         List<MenuResponse> content = menus.stream().map(menuDtoMapper::toDTO).collect(Collectors.toList());
         log.info("findAll menus returned {} items, total={}", content.size(), total);
         return new PageResponse<>(content, total, size, page);
     }
 
+    @Override
+    public PageResponse<MenuResponse> findAllByCursor(String cursor, int size, String name, String path, Long parentId, CountMode countMode) {
+        log.debug("findAllByCursor cursor={}, size={}, name={}, path={}, parentId={}", cursor, size, name, path, parentId);
+        if (size < 1) {
+            throw new BadRequestException("size must be at least 1");
+        }
+        Long afterId = PageCursor.decode(cursor);
+        List<Menu> menus = menuMapper.selectByConditionAfter(name, path, parentId, afterId, size + 1);
+        boolean hasNext = menus.size() > size;
+        if (hasNext) {
+            menus = menus.subList(0, size);
+        }
+        Long total = pageCounter.count(countMode, "menu",
+                () -> menuMapper.countByCondition(name, path, parentId), name, path, parentId);
+        List<MenuResponse> content = menus.stream().map(menuDtoMapper::toDTO).collect(Collectors.toList());
+        String nextCursor = hasNext ? PageCursor.encode(menus.get(size - 1).getId()) : null;
+        return PageResponse.ofCursor(content, total, size, afterId == null, nextCursor);
+    }
+
     @Override
     public MenuResponse findById(Long id) {
         log.debug("findById menu id={}", id);
@@ -66,6 +93,8 @@ public class MenuServiceImpl implements MenuService {
             log.error("create menu failed name={}", request.getName());
             throw new BadRequestException("Menu creation failed");
         }
+        pageCounter.evict("menu");
+        menuTreeCache.evictAll();
         log.info("create menu success id={} name={}", menu.getId(), request.getName());
     }
 
@@ -82,6 +111,7 @@ public class MenuServiceImpl implements MenuService {
         existing.setId(id);
         existing.setUsername(currentUserService.getCurrentUsername());
         menuMapper.update(existing);
+        menuTreeCache.evictAll();
         log.info("update menu success id={}", id);
     }
 
@@ -93,6 +123,8 @@ public class MenuServiceImpl implements MenuService {
             log.warn("deleteById menu not found id={}", id);
             throw new ResourceNotFoundException("Menu", id);
         }
+        pageCounter.evict("menu");
+        menuTreeCache.evictAll();
         log.info("deleteById menu success id={}", id);
     }
 }
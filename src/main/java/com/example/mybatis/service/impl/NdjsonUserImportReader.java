@@ -0,0 +1,78 @@
+package com.example.mybatis.service.impl;
+
+import com.example.mybatis.dto.request.UserCreateRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/** One JSON object per line, with the fields of {@link UserCreateRequest}. Blank lines are skipped. */
+class NdjsonUserImportReader implements UserImportReader {
+
+    /** Longest line kept; the rest of a longer one is skipped unread and its row fails. */
+    static final int MAX_LINE_LENGTH = 50_000;
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final StringBuilder buffer = new StringBuilder();
+    private long line;
+    private boolean lineTooLong;
+
+    NdjsonUserImportReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader br ? br : new BufferedReader(reader);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public UserImportRow next() throws IOException {
+        String text;
+        do {
+            text = readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank() && !lineTooLong);
+        if (lineTooLong) {
+            return UserImportRow.failed(line, null, "Line longer than " + MAX_LINE_LENGTH + " characters");
+        }
+        try {
+            UserCreateRequest request = objectMapper.readValue(text, UserCreateRequest.class);
+            if (request == null) {
+                // a bare "null" line
+                return UserImportRow.failed(line, null, "Expected a JSON object");
+            }
+            return UserImportRow.parsed(line, request);
+        } catch (JsonProcessingException e) {
+            return UserImportRow.failed(line, null, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /** Like {@link BufferedReader#readLine()}, but keeps at most {@link #MAX_LINE_LENGTH} characters. */
+    private String readLine() throws IOException {
+        buffer.setLength(0);
+        lineTooLong = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            }
+            if (buffer.length() < MAX_LINE_LENGTH) {
+                buffer.append((char) c);
+            } else {
+                lineTooLong = true;
+            }
+            c = reader.read();
+        }
+        return buffer.toString();
+    }
+}
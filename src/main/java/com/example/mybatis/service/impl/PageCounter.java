@@ -0,0 +1,93 @@
+package com.example.mybatis.service.impl;
+
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.MatchMode;
+import com.example.mybatis.mapper.TableStatsMapper;
+import com.example.mybatis.properties.PaginationProperties;
+import com.example.mybatis.security.PrincipalCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Computes {@code totalElements} for the list endpoints according to a {@link CountMode}, so a page request
+ * does not always pay for a second COUNT(*) scan. Exact counts are cached for a short TTL per table and
+ * filter tuple, and dropped for a table when one of its rows is created or deleted.
+ */
+@Component
+public class PageCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(PageCounter.class);
+
+    private final TableStatsMapper tableStatsMapper;
+    private final Cache<List<Object>, Long> exactCounts;
+
+    public PageCounter(TableStatsMapper tableStatsMapper, PaginationProperties properties) {
+        this.tableStatsMapper = tableStatsMapper;
+        this.exactCounts = properties.getCountCacheTtl().isZero()
+                ? null
+                : Caffeine.newBuilder()
+                        .maximumSize(Math.max(1, properties.getCountCacheMaximumSize()))
+                        .expireAfterWrite(properties.getCountCacheTtl())
+                        .build();
+    }
+
+    /**
+     * Returns the total for the list, or null in {@link CountMode#NONE}.
+     *
+     * @param table      table name, also used to estimate and to group cache entries
+     * @param exactCount runs the mapper's countByCondition
+     * @param filters    the filter values of the list query, including the match mode so both modes are cached
+     *                   apart; any other non-blank value disables estimation
+     */
+    public Long count(CountMode mode, String table, LongSupplier exactCount, Object... filters) {
+        if (mode == CountMode.NONE) {
+            return null;
+        }
+        if (mode == CountMode.ESTIMATED && isUnfiltered(filters)) {
+            Long estimate = tableStatsMapper.selectEstimatedRowCount(table);
+            if (estimate != null && estimate >= 0) {
+                return estimate;
+            }
+            log.debug("no planner estimate for table={}, counting exactly", table);
+        }
+        if (exactCounts == null) {
+            return exactCount.getAsLong();
+        }
+        List<Object> key = new ArrayList<>(filters.length + 1);
+        key.add(table);
+        key.addAll(Arrays.asList(filters));
+        return exactCounts.get(key, k -> exactCount.getAsLong());
+    }
+
+    /**
+     * Drops cached counts of the table after rows were added or removed, now and again after the current
+     * transaction commits, so a list request racing the write cannot cache the old count.
+     */
+    public void evict(String table) {
+        if (exactCounts != null) {
+            PrincipalCache.runNowAndAfterCommit(
+                    () -> exactCounts.asMap().keySet().removeIf(key -> table.equals(key.get(0))));
+        }
+    }
+
+    private static boolean isUnfiltered(Object[] filters) {
+        for (Object filter : filters) {
+            // The match mode only says how the other filters apply; on its own it filters nothing
+            if (filter instanceof MatchMode) {
+                continue;
+            }
+            if (filter instanceof String s ? !s.isBlank() : filter != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
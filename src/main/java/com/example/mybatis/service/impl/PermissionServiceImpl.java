@@ -1,8 +1,11 @@
 package com.example.mybatis.service.impl;
 
 import com.example.mybatis.audit.CurrentUserService;
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.PermissionCreateRequest;
 import com.example.mybatis.dto.request.PermissionUpdateRequest;
+import com.example.mybatis.dto.response.PageCursor;
 import com.example.mybatis.dto.response.PageResponse;
 import com.example.mybatis.dto.response.PermissionResponse;
 import com.example.mybatis.entity.Permission;
@@ -27,20 +30,23 @@ public class PermissionServiceImpl implements PermissionService {
     private final PermissionMapper permissionMapper;
     private final PermissionDtoMapper permissionDtoMapper;
     private final CurrentUserService currentUserService;
+    private final PageCounter pageCounter;
 
     public PermissionServiceImpl(PermissionMapper permissionMapper, PermissionDtoMapper permissionDtoMapper,
-                                 CurrentUserService currentUserService) {
+                                 CurrentUserService currentUserService, PageCounter pageCounter) {
         this.permissionMapper = permissionMapper;
         this.permissionDtoMapper = permissionDtoMapper;
         this.currentUserService = currentUserService;
+        this.pageCounter = pageCounter;
     }
 
     @Override
-    public PageResponse<PermissionResponse> findAll(int page, int size, String code, String name) {
+    public PageResponse<PermissionResponse> findAll(int page, int size, String code, String name, MatchMode match, CountMode countMode) {
         log.debug("findAll page={}, size={}, code={}, name={}", page, size, code, name);
         int offset = page * size;
-        List<Permission> permissions = permissionMapper.selectByCondition(code, name, offset, size);
-        long total = permissionMapper.countByCondition(code, name);
+        List<Permission> permissions = permissionMapper.selectByCondition(code, name, match, offset, size);
+        Long total = pageCounter.count(countMode, "permission",
+                () -> permissionMapper.countByCondition(code, name, match), code, name, match);
         List<PermissionResponse> content = permissions.stream()
                 .map(permissionDtoMapper::toDTO)
                 .collect(Collectors.toList());
@@ -48,6 +54,27 @@ public class PermissionServiceImpl implements PermissionService {
         return new PageResponse<>(content, total, size, page);
     }
 
+    @Override
+    public PageResponse<PermissionResponse> findAllByCursor(String cursor, int size, String code, String name, MatchMode match, CountMode countMode) {
+        log.debug("findAllByCursor cursor={}, size={}, code={}, name={}", cursor, size, code, name);
+        if (size < 1) {
+            throw new BadRequestException("size must be at least 1");
+        }
+        Long afterId = PageCursor.decode(cursor);
+        List<Permission> permissions = permissionMapper.selectByConditionAfter(code, name, match, afterId, size + 1);
+        boolean hasNext = permissions.size() > size;
+        if (hasNext) {
+            permissions = permissions.subList(0, size);
+        }
+        Long total = pageCounter.count(countMode, "permission",
+                () -> permissionMapper.countByCondition(code, name, match), code, name, match);
+        List<PermissionResponse> content = permissions.stream()
+                .map(permissionDtoMapper::toDTO)
+                .collect(Collectors.toList());
+        String nextCursor = hasNext ? PageCursor.encode(permissions.get(size - 1).getId()) : null;
+        return PageResponse.ofCursor(content, total, size, afterId == null, nextCursor);
+    }
+
     @Override
     public PermissionResponse findById(Long id) {
         log.debug("findById permission id={}", id);
@@ -69,6 +96,7 @@ public class PermissionServiceImpl implements PermissionService {
             log.error("create permission failed code={}", request.getCode());
             throw new BadRequestException("Permission creation failed");
         }
+        pageCounter.evict("permission");
         log.info("create permission success id={} code={}", permission.getId(), request.getCode());
     }
 
@@ -96,6 +124,7 @@ public class PermissionServiceImpl implements PermissionService {
             log.warn("deleteById permission not found id={}", id);
             throw new ResourceNotFoundException("Permission", id);
         }
+        pageCounter.evict("permission");
         log.info("deleteById permission success id={}", id);
     }
 }
@@ -0,0 +1,85 @@
+package com.example.mybatis.service.impl;
+
+import com.example.mybatis.dto.response.MenuResponse;
+import com.example.mybatis.properties.MenuTreeCacheProperties;
+import com.example.mybatis.security.PrincipalCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Caches built menu trees so a page load does not re-run the role-menu queries, the DTO mapping and the tree
+ * build: per role id for {@code GET /roles/{id}/menus}, and per set of role codes for the merged tree of
+ * {@code GET /me/menus}. Cached trees are shared between requests and must not be modified; their child lists
+ * are unmodifiable.
+ * <p>
+ * Reassigning a role's menus or deleting the role evicts that role and every merged tree (the sets are keyed by
+ * code, not id). Creating, changing or deleting any menu evicts everything, since a menu may belong to many roles.
+ */
+@Component
+public class RoleMenuTreeCache {
+
+    private final Cache<Long, List<MenuResponse>> cache;
+    private final Cache<Set<String>, List<MenuResponse>> roleSetCache;
+
+    public RoleMenuTreeCache(MenuTreeCacheProperties properties) {
+        this.cache = properties.isEnabled() ? newCache(properties) : null;
+        this.roleSetCache = properties.isEnabled() ? newCache(properties) : null;
+    }
+
+    private static <K> Cache<K, List<MenuResponse>> newCache(MenuTreeCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(Math.max(1, properties.getMaximumSize()))
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    /** Returns the cached tree of the role, building it with the loader on a miss. Loader exceptions are not cached. */
+    public List<MenuResponse> get(Long roleId, Function<Long, List<MenuResponse>> loader) {
+        if (cache == null) {
+            return loader.apply(roleId);
+        }
+        return cache.get(roleId, loader);
+    }
+
+    /** Returns the cached merged tree of the role codes, building it with the loader on a miss. */
+    public List<MenuResponse> getForRoles(Set<String> roleCodes, Function<Set<String>, List<MenuResponse>> loader) {
+        if (roleSetCache == null) {
+            return loader.apply(roleCodes);
+        }
+        return roleSetCache.get(roleCodes, loader);
+    }
+
+    /** Drops the tree of one role and all merged trees, now and again after the current transaction commits. */
+    public void evictRole(Long roleId) {
+        if (cache != null && roleId != null) {
+            PrincipalCache.runNowAndAfterCommit(() -> {
+                cache.invalidate(roleId);
+                roleSetCache.invalidateAll();
+            });
+        }
+    }
+
+    /** Drops every cached tree, now and again after the current transaction commits. */
+    public void evictAll() {
+        if (cache != null) {
+            PrincipalCache.runNowAndAfterCommit(() -> {
+                cache.invalidateAll();
+                roleSetCache.invalidateAll();
+            });
+        }
+    }
+
+    long size() {
+        if (cache == null) {
+            return 0;
+        }
+        cache.cleanUp();
+        roleSetCache.cleanUp();
+        return cache.estimatedSize() + roleSetCache.estimatedSize();
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.mybatis.service.impl;
 
 import com.example.mybatis.audit.CurrentUserService;
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.RoleCreateRequest;
 import com.example.mybatis.dto.request.RoleUpdateRequest;
 import com.example.mybatis.dto.response.MenuResponse;
+import com.example.mybatis.dto.response.PageCursor;
 import com.example.mybatis.dto.response.PageResponse;
 import com.example.mybatis.dto.response.RoleResponse;
 import com.example.mybatis.entity.Menu;
@@ -15,6 +18,8 @@ import com.example.mybatis.mapper.RoleMapper;
 import com.example.mybatis.mapper.RoleMenuMapper;
 import com.example.mybatis.mapper.dto.MenuDtoMapper;
 import com.example.mybatis.mapper.dto.RoleDtoMapper;
+import com.example.mybatis.security.AuthzVersionCache;
+import com.example.mybatis.security.PrincipalCache;
 import com.example.mybatis.service.RoleService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,10 +27,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,29 +46,62 @@ public class RoleServiceImpl implements RoleService {
     private final RoleMenuMapper roleMenuMapper;
     private final MenuDtoMapper menuDtoMapper;
     private final MenuMapper menuMapper;
+    private final PrincipalCache principalCache;
+    private final AuthzVersionCache authzVersionCache;
+    private final PageCounter pageCounter;
+    private final RoleMenuTreeCache menuTreeCache;
 
     public RoleServiceImpl(RoleMapper roleMapper, RoleDtoMapper roleDtoMapper,
                            CurrentUserService currentUserService, RoleMenuMapper roleMenuMapper,
-                           MenuDtoMapper menuDtoMapper, MenuMapper menuMapper) {
+                           MenuDtoMapper menuDtoMapper, MenuMapper menuMapper, PrincipalCache principalCache,
+                           AuthzVersionCache authzVersionCache, PageCounter pageCounter,
+                           RoleMenuTreeCache menuTreeCache) {
         this.roleMapper = roleMapper;
         this.roleDtoMapper = roleDtoMapper;
         this.currentUserService = currentUserService;
         this.roleMenuMapper = roleMenuMapper;
         this.menuDtoMapper = menuDtoMapper;
         this.menuMapper = menuMapper;
+        this.principalCache = principalCache;
+        this.authzVersionCache = authzVersionCache;
+        this.pageCounter = pageCounter;
+        this.menuTreeCache = menuTreeCache;
     }
 
     @Override
-    public PageResponse<RoleResponse> findAll(int page, int size, String code, String name) {
+    public PageResponse<RoleResponse> findAll(int page, int size, String code, String name, MatchMode match, CountMode countMode) {
+        log.debug("findAll role page={}, size={}, code={}, name={}", page, size, code, name);
         int offset = page * size;
-        List<Role> roles = roleMapper.selectByCondition(code, name, offset, size);
-        long total = roleMapper.countByCondition(code, name);
+        List<Role> roles = roleMapper.selectByCondition(code, name, match, offset, size);
+        Long total = pageCounter.count(countMode, "role",
+                () -> roleMapper.countByCondition(code, name, match), code, name, match);
         List<RoleResponse> content = roles.stream()
                 .map(roleDtoMapper::toDTO)
                 .collect(Collectors.toList());
         return new PageResponse<>(content, total, size, page);
     }
 
+    @Override
+    public PageResponse<RoleResponse> findAllByCursor(String cursor, int size, String code, String name, MatchMode match, CountMode countMode) {
+        log.debug("findAllByCursor role cursor={}, size={}, code={}, name={}", cursor, size, code, name);
+        if (size < 1) {
+            throw new BadRequestException("size must be at least 1");
+        }
+        Long afterId = PageCursor.decode(cursor);
+        List<Role> roles = roleMapper.selectByConditionAfter(code, name, match, afterId, size + 1);
+        boolean hasNext = roles.size() > size;
+        if (hasNext) {
+            roles = roles.subList(0, size);
+        }
+        Long total = pageCounter.count(countMode, "role",
+                () -> roleMapper.countByCondition(code, name, match), code, name, match);
+        List<RoleResponse> content = roles.stream()
+                .map(roleDtoMapper::toDTO)
+                .collect(Collectors.toList());
+        String nextCursor = hasNext ? PageCursor.encode(roles.get(size - 1).getId()) : null;
+        return PageResponse.ofCursor(content, total, size, afterId == null, nextCursor);
+    }
+
     @Override
     public RoleResponse findById(Long id) {
         log.debug("findById role id={}", id);
@@ -83,6 +123,7 @@ public class RoleServiceImpl implements RoleService {
             log.error("create role failed code={}", request.getCode());
             throw new BadRequestException("Role creation failed");
         }
+        pageCounter.evict("role");
         log.info("create role success id={} code={}", role.getId(), request.getCode());
     }
 
@@ -99,6 +140,10 @@ public class RoleServiceImpl implements RoleService {
         existing.setId(id);
         existing.setOusername(currentUserService.getCurrentUsername());
         roleMapper.update(existing);
+        principalCache.evictAll();
+        authzVersionCache.bumpRole(id);
+        // Merged trees are keyed by role code, which the update may change
+        menuTreeCache.evictRole(id);
         log.info("update role success id={}", id);
     }
 
@@ -110,6 +155,10 @@ public class RoleServiceImpl implements RoleService {
             log.warn("deleteById role not found id={}", id);
             throw new ResourceNotFoundException("Role", id);
         }
+        principalCache.evictAll();
+        authzVersionCache.bumpRole(id);
+        menuTreeCache.evictRole(id);
+        pageCounter.evict("role");
         log.info("deleteById role success id={}", id);
     }
 
@@ -128,13 +177,37 @@ public class RoleServiceImpl implements RoleService {
     @Override
     public List<MenuResponse> getMenusByRoleId(Long roleId) {
         log.debug("getMenusByRoleId roleId={}", roleId);
+        return menuTreeCache.get(roleId, this::loadMenuTree);
+    }
+
+    @Override
+    public List<MenuResponse> getMenusByRoleCodes(Collection<String> roleCodes) {
+        if (roleCodes == null || roleCodes.isEmpty()) {
+            return List.of();
+        }
+        // Users with the same roles share one cached tree
+        return menuTreeCache.getForRoles(Set.copyOf(roleCodes), codes -> {
+            List<Menu> menus = roleMenuMapper.selectMenusByRoleCodes(codes);
+            return freeze(buildMenuTree(menus.stream().map(menuDtoMapper::toDTO).collect(Collectors.toList())));
+        });
+    }
+
+    private List<MenuResponse> loadMenuTree(Long roleId) {
         if (roleMapper.selectById(roleId) == null) {
             log.warn("getMenusByRoleId role not found roleId={}", roleId);
             throw new ResourceNotFoundException("Role", roleId);
         }
         List<Menu> menus = roleMenuMapper.selectMenusByRoleId(roleId);
         List<MenuResponse> list = menus.stream().map(menuDtoMapper::toDTO).collect(Collectors.toList());
-        return buildMenuTree(list);
+        return freeze(buildMenuTree(list));
+    }
+
+    /** Makes the tree safe to share from the cache by replacing every children list with an unmodifiable copy. */
+    private static List<MenuResponse> freeze(List<MenuResponse> menus) {
+        for (MenuResponse menu : menus) {
+            menu.setChildren(freeze(menu.getChildren()));
+        }
+        return List.copyOf(menus);
     }
 
     /** Builds tree: items with parentId become children of their parent; returns only roots ordered by sortOrder. */
@@ -183,12 +256,10 @@ public class RoleServiceImpl implements RoleService {
                 throw new BadRequestException("Menu not found in database: " + invalid);
             }
         }
-        roleMenuMapper.deleteByRoleId(roleId);
-        if (menuIds != null) {
-            for (Long menuId : menuIds) {
-                roleMenuMapper.insert(roleId, menuId);
-            }
+        int changed = roleMenuMapper.replaceMenus(roleId, menuIds != null ? menuIds : List.of());
+        if (changed > 0) {
+            menuTreeCache.evictRole(roleId);
         }
-        log.info("assignMenusToRole success roleId={}", roleId);
+        log.info("assignMenusToRole success roleId={} changedLinks={}", roleId, changed);
     }
 }
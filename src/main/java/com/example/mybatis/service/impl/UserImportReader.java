@@ -0,0 +1,10 @@
+package com.example.mybatis.service.impl;
+
+import java.io.IOException;
+
+/** Reads an import upload one row at a time, so only the current row is held in memory. */
+interface UserImportReader {
+
+    /** Returns the next row, or null at the end of the input. Rows that cannot be parsed carry an error. */
+    UserImportRow next() throws IOException;
+}
@@ -0,0 +1,21 @@
+package com.example.mybatis.service.impl;
+
+import com.example.mybatis.dto.request.UserCreateRequest;
+
+/** One row of an import upload: the parsed request, or the reason it could not be parsed. */
+record UserImportRow(long line, UserCreateRequest request, String error) {
+
+    static UserImportRow parsed(long line, UserCreateRequest request) {
+        return new UserImportRow(line, request, null);
+    }
+
+    static UserImportRow failed(long line, String username, String error) {
+        UserCreateRequest request = new UserCreateRequest();
+        request.setUsername(username);
+        return new UserImportRow(line, request, error);
+    }
+
+    String username() {
+        return request.getUsername();
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.mybatis.service.impl;
+
+import com.example.mybatis.audit.CurrentUserService;
+import com.example.mybatis.constants.ApiMessages;
+import com.example.mybatis.dto.request.UserCreateRequest;
+import com.example.mybatis.dto.response.UserImportResponse;
+import com.example.mybatis.entity.User;
+import com.example.mybatis.exception.BadRequestException;
+import com.example.mybatis.exception.ServiceUnavailableException;
+import com.example.mybatis.mapper.UserMapper;
+import com.example.mybatis.mapper.UserRoleMapper;
+import com.example.mybatis.properties.UserImportProperties;
+import com.example.mybatis.security.BoundedPasswordEncoder;
+import com.example.mybatis.service.RoleService;
+import com.example.mybatis.service.UserImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk user creation from a streamed upload. Rows are validated as they are read and collected into chunks of
+ * {@code chunk-size}; each chunk has its passwords hashed in parallel on a pool private to the import and is
+ * then written with one multi-row INSERT for the users and one for their roles. Role ids are checked once per
+ * distinct id. Only one import runs at a time.
+ */
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportServiceImpl.class);
+
+    private final UserMapper userMapper;
+    private final UserRoleMapper userRoleMapper;
+    private final RoleService roleService;
+    private final PasswordEncoder passwordEncoder;
+    private final CurrentUserService currentUserService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final PageCounter pageCounter;
+    private final UserImportProperties properties;
+    private final Semaphore running = new Semaphore(1);
+
+    public UserImportServiceImpl(UserMapper userMapper, UserRoleMapper userRoleMapper, RoleService roleService,
+                                 PasswordEncoder passwordEncoder, CurrentUserService currentUserService,
+                                 Validator validator, ObjectProvider<ObjectMapper> objectMapper,
+                                 TransactionTemplate transactionTemplate, PageCounter pageCounter,
+                                 UserImportProperties properties) {
+        this.userMapper = userMapper;
+        this.userRoleMapper = userRoleMapper;
+        this.roleService = roleService;
+        // The import bounds its own hashing; going through the login pool would starve logins
+        this.passwordEncoder = passwordEncoder instanceof BoundedPasswordEncoder bounded
+                ? bounded.getDelegate()
+                : passwordEncoder;
+        this.currentUserService = currentUserService;
+        this.validator = validator;
+        // Boot's own mapper is Jackson 3; a Jackson 2 ObjectMapper bean is optional, as in RateLimitConfig
+        this.objectMapper = objectMapper.getIfAvailable(ObjectMapper::new);
+        this.transactionTemplate = transactionTemplate;
+        this.pageCounter = pageCounter;
+        this.properties = properties;
+    }
+
+    @Override
+    public UserImportResponse importUsers(Reader body, Format format) {
+        if (!running.tryAcquire()) {
+            throw new ServiceUnavailableException(ApiMessages.IMPORT_IN_PROGRESS);
+        }
+        ExecutorService hashingPool = newHashingPool();
+        try {
+            UserImportReader reader = format == Format.CSV
+                    ? new CsvUserImportReader(body)
+                    : new NdjsonUserImportReader(body, objectMapper);
+            UserImportResponse response = new ImportRun(reader, hashingPool).execute();
+            log.info("importUsers done total={} imported={} failed={} aborted={}",
+                    response.getTotal(), response.getImported(), response.getFailed(), response.isAborted());
+            return response;
+        } catch (IOException e) {
+            throw new BadRequestException("Could not read the upload: " + e.getMessage());
+        } finally {
+            hashingPool.shutdownNow();
+            running.release();
+        }
+    }
+
+    private ExecutorService newHashingPool() {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, properties.getHashingConcurrency()), r -> {
+            Thread t = new Thread(r, "user-import-hash-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** State of one import: the current chunk, the role ids seen so far and the counters for the response. */
+    private final class ImportRun {
+
+        private final UserImportReader reader;
+        private final ExecutorService hashingPool;
+        private final String ousername = currentUserService.getCurrentUsername();
+        private final int chunkSize = Math.max(1, properties.getChunkSize());
+        private final List<UserImportRow> chunk = new ArrayList<>();
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<Long> validRoleIds = new HashSet<>();
+        private final Set<Long> invalidRoleIds = new HashSet<>();
+        private final List<UserImportResponse.RowError> errors = new ArrayList<>();
+        private long total;
+        private long imported;
+        private long failed;
+
+        ImportRun(UserImportReader reader, ExecutorService hashingPool) {
+            this.reader = reader;
+            this.hashingPool = hashingPool;
+        }
+
+        /**
+         * Reads and saves the whole upload. Chunks already saved stay saved when the upload breaks off or a
+         * chunk cannot be processed; the response then says so and counts the unsaved rows as failed.
+         */
+        UserImportResponse execute() {
+            String abortReason = null;
+            try {
+                UserImportRow row;
+                while ((row = reader.next()) != null) {
+                    total++;
+                    String error = row.error() != null ? row.error() : check(row.request());
+                    if (error != null) {
+                        fail(row, error);
+                        continue;
+                    }
+                    chunk.add(row);
+                    if (chunk.size() >= chunkSize) {
+                        flush();
+                    }
+                }
+                flush();
+            } catch (IOException e) {
+                log.warn("importUsers upload broke off after {} rows, imported={}: {}", total, imported, e.getMessage());
+                abortReason = "Could not read the upload: " + e.getMessage();
+            } catch (RuntimeException e) {
+                log.error("importUsers stopped after {} rows, imported={}", total, imported, e);
+                abortReason = "Import stopped by a server error";
+            } finally {
+                if (imported > 0) {
+                    pageCounter.evict("user");
+                }
+            }
+            if (abortReason != null) {
+                chunk.forEach(row -> fail(row, "Not saved, the import stopped"));
+                chunk.clear();
+            }
+            return new UserImportResponse(total, imported, failed, errors, failed > errors.size(),
+                    abortReason != null, abortReason);
+        }
+
+        private String check(UserCreateRequest request) {
+            Set<ConstraintViolation<UserCreateRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                return violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+            }
+            for (Long roleId : request.getRoleIds()) {
+                if (!isRole(roleId)) {
+                    return "Role not found in database: " + roleId;
+                }
+            }
+            if (!usernames.add(request.getUsername())) {
+                return "Duplicate username in upload";
+            }
+            return null;
+        }
+
+        private boolean isRole(Long roleId) {
+            if (roleId == null || invalidRoleIds.contains(roleId)) {
+                return false;
+            }
+            if (validRoleIds.contains(roleId)) {
+                return true;
+            }
+            try {
+                roleService.validateRoleIds(List.of(roleId));
+                validRoleIds.add(roleId);
+                return true;
+            } catch (BadRequestException e) {
+                invalidRoleIds.add(roleId);
+                return false;
+            }
+        }
+
+        private void flush() {
+            // Skip hashing for usernames that are already taken, e.g. when an import is run again
+            if (!chunk.isEmpty()) {
+                Set<String> taken = new HashSet<>(userMapper.selectExistingUsernames(
+                        chunk.stream().map(UserImportRow::username).toList()));
+                chunk.removeIf(row -> {
+                    if (!taken.contains(row.username())) {
+                        return false;
+                    }
+                    fail(row, "Username already exists");
+                    return true;
+                });
+            }
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<User> users = hash(chunk);
+            Map<String, Long> ids;
+            try {
+                ids = transactionTemplate.execute(status -> write(users));
+            } catch (DataAccessException e) {
+                log.warn("importUsers chunk of {} rows failed: {}", chunk.size(), e.getMessage());
+                chunk.forEach(row -> fail(row, "Could not be saved"));
+                chunk.clear();
+                return;
+            }
+            for (UserImportRow row : chunk) {
+                if (ids.containsKey(row.username())) {
+                    imported++;
+                } else {
+                    fail(row, "Username already exists");
+                }
+            }
+            chunk.clear();
+        }
+
+        private List<User> hash(List<UserImportRow> rows) {
+            List<Future<String>> hashes = new ArrayList<>(rows.size());
+            for (UserImportRow row : rows) {
+                String password = row.request().getPassword();
+                hashes.add(hashingPool.submit(() -> passwordEncoder.encode(password)));
+            }
+            List<User> users = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                UserCreateRequest request = rows.get(i).request();
+                User user = new User();
+                user.setUsername(request.getUsername());
+                user.setEmail(request.getEmail());
+                user.setEnabled(request.getEnabled() == null || request.getEnabled());
+                user.setOusername(ousername);
+                try {
+                    user.setPassword(hashes.get(i).get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ServiceUnavailableException(ApiMessages.SERVER_BUSY);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Password hashing failed", e.getCause());
+                }
+                users.add(user);
+            }
+            return users;
+        }
+
+        /** Inserts the chunk and links the users that were created; returns their ids by username. */
+        private Map<String, Long> write(List<User> users) {
+            Map<String, Long> ids = new HashMap<>();
+            for (User user : userMapper.insertBatchIgnoreExisting(users)) {
+                ids.put(user.getUsername(), user.getId());
+            }
+            Map<Long, List<Long>> links = new LinkedHashMap<>();
+            for (UserImportRow row : chunk) {
+                Long id = ids.get(row.username());
+                if (id != null) {
+                    links.put(id, row.request().getRoleIds());
+                }
+            }
+            if (!links.isEmpty()) {
+                userRoleMapper.insertForUsers(links);
+            }
+            return ids;
+        }
+
+        private void fail(UserImportRow row, String message) {
+            failed++;
+            if (errors.size() < properties.getMaxReportedErrors()) {
+                errors.add(new UserImportResponse.RowError(row.line(), row.username(), message));
+            }
+        }
+    }
+}
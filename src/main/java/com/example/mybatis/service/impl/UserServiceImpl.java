@@ -1,6 +1,7 @@
 package com.example.mybatis.service.impl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -10,11 +11,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.mybatis.audit.CurrentUserService;
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.UserCreateRequest;
 import com.example.mybatis.dto.request.UserUpdateRequest;
+import com.example.mybatis.dto.response.PageCursor;
 import com.example.mybatis.dto.response.PageResponse;
 import com.example.mybatis.dto.response.UserResponse;
+import com.example.mybatis.entity.Role;
 import com.example.mybatis.entity.User;
+import com.example.mybatis.entity.UserRoles;
 import com.example.mybatis.exception.BadRequestException;
 import com.example.mybatis.exception.ResourceNotFoundException;
 import com.example.mybatis.mapper.RoleMapper;
@@ -22,6 +28,8 @@ import com.example.mybatis.mapper.UserMapper;
 import com.example.mybatis.mapper.UserRoleMapper;
 import com.example.mybatis.mapper.dto.RoleDtoMapper;
 import com.example.mybatis.mapper.dto.UserDtoMapper;
+import com.example.mybatis.security.AuthzVersionCache;
+import com.example.mybatis.security.PrincipalCache;
 import com.example.mybatis.service.RoleService;
 import com.example.mybatis.service.UserService;
 
@@ -38,10 +46,15 @@ public class UserServiceImpl implements UserService {
     private final RoleDtoMapper roleDtoMapper;
     private final PasswordEncoder passwordEncoder;
     private final CurrentUserService currentUserService;
+    private final PrincipalCache principalCache;
+    private final AuthzVersionCache authzVersionCache;
+    private final PageCounter pageCounter;
 
     public UserServiceImpl(UserMapper userMapper, RoleMapper roleMapper, UserRoleMapper userRoleMapper,
                            RoleService roleService, UserDtoMapper userDtoMapper, RoleDtoMapper roleDtoMapper,
-                           PasswordEncoder passwordEncoder, CurrentUserService currentUserService) {
+                           PasswordEncoder passwordEncoder, CurrentUserService currentUserService,
+                           PrincipalCache principalCache, AuthzVersionCache authzVersionCache,
+                           PageCounter pageCounter) {
         this.userMapper = userMapper;
         this.roleMapper = roleMapper;
         this.userRoleMapper = userRoleMapper;
@@ -50,21 +63,49 @@ public class UserServiceImpl implements UserService {
         this.roleDtoMapper = roleDtoMapper;
         this.passwordEncoder = passwordEncoder;
         this.currentUserService = currentUserService;
+        this.principalCache = principalCache;
+        this.authzVersionCache = authzVersionCache;
+        this.pageCounter = pageCounter;
     }
 
     @Override
-    public PageResponse<UserResponse> findAll(int page, int size, String name, String email) {
+    public PageResponse<UserResponse> findAll(int page, int size, String name, String email, MatchMode match, CountMode countMode) {
         log.debug("findAll page={}, size={}, name={}, email={}", page, size, name, email);
         int offset = page * size;
-        List<User> users = userMapper.selectByCondition(name, email, offset, size);
-        long total = userMapper.countByCondition(name, email);
+        List<User> users = userMapper.selectByCondition(name, email, match, offset, size);
+        Long total = pageCounter.count(countMode, "user",
+                () -> userMapper.countByCondition(name, email, match), name, email, match);
+        Map<Long, List<Role>> rolesByUserId = loadRolesByUserId(users);
         List<UserResponse> content = users.stream()
-                .map(user -> toUserResponseWithRoles(user))
+                .map(user -> toUserResponse(user, rolesByUserId.getOrDefault(user.getId(), List.of())))
                 .collect(Collectors.toList());
         log.info("findAll returned {} users, total={}", content.size(), total);
         return new PageResponse<>(content, total, size, page);
     }
 
+    @Override
+    public PageResponse<UserResponse> findAllByCursor(String cursor, int size, String name, String email, MatchMode match, CountMode countMode) {
+        log.debug("findAllByCursor cursor={}, size={}, name={}, email={}", cursor, size, name, email);
+        if (size < 1) {
+            throw new BadRequestException("size must be at least 1");
+        }
+        Long afterId = PageCursor.decode(cursor);
+        // One extra row tells whether a next page exists without a second query
+        List<User> users = userMapper.selectByConditionAfter(name, email, match, afterId, size + 1);
+        boolean hasNext = users.size() > size;
+        if (hasNext) {
+            users = users.subList(0, size);
+        }
+        Long total = pageCounter.count(countMode, "user",
+                () -> userMapper.countByCondition(name, email, match), name, email, match);
+        Map<Long, List<Role>> rolesByUserId = loadRolesByUserId(users);
+        List<UserResponse> content = users.stream()
+                .map(user -> toUserResponse(user, rolesByUserId.getOrDefault(user.getId(), List.of())))
+                .collect(Collectors.toList());
+        String nextCursor = hasNext ? PageCursor.encode(users.get(size - 1).getId()) : null;
+        return PageResponse.ofCursor(content, total, size, afterId == null, nextCursor);
+    }
+
     @Override
     public UserResponse findById(Long id) {
         log.debug("findById id={}", id);
@@ -77,11 +118,23 @@ public class UserServiceImpl implements UserService {
     }
 
     private UserResponse toUserResponseWithRoles(User user) {
+        return toUserResponse(user, roleMapper.selectByUserId(user.getId()));
+    }
+
+    private UserResponse toUserResponse(User user, List<Role> roles) {
         UserResponse response = userDtoMapper.toDTO(user);
-        response.setRoles(roleDtoMapper.toDTOList(roleMapper.selectByUserId(user.getId())));
+        response.setRoles(roleDtoMapper.toDTOList(roles));
         return response;
     }
 
+    /** Loads roles for a whole page of users in one query instead of one query per user. */
+    private Map<Long, List<Role>> loadRolesByUserId(List<User> users) {
+        if (users.isEmpty()) return Map.of();
+        List<Long> userIds = users.stream().map(User::getId).toList();
+        return roleMapper.selectByUserIds(userIds).stream()
+                .collect(Collectors.toMap(UserRoles::getUserId, UserRoles::getRoles));
+    }
+
     @Override
     @Transactional
     public void create(UserCreateRequest request) {
@@ -94,7 +147,10 @@ public class UserServiceImpl implements UserService {
             log.error("create user failed insert username={}", request.getUsername());
             throw new BadRequestException("User creation failed");
         }
-        request.getRoleIds().forEach(roleId -> userRoleMapper.insert(user.getId(), roleId));
+        if (!request.getRoleIds().isEmpty()) {
+            userRoleMapper.insertBatch(user.getId(), request.getRoleIds());
+        }
+        pageCounter.evict("user");
         log.info("create user success id={} username={}", user.getId(), request.getUsername());
     }
 
@@ -115,9 +171,10 @@ public class UserServiceImpl implements UserService {
         userMapper.update(existing);
         if (request.getRoleIds() != null) {
             roleService.validateRoleIds(request.getRoleIds());
-            userRoleMapper.deleteByUserId(id);
-            request.getRoleIds().forEach(roleId -> userRoleMapper.insert(id, roleId));
+            userRoleMapper.replaceRoles(id, request.getRoleIds());
         }
+        principalCache.evictUser(id);
+        authzVersionCache.bumpUser(id);
         log.info("update user success id={}", id);
     }
 
@@ -129,6 +186,9 @@ public class UserServiceImpl implements UserService {
             log.warn("deleteById user not found id={}", id);
             throw new ResourceNotFoundException("User", id);
         }
+        principalCache.evictUser(id);
+        authzVersionCache.bumpUser(id);
+        pageCounter.evict("user");
         log.info("deleteById user success id={}", id);
     }
 }
@@ -0,0 +1,108 @@
+package com.example.mybatis.audit;
+
+import com.example.mybatis.mapper.AuditLogPartitionMapper;
+import com.example.mybatis.properties.AuditLogProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditLogPartitionManagerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    private AuditLogPartitionMapper partitionMapper;
+    private AuditLogProperties properties;
+    private AuditLogPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        partitionMapper = mock(AuditLogPartitionMapper.class);
+        properties = new AuditLogProperties();
+        properties.setRetention(Period.ofMonths(3));
+        manager = new AuditLogPartitionManager(partitionMapper, properties);
+    }
+
+    @Test
+    @DisplayName("creates the current and premade months that are missing")
+    void createsMissingMonths() {
+        when(partitionMapper.selectPartitionNames()).thenReturn(List.of("audit_log_default", "audit_log_p202503"));
+
+        manager.maintain(TODAY);
+
+        verify(partitionMapper, never()).createPartition("audit_log_p202503", "2025-03-01", "2025-04-01");
+        verify(partitionMapper).createPartition("audit_log_p202504", "2025-04-01", "2025-05-01");
+        verify(partitionMapper).createPartition("audit_log_p202505", "2025-05-01", "2025-06-01");
+    }
+
+    @Test
+    @DisplayName("detaches months entirely before the retention cutoff")
+    void detachesExpired() {
+        when(partitionMapper.selectPartitionNames()).thenReturn(List.of(
+                "audit_log_default", "audit_log_p202411", "audit_log_p202412", "audit_log_p202503"));
+
+        manager.maintain(TODAY);
+
+        // cutoff is 2024-12-10: November ends before it, December does not
+        verify(partitionMapper).detachPartition("audit_log_p202411");
+        verify(partitionMapper, never()).detachPartition("audit_log_p202412");
+        verify(partitionMapper, never()).detachPartition("audit_log_default");
+        verify(partitionMapper, never()).dropPartition(anyString());
+    }
+
+    @Test
+    @DisplayName("drops expired months when configured to")
+    void dropsExpired() {
+        properties.getPartitions().setExpiredAction(AuditLogProperties.ExpiredPartitionAction.DROP);
+        when(partitionMapper.selectPartitionNames()).thenReturn(List.of("audit_log_p202411"));
+
+        manager.maintain(TODAY);
+
+        verify(partitionMapper).dropPartition("audit_log_p202411");
+        verify(partitionMapper, never()).detachPartition(anyString());
+    }
+
+    @Test
+    @DisplayName("zero retention keeps every partition")
+    void zeroRetention() {
+        properties.setRetention(Period.ZERO);
+        when(partitionMapper.selectPartitionNames()).thenReturn(List.of("audit_log_p201001"));
+
+        manager.maintain(TODAY);
+
+        verify(partitionMapper, never()).detachPartition(anyString());
+        verify(partitionMapper, never()).dropPartition(anyString());
+    }
+
+    @Test
+    @DisplayName("a failing create does not stop the remaining months")
+    void createFailureContinues() {
+        when(partitionMapper.selectPartitionNames()).thenReturn(List.of());
+        doThrow(new RuntimeException("overlaps default partition"))
+                .when(partitionMapper).createPartition("audit_log_p202503", "2025-03-01", "2025-04-01");
+
+        manager.maintain(TODAY);
+
+        verify(partitionMapper).createPartition("audit_log_p202505", "2025-05-01", "2025-06-01");
+    }
+
+    @Test
+    @DisplayName("does nothing when disabled")
+    void disabled() {
+        properties.getPartitions().setEnabled(false);
+
+        manager.maintainPartitions();
+
+        verify(partitionMapper, never()).selectPartitionNames();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.mybatis.audit;
+
+import com.example.mybatis.entity.AuditLog;
+import com.example.mybatis.mapper.AuditLogMapper;
+import com.example.mybatis.properties.AuditLogProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class AuditLogWriterTest {
+
+    private AuditLogMapper auditLogMapper;
+    private AuditLogProperties properties;
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        auditLogMapper = mock(AuditLogMapper.class);
+        properties = new AuditLogProperties();
+        properties.getWriter().setFlushInterval(Duration.ofSeconds(10));
+        properties.getWriter().setBatchSize(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("synchronous mode inserts in the calling thread")
+    void sync_insertsImmediately() {
+        properties.getWriter().setAsync(false);
+        writer = new AuditLogWriter(auditLogMapper, properties);
+        writer.start();
+        AuditLog log = auditLog("/users");
+
+        assertThat(writer.submit(log)).isTrue();
+
+        verify(auditLogMapper).insert(log);
+        assertThat(log.getCreatedAt()).isNotNull();
+        assertThat(writer.isRunning()).isFalse();
+    }
+
+    @Test
+    @DisplayName("async mode writes a full batch with one multi-row insert")
+    void async_writesFullBatch() {
+        writer = new AuditLogWriter(auditLogMapper, properties);
+        writer.start();
+
+        writer.submit(auditLog("/a"));
+        writer.submit(auditLog("/b"));
+        writer.submit(auditLog("/c"));
+
+        verify(auditLogMapper, timeout(2000)).insertBatch(argThat(logs -> logs.size() == 3));
+        verify(auditLogMapper, never()).insert(any());
+    }
+
+    @Test
+    @DisplayName("stop flushes records that are still queued")
+    void stop_flushesQueue() {
+        writer = new AuditLogWriter(auditLogMapper, properties);
+        writer.start();
+        writer.submit(auditLog("/a"));
+        writer.submit(auditLog("/b"));
+
+        writer.stop();
+
+        assertThat(writer.getWrittenCount()).isEqualTo(2);
+        assertThat(writer.getQueueDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("drops records when the queue is full and counts them")
+    void queueFull_drops() throws InterruptedException {
+        properties.getWriter().setQueueCapacity(1);
+        properties.getWriter().setBatchSize(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 1;
+        }).when(auditLogMapper).insert(any());
+        writer = new AuditLogWriter(auditLogMapper, properties);
+        writer.start();
+
+        writer.submit(auditLog("/a"));
+        assertThat(writing.await(2, TimeUnit.SECONDS)).isTrue();
+        boolean second = writer.submit(auditLog("/b"));
+        boolean third = writer.submit(auditLog("/c"));
+        release.countDown();
+
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(writer.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a failed batch is counted and does not stop the writer")
+    void failedBatch_counted() {
+        doThrow(new RuntimeException("db down")).when(auditLogMapper).insertBatch(anyList());
+        doThrow(new RuntimeException("db down")).when(auditLogMapper).insert(any());
+        writer = new AuditLogWriter(auditLogMapper, properties);
+        writer.start();
+
+        writer.submit(auditLog("/a"));
+        writer.submit(auditLog("/b"));
+        writer.submit(auditLog("/c"));
+        writer.stop();
+
+        assertThat(writer.getFailedCount()).isEqualTo(3);
+        assertThat(writer.getWrittenCount()).isZero();
+    }
+
+    private static AuditLog auditLog(String url) {
+        AuditLog log = new AuditLog();
+        log.setMethod("GET");
+        log.setHttpUrl(url);
+        return log;
+    }
+}
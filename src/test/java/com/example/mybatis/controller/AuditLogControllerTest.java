@@ -0,0 +1,57 @@
+package com.example.mybatis.controller;
+
+import com.example.mybatis.dto.request.ExportFormat;
+import com.example.mybatis.exception.BadRequestException;
+import com.example.mybatis.service.ExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogControllerTest {
+
+    @Mock
+    private ExportService exportService;
+
+    private AuditLogController auditLogController;
+
+    @BeforeEach
+    void setUp() {
+        auditLogController = new AuditLogController(exportService);
+    }
+
+    @Test
+    @DisplayName("export passes the filters and time range and names the download")
+    void export() throws Exception {
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        Instant to = Instant.parse("2026-02-01T00:00:00Z");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        auditLogController.export("csv", "admin", "POST", from, to, response);
+
+        assertThat(response.getContentType()).startsWith("text/csv");
+        assertThat(response.getHeader("Content-Disposition")).isEqualTo("attachment; filename=\"audit-logs.csv\"");
+        verify(exportService).exportAuditLogs(eq("admin"), eq("POST"), eq(from), eq(to), eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    @DisplayName("export rejects an unknown format without querying")
+    void unknownFormat() {
+        assertThatThrownBy(() -> auditLogController.export("xlsx", null, null, null, null, new MockHttpServletResponse()))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(exportService);
+    }
+}
@@ -5,12 +5,15 @@ import com.example.mybatis.dto.response.RoleResponse;
 import com.example.mybatis.entity.Permission;
 import com.example.mybatis.entity.Role;
 import com.example.mybatis.entity.User;
-import com.example.mybatis.mapper.PermissionMapper;
-import com.example.mybatis.mapper.RoleMapper;
 import com.example.mybatis.mapper.dto.PermissionDtoMapper;
 import com.example.mybatis.mapper.dto.RoleDtoMapper;
-import com.example.mybatis.security.JwtUtil;
+import com.example.mybatis.dto.request.RefreshTokenRequest;
+import com.example.mybatis.dto.response.TokenResponse;
+import com.example.mybatis.exception.UnauthorizedException;
 import com.example.mybatis.security.SecurityUser;
+import com.example.mybatis.security.TokenPair;
+import com.example.mybatis.security.TokenService;
+import com.example.mybatis.security.VerifiedToken;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -24,6 +27,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 
+import java.time.Instant;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -39,13 +43,7 @@ class AuthControllerTest {
     private AuthenticationManager authenticationManager;
 
     @Mock
-    private JwtUtil jwtUtil;
-
-    @Mock
-    private RoleMapper roleMapper;
-
-    @Mock
-    private PermissionMapper permissionMapper;
+    private TokenService tokenService;
 
     @Mock
     private RoleDtoMapper roleDtoMapper;
@@ -58,8 +56,7 @@ class AuthControllerTest {
     @BeforeEach
     void setUp() {
         authController = new AuthController(
-                authenticationManager, jwtUtil,
-                roleMapper, permissionMapper,
+                authenticationManager, tokenService,
                 roleDtoMapper, permissionDtoMapper);
     }
 
@@ -67,15 +64,15 @@ class AuthControllerTest {
     @DisplayName("login")
     class Login {
         @Test
-        @DisplayName("returns 200 with token, roles and permissions when credentials valid")
+        @DisplayName("returns 200 with token and the roles and permissions loaded with the principal")
         void success() {
             User user = new User(1L, "testuser", "encoded", "test@example.com", true, null, null, null, null);
-            SecurityUser securityUser = new SecurityUser(user, List.of("USER"));
+            SecurityUser securityUser = new SecurityUser(user,
+                    List.of(new Role(1L, "USER", "User", null, null)),
+                    List.of(new Permission(1L, "READ", "Read", null, null)));
             when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                     .thenReturn(new UsernamePasswordAuthenticationToken(securityUser, null, securityUser.getAuthorities()));
-            when(jwtUtil.generateToken("testuser")).thenReturn("jwt-token-123");
-            when(roleMapper.selectByUserId(1L)).thenReturn(List.of(new Role(1L, "USER", "User", null, null)));
-            when(permissionMapper.selectByUserId(1L)).thenReturn(List.of(new Permission(1L, "READ", "Read", null, null)));
+            when(tokenService.issue(securityUser)).thenReturn(new TokenPair("jwt-token-123", "refresh-1", 900));
             when(roleDtoMapper.toDTOList(any())).thenReturn(List.of(new RoleResponse(1L, "USER", "User", null)));
             when(permissionDtoMapper.toDTO(any(Permission.class))).thenReturn(new PermissionResponse(1L, "READ", "Read", null));
 
@@ -88,15 +85,17 @@ class AuthControllerTest {
             assertThat(body.getData()).isNotNull();
             com.example.mybatis.dto.response.LoginResponse data = (com.example.mybatis.dto.response.LoginResponse) body.getData();
             assertThat(data.getToken()).isEqualTo("jwt-token-123");
+            assertThat(data.getRefreshToken()).isEqualTo("refresh-1");
+            assertThat(data.getExpiresIn()).isEqualTo(900);
             assertThat(data.getUsername()).isEqualTo("testuser");
             assertThat(data.getRoles()).hasSize(1);
             assertThat(data.getPermissions()).hasSize(1);
             verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-            verify(jwtUtil).generateToken("testuser");
-            verify(roleMapper).selectByUserId(1L);
-            verify(permissionMapper).selectByUserId(1L);
+            verify(tokenService).issue(securityUser);
+            verify(roleDtoMapper).toDTOList(securityUser.getRoles());
         }
 
+
         @Test
         @DisplayName("throws BadCredentialsException when credentials invalid")
         void invalidCredentials() {
@@ -109,4 +108,50 @@ class AuthControllerTest {
             verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
         }
     }
+
+    @Nested
+    @DisplayName("refresh")
+    class Refresh {
+        @Test
+        @DisplayName("returns 200 with the rotated token pair")
+        void success() {
+            when(tokenService.refresh("refresh-1")).thenReturn(new TokenPair("jwt-2", "refresh-2", 900));
+
+            ResponseEntity<?> result = authController.refresh(new RefreshTokenRequest("refresh-1"));
+
+            assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+            com.example.mybatis.dto.response.ApiResponse<?> body = (com.example.mybatis.dto.response.ApiResponse<?>) result.getBody();
+            TokenResponse data = (TokenResponse) body.getData();
+            assertThat(data.getToken()).isEqualTo("jwt-2");
+            assertThat(data.getType()).isEqualTo("Bearer");
+            assertThat(data.getRefreshToken()).isEqualTo("refresh-2");
+            assertThat(data.getExpiresIn()).isEqualTo(900);
+        }
+
+        @Test
+        @DisplayName("propagates UnauthorizedException for an invalid refresh token")
+        void invalid() {
+            when(tokenService.refresh("bad")).thenThrow(new UnauthorizedException("Invalid or expired refresh token"));
+
+            assertThatThrownBy(() -> authController.refresh(new RefreshTokenRequest("bad")))
+                    .isInstanceOf(UnauthorizedException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("logout")
+    class Logout {
+        @Test
+        @DisplayName("revokes the refresh token and the current access token")
+        void success() {
+            SecurityUser user = new SecurityUser(
+                    new User(1L, "testuser", null, null, true, null, null, null, null), List.of("USER"));
+            VerifiedToken accessToken = new VerifiedToken("testuser", Instant.now().plusSeconds(60), 1L, List.of("USER"), 0L, "jti-1");
+
+            ResponseEntity<?> result = authController.logout(user, new RefreshTokenRequest("refresh-1"), accessToken);
+
+            assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+            verify(tokenService).logout(user, "refresh-1", accessToken);
+        }
+    }
 }
@@ -0,0 +1,48 @@
+package com.example.mybatis.controller;
+
+import com.example.mybatis.properties.JwtProperties;
+import com.example.mybatis.properties.JwtProperties.Algorithm;
+import com.example.mybatis.security.JwtKeyRing;
+import com.example.mybatis.security.JwtUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwksControllerTest {
+
+    @Test
+    @DisplayName("jwks returns the key set with public caching and an ETag")
+    void jwks() {
+        JwtKeyRing keyRing = JwtKeyRing.generate(Algorithm.RS256);
+        JwtProperties properties = new JwtProperties();
+        properties.setJwksMaxAge(Duration.ofMinutes(10));
+        JwksController controller = new JwksController(new JwtUtil(keyRing, 900_000L), properties);
+
+        ResponseEntity<Map<String, Object>> response = controller.jwks();
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=600, public");
+        assertThat(response.getHeaders().getETag()).isEqualTo(keyRing.getJwksETag());
+        assertThat((List<?>) response.getBody().get("keys")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("jwks ETag changes when the keys change")
+    void eTagFollowsKeys() {
+        JwksController before = new JwksController(
+                new JwtUtil(JwtKeyRing.generate(Algorithm.EDDSA), 900_000L), new JwtProperties());
+        JwtKeyRing next = JwtKeyRing.generate(Algorithm.EDDSA);
+        JwksController after = new JwksController(new JwtUtil(next, 900_000L), new JwtProperties());
+
+        assertThat(after.jwks().getHeaders().getETag())
+                .isNotEqualTo(before.jwks().getHeaders().getETag())
+                .isEqualTo(next.getJwksETag());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.mybatis.controller;
+
+import com.example.mybatis.dto.response.ApiResponse;
+import com.example.mybatis.dto.response.MenuResponse;
+import com.example.mybatis.entity.User;
+import com.example.mybatis.security.SecurityUser;
+import com.example.mybatis.service.RoleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MeControllerTest {
+
+    @Mock
+    private RoleService roleService;
+
+    private MeController meController;
+
+    @BeforeEach
+    void setUp() {
+        meController = new MeController(roleService);
+    }
+
+    @Test
+    @DisplayName("getMyMenus returns the merged tree for the principal's role codes")
+    void getMyMenus() {
+        User user = new User(1L, "john", "enc", "j@e.com", true, null, null, null, null);
+        SecurityUser principal = new SecurityUser(user, List.of("ADMIN", "USER"));
+        MenuResponse menu = new MenuResponse(1L, "Admin", "/admin", null, false, false, "Admin", null, false, null, "", null, 0, null, "#000", null, null, List.of());
+        when(roleService.getMenusByRoleCodes(List.of("ADMIN", "USER"))).thenReturn(List.of(menu));
+
+        ResponseEntity<ApiResponse<List<MenuResponse>>> result = meController.getMyMenus(principal);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).isNotNull();
+        assertThat(result.getBody().getData()).extracting(MenuResponse::getName).containsExactly("Admin");
+    }
+}
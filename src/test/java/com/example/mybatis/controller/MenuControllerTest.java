@@ -18,6 +18,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.example.mybatis.dto.request.CountMode;
 import com.example.mybatis.dto.request.MenuCreateRequest;
 import com.example.mybatis.dto.request.MenuUpdateRequest;
 import com.example.mybatis.dto.response.ApiResponse;
@@ -47,15 +48,29 @@ class MenuControllerTest {
         void success() {
             MenuResponse menu = new MenuResponse(1L, "Dashboard", "/dashboard", null, false, false, "Dashboard", null, false, null, "", null, 1, null, "#000", null, null, null);
             PageResponse<MenuResponse> pr = new PageResponse<>(List.of(menu), 1, 10, 0);
-            when(menuService.findAll(0, 10, null, null, null)).thenReturn(pr);
+            when(menuService.findAll(0, 10, null, null, null, CountMode.EXACT)).thenReturn(pr);
 
-            ResponseEntity<ApiResponse<List<MenuResponse>>> result = menuController.list(0, 10, null, null, null);
+            ResponseEntity<ApiResponse<List<MenuResponse>>> result = menuController.list(0, 10, null, null, null, null, null);
 
             assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(result.getBody()).isNotNull();
             assertThat(result.getBody().getData()).hasSize(1);
             assertThat(result.getBody().getData().get(0).getName()).isEqualTo("Dashboard");
-            verify(menuService).findAll(0, 10, null, null, null);
+            verify(menuService).findAll(0, 10, null, null, null, CountMode.EXACT);
+        }
+
+        @Test
+        @DisplayName("cursor mode delegates to findAllByCursor")
+        void cursorMode() {
+            MenuResponse menu = new MenuResponse(1L, "Dashboard", "/dashboard", null, false, false, "Dashboard", null, false, null, "", null, 1, null, "#000", null, null, null);
+            PageResponse<MenuResponse> pr = PageResponse.ofCursor(List.of(menu), 2L, 1, false, "c2");
+            when(menuService.findAllByCursor("c1", 1, null, null, null, CountMode.NONE)).thenReturn(pr);
+
+            ResponseEntity<ApiResponse<List<MenuResponse>>> result = menuController.list(0, 1, "c1", null, null, null, null);
+
+            assertThat(result.getBody().getData()).hasSize(1);
+            assertThat(result.getBody().getPagination().getNextCursor()).isEqualTo("c2");
+            assertThat(result.getBody().getPagination().isFirst()).isFalse();
         }
     }
 
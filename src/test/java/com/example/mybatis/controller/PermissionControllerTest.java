@@ -15,13 +15,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
 
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.ExportFormat;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.PermissionCreateRequest;
 import com.example.mybatis.dto.request.PermissionUpdateRequest;
 import com.example.mybatis.dto.response.ApiResponse;
 import com.example.mybatis.dto.response.PageResponse;
 import com.example.mybatis.dto.response.PermissionResponse;
 import com.example.mybatis.exception.ResourceNotFoundException;
+import com.example.mybatis.service.ExportService;
 import com.example.mybatis.service.PermissionService;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,11 +35,14 @@ class PermissionControllerTest {
     @Mock
     private PermissionService permissionService;
 
+    @Mock
+    private ExportService exportService;
+
     private PermissionController permissionController;
 
     @BeforeEach
     void setUp() {
-        permissionController = new PermissionController(permissionService);
+        permissionController = new PermissionController(permissionService, exportService);
     }
 
     @Nested
@@ -45,15 +53,15 @@ class PermissionControllerTest {
         void success() {
             List<PermissionResponse> content = List.of(new PermissionResponse(1L, "READ", "Read", null));
             PageResponse<PermissionResponse> pr = new PageResponse<>(content, 1, 10, 0);
-            when(permissionService.findAll(0, 10, null, null)).thenReturn(pr);
+            when(permissionService.findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT)).thenReturn(pr);
 
-            ResponseEntity<ApiResponse<List<PermissionResponse>>> result = permissionController.list(0, 10, null, null);
+            ResponseEntity<ApiResponse<List<PermissionResponse>>> result = permissionController.list(0, 10, null, null, null, null, null);
 
             assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(result.getBody()).isNotNull();
             assertThat(result.getBody().getData()).hasSize(1);
             assertThat(result.getBody().getData().get(0).getCode()).isEqualTo("READ");
-            verify(permissionService).findAll(0, 10, null, null);
+            verify(permissionService).findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT);
         }
 
         @Test
@@ -61,9 +69,9 @@ class PermissionControllerTest {
         void firstTrueWhenPageZero() {
             List<PermissionResponse> content = List.of(new PermissionResponse(1L, "A", "Perm A", null));
             PageResponse<PermissionResponse> pr = new PageResponse<>(content, 25, 10, 0);
-            when(permissionService.findAll(0, 10, null, null)).thenReturn(pr);
+            when(permissionService.findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT)).thenReturn(pr);
 
-            ResponseEntity<ApiResponse<List<PermissionResponse>>> result = permissionController.list(0, 10, null, null);
+            ResponseEntity<ApiResponse<List<PermissionResponse>>> result = permissionController.list(0, 10, null, null, null, null, null);
 
             assertThat(result.getBody().getPagination().isFirst()).isTrue();
             assertThat(result.getBody().getPagination().isLast()).isFalse();
@@ -76,9 +84,9 @@ class PermissionControllerTest {
         void lastTrueWhenOnLastPage() {
             List<PermissionResponse> content = List.of(new PermissionResponse(3L, "C", "Perm C", null));
             PageResponse<PermissionResponse> pr = new PageResponse<>(content, 25, 10, 2);
-            when(permissionService.findAll(2, 10, null, null)).thenReturn(pr);
+            when(permissionService.findAll(2, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT)).thenReturn(pr);
 
-            ResponseEntity<ApiResponse<List<PermissionResponse>>> result = permissionController.list(2, 10, null, null);
+            ResponseEntity<ApiResponse<List<PermissionResponse>>> result = permissionController.list(2, 10, null, null, null, null, null);
 
             assertThat(result.getBody().getPagination().isFirst()).isFalse();
             assertThat(result.getBody().getPagination().isLast()).isTrue();
@@ -90,13 +98,43 @@ class PermissionControllerTest {
         void firstAndLastTrueWhenSinglePage() {
             List<PermissionResponse> content = List.of(new PermissionResponse(1L, "A", "Perm A", null));
             PageResponse<PermissionResponse> pr = new PageResponse<>(content, 1, 10, 0);
-            when(permissionService.findAll(0, 10, null, null)).thenReturn(pr);
+            when(permissionService.findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT)).thenReturn(pr);
 
-            ResponseEntity<ApiResponse<List<PermissionResponse>>> result = permissionController.list(0, 10, null, null);
+            ResponseEntity<ApiResponse<List<PermissionResponse>>> result = permissionController.list(0, 10, null, null, null, null, null);
 
             assertThat(result.getBody().getPagination().isFirst()).isTrue();
             assertThat(result.getBody().getPagination().isLast()).isTrue();
         }
+
+        @Test
+        @DisplayName("cursor mode delegates to findAllByCursor and exposes nextCursor")
+        void cursorMode() {
+            List<PermissionResponse> content = List.of(new PermissionResponse(1L, "A", "Perm A", null));
+            PageResponse<PermissionResponse> pr = PageResponse.ofCursor(content, 1L, 10, true, null);
+            when(permissionService.findAllByCursor("", 10, null, null, MatchMode.CONTAINS, CountMode.NONE)).thenReturn(pr);
+
+            ResponseEntity<ApiResponse<List<PermissionResponse>>> result = permissionController.list(0, 10, "", null, null, null, null);
+
+            assertThat(result.getBody().getPagination().getNextCursor()).isNull();
+            assertThat(result.getBody().getPagination().isFirst()).isTrue();
+            assertThat(result.getBody().getPagination().isLast()).isTrue();
+            verify(permissionService, never()).findAll(anyInt(), anyInt(), any(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("export")
+    class Export {
+        @Test
+        @DisplayName("streams permissions matching the filters as CSV")
+        void success() throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            permissionController.export("csv", null, null, "read", response);
+
+            assertThat(response.getHeader("Content-Disposition")).isEqualTo("attachment; filename=\"permissions.csv\"");
+            verify(exportService).exportPermissions(eq(null), eq("read"), eq(MatchMode.CONTAINS), eq(ExportFormat.CSV), any());
+        }
     }
 
     @Nested
@@ -1,5 +1,8 @@
 package com.example.mybatis.controller;
 
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.ExportFormat;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.RoleCreateRequest;
 import com.example.mybatis.dto.request.RoleMenuAssignRequest;
 import com.example.mybatis.dto.request.RoleUpdateRequest;
@@ -8,6 +11,7 @@ import com.example.mybatis.dto.response.MenuResponse;
 import com.example.mybatis.dto.response.PageResponse;
 import com.example.mybatis.dto.response.RoleResponse;
 import com.example.mybatis.exception.ResourceNotFoundException;
+import com.example.mybatis.service.ExportService;
 import com.example.mybatis.service.RoleService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,11 +22,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -33,11 +39,14 @@ class RoleControllerTest {
     @Mock
     private RoleService roleService;
 
+    @Mock
+    private ExportService exportService;
+
     private RoleController roleController;
 
     @BeforeEach
     void setUp() {
-        roleController = new RoleController(roleService);
+        roleController = new RoleController(roleService, exportService);
     }
 
     @Nested
@@ -48,16 +57,16 @@ class RoleControllerTest {
         void success() {
             List<RoleResponse> content = List.of(new RoleResponse(1L, "ADMIN", "Admin", null));
             PageResponse<RoleResponse> pr = new PageResponse<>(content, 1, 10, 0);
-            when(roleService.findAll(0, 10, null, null)).thenReturn(pr);
+            when(roleService.findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT)).thenReturn(pr);
 
-            ResponseEntity<ApiResponse<List<RoleResponse>>> result = roleController.list(0, 10, null, null);
+            ResponseEntity<ApiResponse<List<RoleResponse>>> result = roleController.list(0, 10, null, null, null, null, null);
 
             assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(result.getBody()).isNotNull();
             assertThat(result.getBody().getCode()).isEqualTo(200);
             assertThat(result.getBody().getData()).hasSize(1);
             assertThat(result.getBody().getData().get(0).getCode()).isEqualTo("ADMIN");
-            verify(roleService).findAll(0, 10, null, null);
+            verify(roleService).findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT);
         }
 
         @Test
@@ -65,9 +74,9 @@ class RoleControllerTest {
         void firstTrueWhenPageZero() {
             List<RoleResponse> content = List.of(new RoleResponse(1L, "A", "Role A", null));
             PageResponse<RoleResponse> pr = new PageResponse<>(content, 25, 10, 0);
-            when(roleService.findAll(0, 10, null, null)).thenReturn(pr);
+            when(roleService.findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT)).thenReturn(pr);
 
-            ResponseEntity<ApiResponse<List<RoleResponse>>> result = roleController.list(0, 10, null, null);
+            ResponseEntity<ApiResponse<List<RoleResponse>>> result = roleController.list(0, 10, null, null, null, null, null);
 
             assertThat(result.getBody().getPagination().isFirst()).isTrue();
             assertThat(result.getBody().getPagination().isLast()).isFalse();
@@ -80,9 +89,9 @@ class RoleControllerTest {
         void lastTrueWhenOnLastPage() {
             List<RoleResponse> content = List.of(new RoleResponse(3L, "C", "Role C", null));
             PageResponse<RoleResponse> pr = new PageResponse<>(content, 25, 10, 2);
-            when(roleService.findAll(2, 10, null, null)).thenReturn(pr);
+            when(roleService.findAll(2, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT)).thenReturn(pr);
 
-            ResponseEntity<ApiResponse<List<RoleResponse>>> result = roleController.list(2, 10, null, null);
+            ResponseEntity<ApiResponse<List<RoleResponse>>> result = roleController.list(2, 10, null, null, null, null, null);
 
             assertThat(result.getBody().getPagination().isFirst()).isFalse();
             assertThat(result.getBody().getPagination().isLast()).isTrue();
@@ -94,13 +103,43 @@ class RoleControllerTest {
         void firstAndLastTrueWhenSinglePage() {
             List<RoleResponse> content = List.of(new RoleResponse(1L, "A", "Role A", null));
             PageResponse<RoleResponse> pr = new PageResponse<>(content, 1, 10, 0);
-            when(roleService.findAll(0, 10, null, null)).thenReturn(pr);
+            when(roleService.findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT)).thenReturn(pr);
 
-            ResponseEntity<ApiResponse<List<RoleResponse>>> result = roleController.list(0, 10, null, null);
+            ResponseEntity<ApiResponse<List<RoleResponse>>> result = roleController.list(0, 10, null, null, null, null, null);
 
             assertThat(result.getBody().getPagination().isFirst()).isTrue();
             assertThat(result.getBody().getPagination().isLast()).isTrue();
         }
+
+        @Test
+        @DisplayName("cursor mode delegates to findAllByCursor and exposes nextCursor")
+        void cursorMode() {
+            List<RoleResponse> content = List.of(new RoleResponse(1L, "A", "Role A", null));
+            PageResponse<RoleResponse> pr = PageResponse.ofCursor(content, 3L, 1, true, "c1");
+            when(roleService.findAllByCursor("", 1, null, null, MatchMode.CONTAINS, CountMode.NONE)).thenReturn(pr);
+
+            ResponseEntity<ApiResponse<List<RoleResponse>>> result = roleController.list(0, 1, "", null, null, null, null);
+
+            assertThat(result.getBody().getPagination().getNextCursor()).isEqualTo("c1");
+            assertThat(result.getBody().getPagination().getPageNumber()).isNull();
+            assertThat(result.getBody().getPagination().isLast()).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("export")
+    class ExportTests {
+        @Test
+        @DisplayName("streams roles matching the filters in the requested format")
+        void success() throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            roleController.export("ndjson", null, "AD", null, response);
+
+            assertThat(response.getContentType()).isEqualTo("application/x-ndjson");
+            assertThat(response.getHeader("Content-Disposition")).isEqualTo("attachment; filename=\"roles.ndjson\"");
+            verify(exportService).exportRoles(eq("AD"), eq(null), eq(MatchMode.CONTAINS), eq(ExportFormat.NDJSON), any());
+        }
     }
 
     @Nested
@@ -1,11 +1,19 @@
 package com.example.mybatis.controller;
 
+import com.example.mybatis.constants.ApiMessages;
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.ExportFormat;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.UserCreateRequest;
 import com.example.mybatis.dto.request.UserUpdateRequest;
 import com.example.mybatis.dto.response.ApiResponse;
 import com.example.mybatis.dto.response.PageResponse;
+import com.example.mybatis.dto.response.UserImportResponse;
 import com.example.mybatis.dto.response.UserResponse;
+import com.example.mybatis.exception.BadRequestException;
 import com.example.mybatis.exception.ResourceNotFoundException;
+import com.example.mybatis.service.ExportService;
+import com.example.mybatis.service.UserImportService;
 import com.example.mybatis.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,12 +24,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
 
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,11 +46,17 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserImportService userImportService;
+
+    @Mock
+    private ExportService exportService;
+
     private UserController userController;
 
     @BeforeEach
     void setUp() {
-        userController = new UserController(userService);
+        userController = new UserController(userService, userImportService, exportService);
     }
 
     @Nested
@@ -46,15 +67,15 @@ class UserControllerTest {
         void success() {
             UserResponse user = new UserResponse(1L, "jane", "jane@example.com", true, null, null, List.of());
             PageResponse<UserResponse> pr = new PageResponse<>(List.of(user), 1, 10, 0);
-            when(userService.findAll(0, 10, null, null)).thenReturn(pr);
+            when(userService.findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT)).thenReturn(pr);
 
-            ResponseEntity<ApiResponse<List<UserResponse>>> result = userController.list(0, 10, null, null);
+            ResponseEntity<ApiResponse<List<UserResponse>>> result = userController.list(0, 10, null, null, null, null, null);
 
             assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
             assertThat(result.getBody()).isNotNull();
             assertThat(result.getBody().getData()).hasSize(1);
             assertThat(result.getBody().getData().get(0).getUsername()).isEqualTo("jane");
-            verify(userService).findAll(0, 10, null, null);
+            verify(userService).findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT);
         }
 
         @Test
@@ -62,9 +83,9 @@ class UserControllerTest {
         void firstTrueWhenPageZero() {
             UserResponse user = new UserResponse(1L, "a", "a@example.com", true, null, null, List.of());
             PageResponse<UserResponse> pr = new PageResponse<>(List.of(user), 25, 10, 0);
-            when(userService.findAll(0, 10, null, null)).thenReturn(pr);
+            when(userService.findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT)).thenReturn(pr);
 
-            ResponseEntity<ApiResponse<List<UserResponse>>> result = userController.list(0, 10, null, null);
+            ResponseEntity<ApiResponse<List<UserResponse>>> result = userController.list(0, 10, null, null, null, null, null);
 
             assertThat(result.getBody().getPagination().isFirst()).isTrue();
             assertThat(result.getBody().getPagination().isLast()).isFalse();
@@ -77,9 +98,9 @@ class UserControllerTest {
         void lastTrueWhenOnLastPage() {
             UserResponse user = new UserResponse(3L, "c", "c@example.com", true, null, null, List.of());
             PageResponse<UserResponse> pr = new PageResponse<>(List.of(user), 25, 10, 2);
-            when(userService.findAll(2, 10, null, null)).thenReturn(pr);
+            when(userService.findAll(2, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT)).thenReturn(pr);
 
-            ResponseEntity<ApiResponse<List<UserResponse>>> result = userController.list(2, 10, null, null);
+            ResponseEntity<ApiResponse<List<UserResponse>>> result = userController.list(2, 10, null, null, null, null, null);
 
             assertThat(result.getBody().getPagination().isFirst()).isFalse();
             assertThat(result.getBody().getPagination().isLast()).isTrue();
@@ -91,13 +112,107 @@ class UserControllerTest {
         void firstAndLastTrueWhenSinglePage() {
             UserResponse user = new UserResponse(1L, "a", "a@example.com", true, null, null, List.of());
             PageResponse<UserResponse> pr = new PageResponse<>(List.of(user), 1, 10, 0);
-            when(userService.findAll(0, 10, null, null)).thenReturn(pr);
+            when(userService.findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT)).thenReturn(pr);
 
-            ResponseEntity<ApiResponse<List<UserResponse>>> result = userController.list(0, 10, null, null);
+            ResponseEntity<ApiResponse<List<UserResponse>>> result = userController.list(0, 10, null, null, null, null, null);
 
             assertThat(result.getBody().getPagination().isFirst()).isTrue();
             assertThat(result.getBody().getPagination().isLast()).isTrue();
         }
+
+        @Test
+        @DisplayName("cursor param switches to keyset pagination and returns nextCursor")
+        void cursorMode() {
+            UserResponse user = new UserResponse(1L, "a", "a@example.com", true, null, null, List.of());
+            PageResponse<UserResponse> pr = PageResponse.ofCursor(List.of(user), 25L, 10, true, "next");
+            when(userService.findAllByCursor("", 10, null, null, MatchMode.CONTAINS, CountMode.NONE)).thenReturn(pr);
+
+            ResponseEntity<ApiResponse<List<UserResponse>>> result = userController.list(0, 10, "", null, null, null, null);
+
+            assertThat(result.getBody().getPagination().getNextCursor()).isEqualTo("next");
+            assertThat(result.getBody().getPagination().getPageNumber()).isNull();
+            assertThat(result.getBody().getPagination().isFirst()).isTrue();
+            assertThat(result.getBody().getPagination().isLast()).isFalse();
+            verify(userService, never()).findAll(anyInt(), anyInt(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("cursor mode last is true when there is no nextCursor")
+        void cursorModeLastPage() {
+            UserResponse user = new UserResponse(21L, "u", "u@example.com", true, null, null, List.of());
+            PageResponse<UserResponse> pr = PageResponse.ofCursor(List.of(user), 21L, 10, false, null);
+            when(userService.findAllByCursor("abc", 10, null, null, MatchMode.CONTAINS, CountMode.NONE)).thenReturn(pr);
+
+            ResponseEntity<ApiResponse<List<UserResponse>>> result = userController.list(0, 10, "abc", null, null, null, null);
+
+            assertThat(result.getBody().getPagination().getNextCursor()).isNull();
+            assertThat(result.getBody().getPagination().isFirst()).isFalse();
+            assertThat(result.getBody().getPagination().isLast()).isTrue();
+        }
+
+        @Test
+        @DisplayName("count=none leaves totals out of the pagination")
+        void countNone() {
+            UserResponse user = new UserResponse(1L, "a", "a@example.com", true, null, null, List.of());
+            PageResponse<UserResponse> pr = new PageResponse<>(List.of(user), null, 10, 0);
+            when(userService.findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.NONE)).thenReturn(pr);
+
+            ResponseEntity<ApiResponse<List<UserResponse>>> result = userController.list(0, 10, null, "none", null, null, null);
+
+            assertThat(result.getBody().getPagination().getTotalElements()).isNull();
+            assertThat(result.getBody().getPagination().getTotalPages()).isNull();
+            assertThat(result.getBody().getPagination().isLast()).isTrue();
+        }
+
+        @Test
+        @DisplayName("unknown count mode is rejected")
+        void invalidCountMode() {
+            assertThatThrownBy(() -> userController.list(0, 10, null, "sometimes", null, null, null))
+                    .isInstanceOf(BadRequestException.class);
+        }
+
+        @Test
+        @DisplayName("match=prefix is passed to the service, unknown match modes are rejected")
+        void matchMode() {
+            PageResponse<UserResponse> pr = new PageResponse<>(List.of(), 0, 10, 0);
+            when(userService.findAll(0, 10, "ja", null, MatchMode.PREFIX, CountMode.EXACT)).thenReturn(pr);
+
+            ResponseEntity<ApiResponse<List<UserResponse>>> result = userController.list(0, 10, null, null, "PREFIX", "ja", null);
+
+            assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThatThrownBy(() -> userController.list(0, 10, null, null, "fuzzy", "ja", null))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessageContaining("fuzzy");
+        }
+    }
+
+    @Nested
+    @DisplayName("export")
+    class Export {
+        @Test
+        @DisplayName("streams CSV with the list filters as an attachment")
+        void csv() throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            userController.export("CSV", null, "jane", "example.com", response);
+
+            assertThat(response.getContentType()).startsWith("text/csv");
+            assertThat(response.getHeader("Content-Disposition")).isEqualTo("attachment; filename=\"users.csv\"");
+            verify(exportService).exportUsers(eq("jane"), eq("example.com"), eq(MatchMode.CONTAINS), eq(ExportFormat.CSV), any());
+        }
+
+        @Test
+        @DisplayName("defaults to NDJSON and rejects unknown formats before writing")
+        void format() throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            userController.export(null, null, null, null, response);
+            assertThat(response.getContentType()).isEqualTo("application/x-ndjson");
+            verify(exportService).exportUsers(eq(null), eq(null), eq(MatchMode.CONTAINS), eq(ExportFormat.NDJSON), any());
+
+            assertThatThrownBy(() -> userController.export("xml", null, null, null, new MockHttpServletResponse()))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessage("Invalid export format: xml");
+        }
     }
 
     @Nested
@@ -143,6 +258,60 @@ class UserControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("importUsers")
+    class ImportUsers {
+        @Test
+        @DisplayName("reads a CSV upload in its declared charset and returns the summary")
+        void csv() {
+            UserImportResponse summary = new UserImportResponse(1, 1, 0, List.of(), false);
+            when(userImportService.importUsers(any(), eq(UserImportService.Format.CSV))).thenAnswer(inv -> {
+                Reader reader = inv.getArgument(0);
+                char[] buf = new char[16];
+                assertThat(new String(buf, 0, reader.read(buf))).isEqualTo("username,\u00e9");
+                return summary;
+            });
+
+            ResponseEntity<ApiResponse<UserImportResponse>> result = userController.importUsers("text/csv;charset=ISO-8859-1",
+                    new ByteArrayInputStream("username,\u00e9".getBytes(StandardCharsets.ISO_8859_1)));
+
+            assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(result.getBody().getData()).isSameAs(summary);
+        }
+
+        @Test
+        @DisplayName("passes NDJSON uploads as NDJSON")
+        void ndjson() {
+            when(userImportService.importUsers(any(), eq(UserImportService.Format.NDJSON)))
+                    .thenReturn(new UserImportResponse(0, 0, 0, List.of(), false));
+
+            userController.importUsers("application/x-ndjson", new ByteArrayInputStream(new byte[0]));
+
+            verify(userImportService).importUsers(any(), eq(UserImportService.Format.NDJSON));
+        }
+
+        @Test
+        @DisplayName("says so in the message when the import stopped early")
+        void aborted() {
+            when(userImportService.importUsers(any(), eq(UserImportService.Format.NDJSON)))
+                    .thenReturn(new UserImportResponse(3, 2, 1, List.of(), false, true, "Could not read the upload"));
+
+            ResponseEntity<ApiResponse<UserImportResponse>> result =
+                    userController.importUsers("application/x-ndjson", new ByteArrayInputStream(new byte[0]));
+
+            assertThat(result.getBody().getMessage()).isEqualTo(ApiMessages.IMPORT_ABORTED);
+            assertThat(result.getBody().getData().getImported()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("rejects other content types")
+        void unsupported() {
+            assertThatThrownBy(() -> userController.importUsers("application/json", new ByteArrayInputStream(new byte[0])))
+                    .isInstanceOf(BadRequestException.class);
+            verify(userImportService, never()).importUsers(any(), any());
+        }
+    }
+
     @Nested
     @DisplayName("update")
     class Update {
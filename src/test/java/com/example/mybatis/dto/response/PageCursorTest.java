@@ -0,0 +1,35 @@
+package com.example.mybatis.dto.response;
+
+import com.example.mybatis.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    @DisplayName("decode returns the id that was encoded")
+    void roundTrip() {
+        String cursor = PageCursor.encode(12345L);
+
+        assertThat(cursor).doesNotContain("12345");
+        assertThat(PageCursor.decode(cursor)).isEqualTo(12345L);
+    }
+
+    @Test
+    @DisplayName("null or empty cursor means the first page")
+    void emptyCursor() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode("")).isNull();
+    }
+
+    @Test
+    @DisplayName("malformed cursor is rejected with BadRequestException")
+    void malformed() {
+        assertThatThrownBy(() -> PageCursor.decode("%%%")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PageCursor.decode("bm9wZQ")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PageCursor.decode(PageCursor.encode(1L) + "x")).isInstanceOf(BadRequestException.class);
+    }
+}
@@ -30,6 +30,38 @@ class GlobalExceptionHandlerTest {
         handler = new GlobalExceptionHandler();
     }
 
+    @Nested
+    @DisplayName("handleServiceUnavailable")
+    class ServiceUnavailable {
+        @Test
+        @DisplayName("returns 503 with exception message")
+        void returns503() {
+            ResponseEntity<ApiResponse<Void>> result =
+                    handler.handleServiceUnavailable(new ServiceUnavailableException("Server is busy"));
+
+            assertThat(result.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(result.getBody()).isNotNull();
+            assertThat(result.getBody().getCode()).isEqualTo(503);
+            assertThat(result.getBody().getMessage()).isEqualTo("Server is busy");
+        }
+    }
+
+    @Nested
+    @DisplayName("handleUnauthorized")
+    class Unauthorized {
+        @Test
+        @DisplayName("returns 401 with exception message")
+        void returns401() {
+            ResponseEntity<ApiResponse<Void>> result =
+                    handler.handleUnauthorized(new UnauthorizedException("Invalid or expired refresh token"));
+
+            assertThat(result.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+            assertThat(result.getBody()).isNotNull();
+            assertThat(result.getBody().getCode()).isEqualTo(401);
+            assertThat(result.getBody().getMessage()).isEqualTo("Invalid or expired refresh token");
+        }
+    }
+
     @Nested
     @DisplayName("handleResourceNotFound")
     class ResourceNotFound {
@@ -0,0 +1,102 @@
+package com.example.mybatis.filter;
+
+import com.example.mybatis.audit.AuditLogWriter;
+import com.example.mybatis.audit.CurrentUserService;
+import com.example.mybatis.entity.AuditLog;
+import com.example.mybatis.properties.AuditLogProperties;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogFilterTest {
+
+    @Mock
+    private AuditLogWriter auditLogWriter;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    private AuditLogProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditLogProperties();
+    }
+
+    private AuditLog audit(MockHttpServletRequest request, String responseBody) throws Exception {
+        FilterChain chain = (req, res) -> {
+            req.getInputStream().readAllBytes();
+            res.getOutputStream().write(responseBody.getBytes(StandardCharsets.UTF_8));
+        };
+        new AuditLogFilter(properties, auditLogWriter, currentUserService)
+                .doFilter(request, new MockHttpServletResponse(), chain);
+        ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+        verify(auditLogWriter).submit(captor.capture());
+        return captor.getValue();
+    }
+
+    private static MockHttpServletRequest post(String uri, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    @Test
+    @DisplayName("refresh tokens in the request and response never reach the audit log")
+    void masksRefreshTokens() throws Exception {
+        AuditLog log = audit(post("/auth/refresh", "{\"refreshToken\":\"old-refresh-secret\"}"),
+                "{\"status\":true,\"data\":{\"token\":\"new.access.jwt\",\"refreshToken\":\"new-refresh-secret\"}}");
+
+        assertThat(log.getRequestData()).isEqualTo("{\"refreshToken\":\"***\"}");
+        assertThat(log.getResponseData())
+                .isEqualTo("{\"status\":true,\"data\":{\"token\":\"***\",\"refreshToken\":\"***\"}}")
+                .doesNotContain("new-refresh-secret", "new.access.jwt");
+    }
+
+    @Test
+    @DisplayName("the login password is masked, other fields are kept")
+    void masksPassword() throws Exception {
+        AuditLog log = audit(post("/auth/login", "{\"username\":\"jane\", \"password\" : \"p\\\"w\"}"), "{}");
+
+        assertThat(log.getRequestData()).isEqualTo("{\"username\":\"jane\", \"password\" : \"***\"}");
+    }
+
+    @Test
+    @DisplayName("a token cut off by max-body-length is masked up to the truncation marker")
+    void masksTruncatedToken() throws Exception {
+        properties.setMaxBodyLength(30);
+
+        AuditLog log = audit(post("/auth/logout", "{\"refreshToken\":\"0123456789abcdefghij\"}"), "{}");
+
+        assertThat(log.getRequestData()).isEqualTo("{\"refreshToken\":\"***\"...[truncated]");
+    }
+
+    @Test
+    @DisplayName("user import uploads are recorded without their body")
+    void importBodyNotRecorded() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users/import");
+        request.setContentType("text/csv");
+        request.setContent("username,password\njane,plain-secret\n".getBytes(StandardCharsets.UTF_8));
+
+        AuditLog log = audit(request, "{\"status\":true}");
+
+        assertThat(log.getHttpUrl()).isEqualTo("/users/import");
+        assertThat(log.getRequestData()).isNull();
+        assertThat(log.getResponseData()).isEqualTo("{\"status\":true}");
+    }
+}
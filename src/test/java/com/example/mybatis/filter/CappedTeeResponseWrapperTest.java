@@ -0,0 +1,123 @@
+package com.example.mybatis.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CappedTeeResponseWrapperTest {
+
+    @Nested
+    @DisplayName("output stream")
+    class OutputStream {
+
+        @Test
+        @DisplayName("passes the whole body through and captures only the limit")
+        void capsCapture() throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            CappedTeeResponseWrapper wrapper = new CappedTeeResponseWrapper(response, 5);
+
+            wrapper.getOutputStream().write("hello world".getBytes(StandardCharsets.UTF_8));
+
+            assertThat(response.getContentAsString()).isEqualTo("hello world");
+            assertThat(wrapper.getContentAsString()).isEqualTo("hello");
+            assertThat(wrapper.isTruncated()).isTrue();
+            assertThat(wrapper.getContentLength()).isEqualTo(11);
+        }
+
+        @Test
+        @DisplayName("single-byte writes are captured too")
+        void singleBytes() throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            CappedTeeResponseWrapper wrapper = new CappedTeeResponseWrapper(response, 10);
+
+            wrapper.getOutputStream().write('o');
+            wrapper.getOutputStream().write('k');
+
+            assertThat(wrapper.getContentAsString()).isEqualTo("ok");
+            assertThat(wrapper.isTruncated()).isFalse();
+        }
+
+        @Test
+        @DisplayName("returns null when nothing was written")
+        void empty() {
+            CappedTeeResponseWrapper wrapper = new CappedTeeResponseWrapper(new MockHttpServletResponse(), 10);
+
+            assertThat(wrapper.getContentAsString()).isNull();
+            assertThat(wrapper.getContentAsByteArray()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("zero limit captures nothing")
+        void zeroLimit() throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            CappedTeeResponseWrapper wrapper = new CappedTeeResponseWrapper(response, 0);
+
+            wrapper.getOutputStream().write("body".getBytes(StandardCharsets.UTF_8));
+
+            assertThat(response.getContentAsString()).isEqualTo("body");
+            assertThat(wrapper.getContentAsString()).isNull();
+            assertThat(wrapper.isTruncated()).isTrue();
+        }
+
+        @Test
+        @DisplayName("a multi-byte character cut by the limit is dropped")
+        void utf8Boundary() throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            response.setCharacterEncoding("UTF-8");
+            CappedTeeResponseWrapper wrapper = new CappedTeeResponseWrapper(response, 4);
+
+            // "ab" + U+00E9 (2 bytes) + U+20AC (3 bytes): the limit falls inside the euro sign
+            wrapper.getOutputStream().write("abé€".getBytes(StandardCharsets.UTF_8));
+
+            assertThat(wrapper.getContentAsString()).isEqualTo("abé");
+        }
+    }
+
+    @Nested
+    @DisplayName("writer")
+    class Writer {
+
+        @Test
+        @DisplayName("finish flushes the writer to the client and the capture")
+        void finishFlushes() throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            response.setCharacterEncoding("UTF-8");
+            CappedTeeResponseWrapper wrapper = new CappedTeeResponseWrapper(response, 100);
+
+            PrintWriter writer = wrapper.getWriter();
+            writer.write("{\"ok\":true}");
+            wrapper.finish();
+
+            assertThat(response.getContentAsString()).isEqualTo("{\"ok\":true}");
+            assertThat(wrapper.getContentAsString()).isEqualTo("{\"ok\":true}");
+        }
+
+        @Test
+        @DisplayName("getOutputStream after getWriter is rejected")
+        void streamAfterWriter() throws Exception {
+            CappedTeeResponseWrapper wrapper = new CappedTeeResponseWrapper(new MockHttpServletResponse(), 10);
+            wrapper.getWriter();
+
+            assertThatThrownBy(wrapper::getOutputStream).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("completeUtf8Length keeps complete sequences and trims a dangling lead byte")
+    void completeUtf8Length() {
+        byte[] ascii = "abc".getBytes(StandardCharsets.UTF_8);
+        byte[] euro = "€".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(CappedTeeResponseWrapper.completeUtf8Length(ascii, 3)).isEqualTo(3);
+        assertThat(CappedTeeResponseWrapper.completeUtf8Length(euro, 3)).isEqualTo(3);
+        assertThat(CappedTeeResponseWrapper.completeUtf8Length(euro, 2)).isZero();
+        assertThat(CappedTeeResponseWrapper.completeUtf8Length(euro, 1)).isZero();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.mybatis.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathExclusionsTest {
+
+    private final PathExclusions exclusions = PathExclusions.compile(List.of(
+            "/actuator", "/error/", "/api/*/internal", "/docs/**", "/v?/ping", "/files/**/raw"));
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/actuator", "/actuator/health", "/error", "/error/x", "/api/users/internal",
+            "/docs", "/docs/a/b", "/v1/ping", "/files/a/b/raw", "/files/raw"})
+    @DisplayName("matches literal subtrees and globs")
+    void matches(String path) {
+        assertThat(exclusions.matches(path)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/actuatorx", "/act", "/api/a/b/internal", "/api/x/internalz", "/v12/ping", "/users", "/",
+            "/files/a/raw2", "/erro"})
+    @DisplayName("does not match siblings, partial segments or deeper single-star paths")
+    void doesNotMatch(String path) {
+        assertThat(exclusions.matches(path)).isFalse();
+    }
+
+    @Test
+    @DisplayName("route patterns match literals exactly and literal /** prefixes as subtrees")
+    void routes() {
+        PathExclusions routes = PathExclusions.compileRoutes(List.of("/auth/login", "/users/**", "/roles/*/menus"));
+
+        assertThat(routes.matches("/auth/login")).isTrue();
+        assertThat(routes.matches("/auth/login/x")).isFalse();
+        assertThat(routes.matches("/users")).isTrue();
+        assertThat(routes.matches("/users/5/roles")).isTrue();
+        assertThat(routes.matches("/roles/1/menus")).isTrue();
+        assertThat(routes.matches("/roles")).isFalse();
+    }
+
+    @Test
+    @DisplayName("empty or null list matches nothing")
+    void empty() {
+        assertThat(PathExclusions.compile(List.of()).matches("/actuator")).isFalse();
+        assertThat(PathExclusions.compile(null).matches("/actuator")).isFalse();
+        assertThat(exclusions.matches(null)).isFalse();
+    }
+
+    /**
+     * Compares against the stream-based check the filters used before. Run with {@code -Dbenchmark=true};
+     * numbers are indicative only (no JMH, single fork).
+     */
+    @Nested
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("benchmark")
+    class Benchmark {
+
+        private static final int ITERATIONS = 5_000_000;
+
+        @Test
+        void compareWithStreamMatching() {
+            List<String> patterns = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                patterns.add("/internal/service-" + i);
+            }
+            patterns.add("/actuator");
+            patterns.add("/error");
+            PathExclusions compiled = PathExclusions.compile(patterns);
+            String[] paths = {"/users", "/roles/12/permissions", "/actuator/health", "/internal/service-19/x"};
+
+            for (int round = 0; round < 3; round++) {
+                long streamNanos = time(() -> {
+                    int hits = 0;
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        String path = paths[i & 3];
+                        if (patterns.stream().anyMatch(p -> path.equals(p) || path.startsWith(p + "/"))) {
+                            hits++;
+                        }
+                    }
+                    return hits;
+                });
+                long trieNanos = time(() -> {
+                    int hits = 0;
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        if (compiled.matches(paths[i & 3])) {
+                            hits++;
+                        }
+                    }
+                    return hits;
+                });
+                System.out.printf("round %d: stream %.1f ns/op, compiled %.1f ns/op%n", round,
+                        (double) streamNanos / ITERATIONS, (double) trieNanos / ITERATIONS);
+            }
+        }
+
+        private long time(java.util.function.IntSupplier body) {
+            long start = System.nanoTime();
+            int hits = body.getAsInt();
+            long elapsed = System.nanoTime() - start;
+            assertThat(hits).isEqualTo(ITERATIONS / 2);
+            return elapsed;
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.example.mybatis.filter;
 
 import com.example.mybatis.dto.response.ApiResponse;
 import com.example.mybatis.properties.RateLimitProperties;
+import com.example.mybatis.ratelimit.LocalBucketStore;
+import com.example.mybatis.security.VerifiedToken;
+import com.example.mybatis.security.VerifiedTokenCache;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +20,7 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,6 +33,9 @@ class RateLimitFilterTest {
     @Mock
     private FilterChain filterChain;
 
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
     private RateLimitFilter filter;
     private RateLimitProperties properties;
     private ObjectMapper objectMapper;
@@ -39,7 +47,7 @@ class RateLimitFilterTest {
         properties.setEnabled(true);
         properties.setRequestsPerMinute(2);
         properties.setExcludePaths(List.of("/actuator/health", "/error"));
-        filter = new RateLimitFilter(properties, objectMapper);
+        filter = new RateLimitFilter(properties, objectMapper, new LocalBucketStore(properties), verifiedTokenCache);
     }
 
     @Nested
@@ -182,4 +190,98 @@ class RateLimitFilterTest {
             verify(filterChain, times(4)).doFilter(any(), any());
         }
     }
+
+    @Nested
+    @DisplayName("policies")
+    class Policies {
+
+        @BeforeEach
+        void setUpPolicies() {
+            RateLimitProperties.Limit burst = new RateLimitProperties.Limit();
+            burst.setCapacity(1);
+            burst.setPeriod(Duration.ofMinutes(1));
+            RateLimitProperties.Policy login = new RateLimitProperties.Policy();
+            login.setName("login");
+            login.setPaths(List.of("/auth/login"));
+            login.setMethods(List.of("post"));
+            login.setLimits(List.of(burst));
+
+            RateLimitProperties.Limit listing = new RateLimitProperties.Limit();
+            listing.setCapacity(4);
+            RateLimitProperties.Policy users = new RateLimitProperties.Policy();
+            users.setName("users");
+            users.setPaths(List.of("/users/**"));
+            users.setKey(RateLimitProperties.KeyType.USERNAME);
+            users.setCost(2);
+            users.setLimits(List.of(listing));
+
+            properties.setPolicies(List.of(login, users));
+            filter = new RateLimitFilter(properties, objectMapper, new LocalBucketStore(properties), verifiedTokenCache);
+        }
+
+        @Test
+        @DisplayName("matching path and method uses the policy limit")
+        void policyLimitApplies() throws Exception {
+            MockHttpServletRequest req = new MockHttpServletRequest("POST", "/auth/login");
+            req.setRemoteAddr("192.168.1.1");
+            MockHttpServletResponse second = new MockHttpServletResponse();
+
+            filter.doFilter(req, new MockHttpServletResponse(), filterChain);
+            filter.doFilter(req, second, filterChain);
+
+            assertThat(second.getStatus()).isEqualTo(429);
+            verify(filterChain, times(1)).doFilter(any(), any());
+        }
+
+        @Test
+        @DisplayName("other methods on the same path fall back to the default limit")
+        void methodMismatch_usesDefault() throws Exception {
+            MockHttpServletRequest req = new MockHttpServletRequest("GET", "/auth/login");
+            req.setRemoteAddr("192.168.1.1");
+            MockHttpServletResponse second = new MockHttpServletResponse();
+
+            filter.doFilter(req, new MockHttpServletResponse(), filterChain);
+            filter.doFilter(req, second, filterChain);
+
+            assertThat(second.getStatus()).isNotEqualTo(429);
+        }
+
+        @Test
+        @DisplayName("cost is taken per request and buckets are keyed by username")
+        void costAndUsernameKey() throws Exception {
+            when(verifiedTokenCache.verify("alice-token")).thenReturn(new VerifiedToken("alice", null));
+            MockHttpServletRequest fromA = new MockHttpServletRequest("GET", "/users");
+            fromA.setRemoteAddr("192.168.1.1");
+            fromA.addHeader("Authorization", "Bearer alice-token");
+            MockHttpServletRequest fromB = new MockHttpServletRequest("GET", "/users/7");
+            fromB.setRemoteAddr("192.168.1.2");
+            fromB.addHeader("Authorization", "Bearer alice-token");
+            MockHttpServletResponse third = new MockHttpServletResponse();
+
+            filter.doFilter(fromA, new MockHttpServletResponse(), filterChain);
+            filter.doFilter(fromB, new MockHttpServletResponse(), filterChain);
+            filter.doFilter(fromA, third, filterChain);
+
+            assertThat(third.getStatus()).isEqualTo(429);
+            verify(filterChain, times(2)).doFilter(any(), any());
+        }
+
+        @Test
+        @DisplayName("an invalid token falls back to keying by IP")
+        void invalidToken_keyedByIp() throws Exception {
+            when(verifiedTokenCache.verify("bad")).thenThrow(new MalformedJwtException("bad"));
+            MockHttpServletRequest req1 = new MockHttpServletRequest("GET", "/users");
+            req1.setRemoteAddr("192.168.1.1");
+            req1.addHeader("Authorization", "Bearer bad");
+            MockHttpServletRequest req2 = new MockHttpServletRequest("GET", "/users");
+            req2.setRemoteAddr("192.168.1.2");
+            req2.addHeader("Authorization", "Bearer bad");
+            MockHttpServletResponse res2 = new MockHttpServletResponse();
+
+            filter.doFilter(req1, new MockHttpServletResponse(), filterChain);
+            filter.doFilter(req2, res2, filterChain);
+
+            assertThat(res2.getStatus()).isNotEqualTo(429);
+        }
+    }
 }
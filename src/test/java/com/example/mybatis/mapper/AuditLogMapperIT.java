@@ -0,0 +1,102 @@
+package com.example.mybatis.mapper;
+
+import com.example.mybatis.entity.AuditLog;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers
+@ActiveProfiles("dev")
+class AuditLogMapperIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("testdb").withUsername("test").withPassword("test");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private AuditLogMapper auditLogMapper;
+
+    @Autowired
+    private AuditLogPartitionMapper partitionMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void partitionsExistForCurrentMonth() {
+        String current = "audit_log_p" + YearMonth.now().format(DateTimeFormatter.ofPattern("yyyyMM"));
+
+        assertThat(partitionMapper.selectPartitionNames()).contains("audit_log_default", current);
+    }
+
+    @Test
+    void insertAndInsertBatch() {
+        AuditLog single = new AuditLog(null, "GET", "/api/users", null, "{}", "admin", Instant.now());
+        auditLogMapper.insert(single);
+        assertThat(single.getId()).isNotNull();
+
+        int rows = auditLogMapper.insertBatch(List.of(
+                new AuditLog(null, "POST", "/api/roles", "{}", "{}", "admin", Instant.now()),
+                new AuditLog(null, "DELETE", "/api/roles/1", null, null, null, null)));
+        assertThat(rows).isEqualTo(2);
+    }
+
+    @Test
+    void createAndDropPartition() {
+        partitionMapper.createPartition("audit_log_p209901", "2099-01-01", "2099-02-01");
+        assertThat(partitionMapper.selectPartitionNames()).contains("audit_log_p209901");
+
+        partitionMapper.dropPartition("audit_log_p209901");
+        assertThat(partitionMapper.selectPartitionNames()).doesNotContain("audit_log_p209901");
+    }
+
+    @Test
+    void selectForExportFiltersByUserMethodAndTimeRange() {
+        Instant from = Instant.now().minusSeconds(60);
+        auditLogMapper.insertBatch(List.of(
+                new AuditLog(null, "POST", "/export/a", null, null, "exporter", from.plusSeconds(10)),
+                new AuditLog(null, "GET", "/export/b", null, null, "exporter", from.plusSeconds(20)),
+                new AuditLog(null, "POST", "/export/c", null, null, "exporter", from.plusSeconds(5)),
+                new AuditLog(null, "POST", "/export/d", null, null, "someone", from.plusSeconds(30)),
+                new AuditLog(null, "POST", "/export/e", null, null, "exporter", from.minusSeconds(3600))));
+
+        List<AuditLog> exported = transactionTemplate.execute(status -> {
+            List<AuditLog> rows = new ArrayList<>();
+            try (Cursor<AuditLog> cursor = auditLogMapper.selectForExport("export", "post", from, from.plusSeconds(60))) {
+                cursor.forEach(rows::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return rows;
+        });
+
+        assertThat(exported).extracting(AuditLog::getHttpUrl).containsExactly("/export/c", "/export/a");
+    }
+}
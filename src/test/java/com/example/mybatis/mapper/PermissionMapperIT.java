@@ -1,5 +1,6 @@
 package com.example.mybatis.mapper;
 
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.entity.Permission;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -49,8 +50,8 @@ class PermissionMapperIT {
     void selectByConditionAndCount() {
         permissionMapper.insert(new Permission(null, "FIND_A", "Find A", null, null));
         permissionMapper.insert(new Permission(null, "FIND_B", "Find B", null, null));
-        List<Permission> list = permissionMapper.selectByCondition("FIND", null, 0, 10);
-        long count = permissionMapper.countByCondition("FIND", null);
+        List<Permission> list = permissionMapper.selectByCondition("FIND", null, MatchMode.CONTAINS, 0, 10);
+        long count = permissionMapper.countByCondition("FIND", null, MatchMode.CONTAINS);
         assertThat(list).hasSizeGreaterThanOrEqualTo(2);
         assertThat(count).isGreaterThanOrEqualTo(2);
     }
@@ -0,0 +1,100 @@
+package com.example.mybatis.mapper;
+
+import com.example.mybatis.entity.RefreshToken;
+import com.example.mybatis.entity.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers
+@ActiveProfiles("dev")
+class RefreshTokenMapperIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private RefreshTokenMapper refreshTokenMapper;
+
+    @Autowired
+    private RevokedTokenMapper revokedTokenMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    private RefreshToken insert(Long userId, String hash, Instant expiresAt) {
+        RefreshToken token = new RefreshToken(null, userId, hash, expiresAt, null, null);
+        refreshTokenMapper.insert(token);
+        return token;
+    }
+
+    @Test
+    @DisplayName("revoke succeeds once, so only one concurrent refresh can rotate a token")
+    void revokeOnce() {
+        Long adminId = userMapper.selectByUsername("admin").getId();
+        RefreshToken token = insert(adminId, "a".repeat(64), Instant.now().plus(1, ChronoUnit.DAYS));
+
+        assertThat(refreshTokenMapper.revoke(token.getId())).isEqualTo(1);
+        assertThat(refreshTokenMapper.revoke(token.getId())).isZero();
+        assertThat(refreshTokenMapper.selectByTokenHash("a".repeat(64)).getRevokedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("revokeAllByUserId revokes only that user's live tokens and deleteExpired purges old rows")
+    void revokeAllAndDeleteExpired() {
+        Long adminId = userMapper.selectByUsername("admin").getId();
+        User other = new User(null, "refresh-other", "pwd", "refresh-other@test.com", true, null, null, null, null);
+        userMapper.insert(other);
+        insert(adminId, "b".repeat(64), Instant.now().plus(1, ChronoUnit.DAYS));
+        insert(other.getId(), "c".repeat(64), Instant.now().plus(1, ChronoUnit.DAYS));
+        insert(other.getId(), "d".repeat(64), Instant.now().minus(1, ChronoUnit.DAYS));
+
+        assertThat(refreshTokenMapper.revokeAllByUserId(other.getId())).isEqualTo(2);
+        assertThat(refreshTokenMapper.selectByTokenHash("b".repeat(64)).getRevokedAt()).isNull();
+
+        assertThat(refreshTokenMapper.deleteExpired(Instant.now())).isGreaterThanOrEqualTo(1);
+        assertThat(refreshTokenMapper.selectByTokenHash("d".repeat(64))).isNull();
+        assertThat(refreshTokenMapper.selectByTokenHash("c".repeat(64))).isNotNull();
+    }
+
+    @Test
+    @DisplayName("revoked_token insert is idempotent and selectRevokedSince skips expired rows")
+    void revokedTokens() {
+        Instant exp = Instant.now().plus(1, ChronoUnit.HOURS);
+        revokedTokenMapper.insert("jti-live", exp);
+        revokedTokenMapper.insert("jti-live", exp);
+        revokedTokenMapper.insert("jti-expired", Instant.now().minus(1, ChronoUnit.HOURS));
+
+        assertThat(revokedTokenMapper.selectRevokedSince(null, Instant.now()))
+                .extracting(r -> r.getJti())
+                .contains("jti-live")
+                .doesNotContain("jti-expired");
+        assertThat(revokedTokenMapper.selectRevokedSince(Instant.now().plus(1, ChronoUnit.MINUTES), Instant.now()))
+                .isEmpty();
+        assertThat(revokedTokenMapper.deleteExpired(Instant.now())).isGreaterThanOrEqualTo(1);
+    }
+}
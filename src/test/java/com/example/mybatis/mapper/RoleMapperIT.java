@@ -1,6 +1,9 @@
 package com.example.mybatis.mapper;
 
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.entity.Role;
+import com.example.mybatis.entity.User;
+import com.example.mybatis.entity.UserRoles;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -35,6 +38,12 @@ class RoleMapperIT {
     @Autowired
     private RoleMapper roleMapper;
 
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private UserRoleMapper userRoleMapper;
+
     @Test
     void insertAndSelectById() {
         Role role = new Role(null, "TEST_ROLE", "Test Role", "For tests", null);
@@ -49,8 +58,8 @@ class RoleMapperIT {
     void selectByConditionAndCount() {
         roleMapper.insert(new Role(null, "FILTER_A", "Filter A", null, null));
         roleMapper.insert(new Role(null, "FILTER_B", "Filter B", null, null));
-        List<Role> list = roleMapper.selectByCondition("FILTER", null, 0, 10);
-        long count = roleMapper.countByCondition("FILTER", null);
+        List<Role> list = roleMapper.selectByCondition("FILTER", null, MatchMode.CONTAINS, 0, 10);
+        long count = roleMapper.countByCondition("FILTER", null, MatchMode.CONTAINS);
         assertThat(list).hasSizeGreaterThanOrEqualTo(2);
         assertThat(count).isGreaterThanOrEqualTo(2);
     }
@@ -71,4 +80,47 @@ class RoleMapperIT {
         assertThat(roleMapper.deleteById(role.getId(), null)).isEqualTo(1);
         assertThat(roleMapper.selectById(role.getId())).isNull();
     }
+
+    @Test
+    void selectByUserIds_groupsRolesPerUser() {
+        Role a = new Role(null, "BATCH_A", "Batch A", null, null);
+        Role b = new Role(null, "BATCH_B", "Batch B", null, null);
+        roleMapper.insert(a);
+        roleMapper.insert(b);
+        User u1 = new User(null, "batch_user1", "p", null, true, null, null, null, null);
+        User u2 = new User(null, "batch_user2", "p", null, true, null, null, null, null);
+        User u3 = new User(null, "batch_user3", "p", null, true, null, null, null, null);
+        userMapper.insert(u1);
+        userMapper.insert(u2);
+        userMapper.insert(u3);
+        assertThat(userRoleMapper.insertBatch(u1.getId(), List.of(a.getId(), b.getId()))).isEqualTo(2);
+        userRoleMapper.insert(u2.getId(), b.getId());
+
+        List<UserRoles> grouped = roleMapper.selectByUserIds(List.of(u1.getId(), u2.getId(), u3.getId()));
+
+        assertThat(grouped).hasSize(2);
+        UserRoles first = grouped.stream().filter(g -> g.getUserId().equals(u1.getId())).findFirst().orElseThrow();
+        UserRoles second = grouped.stream().filter(g -> g.getUserId().equals(u2.getId())).findFirst().orElseThrow();
+        assertThat(first.getRoles()).extracting(Role::getCode).containsExactly("BATCH_A", "BATCH_B");
+        assertThat(second.getRoles()).extracting(Role::getCode).containsExactly("BATCH_B");
+    }
+
+    @Test
+    void replaceRoles_changesOnlyTheDifference() {
+        Role a = new Role(null, "REPL_A", "Repl A", null, null);
+        Role b = new Role(null, "REPL_B", "Repl B", null, null);
+        Role c = new Role(null, "REPL_C", "Repl C", null, null);
+        roleMapper.insert(a);
+        roleMapper.insert(b);
+        roleMapper.insert(c);
+        User user = new User(null, "repl_user", "p", null, true, null, null, null, null);
+        userMapper.insert(user);
+        userRoleMapper.insertBatch(user.getId(), List.of(a.getId(), b.getId()));
+
+        assertThat(userRoleMapper.replaceRoles(user.getId(), List.of(b.getId(), c.getId()))).isEqualTo(2);
+        assertThat(userRoleMapper.replaceRoles(user.getId(), List.of(b.getId(), c.getId()))).isZero();
+
+        List<UserRoles> grouped = roleMapper.selectByUserIds(List.of(user.getId()));
+        assertThat(grouped.get(0).getRoles()).extracting(Role::getCode).containsExactly("REPL_B", "REPL_C");
+    }
 }
@@ -0,0 +1,125 @@
+package com.example.mybatis.mapper;
+
+import com.example.mybatis.entity.Menu;
+import com.example.mybatis.entity.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers
+@ActiveProfiles("dev")
+class RoleMenuMapperIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("testdb").withUsername("test").withPassword("test");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private RoleMenuMapper roleMenuMapper;
+
+    @Autowired
+    private RoleMapper roleMapper;
+
+    @Autowired
+    private MenuMapper menuMapper;
+
+    private Menu menu(String name) {
+        Menu menu = new Menu(null, name, "/" + name, null, false, false, name, null, false, null, "", null, 0, null, "#000", null, null, null, null);
+        menuMapper.insert(menu);
+        return menu;
+    }
+
+    private Role role(String code) {
+        Role role = new Role(null, code, code, null, null);
+        roleMapper.insert(role);
+        return role;
+    }
+
+    @Test
+    void selectMenusByRoleCodes_returnsEachSharedMenuOnce() {
+        Role a = role("RM_A");
+        Role b = role("RM_B");
+        Role other = role("RM_OTHER");
+        Menu shared = menu("rm-shared");
+        Menu onlyA = menu("rm-only-a");
+        Menu onlyOther = menu("rm-only-other");
+        roleMenuMapper.insert(a.getId(), shared.getId());
+        roleMenuMapper.insert(b.getId(), shared.getId());
+        roleMenuMapper.insert(a.getId(), onlyA.getId());
+        roleMenuMapper.insert(other.getId(), onlyOther.getId());
+
+        List<Menu> menus = roleMenuMapper.selectMenusByRoleCodes(List.of("RM_A", "RM_B"));
+
+        assertThat(menus).extracting(Menu::getId).containsExactlyInAnyOrder(shared.getId(), onlyA.getId());
+    }
+
+    @Test
+    void insertBatch_insertsAllLinksAndSkipsExisting() {
+        Role role = role("RM_BATCH");
+        Menu first = menu("rm-batch-1");
+        Menu second = menu("rm-batch-2");
+        Menu third = menu("rm-batch-3");
+        roleMenuMapper.insert(role.getId(), first.getId());
+
+        int inserted = roleMenuMapper.insertBatch(role.getId(), List.of(first.getId(), second.getId(), third.getId()));
+
+        assertThat(inserted).isEqualTo(2);
+        assertThat(roleMenuMapper.selectMenusByRoleId(role.getId())).extracting(Menu::getId)
+                .containsExactlyInAnyOrder(first.getId(), second.getId(), third.getId());
+    }
+
+    @Test
+    void replaceMenus_changesOnlyTheDifference() {
+        Role role = role("RM_REPLACE");
+        Menu kept = menu("rm-replace-kept");
+        Menu dropped = menu("rm-replace-dropped");
+        Menu added = menu("rm-replace-added");
+        roleMenuMapper.insertBatch(role.getId(), List.of(kept.getId(), dropped.getId()));
+
+        assertThat(roleMenuMapper.replaceMenus(role.getId(), List.of(kept.getId(), added.getId()))).isEqualTo(2);
+        assertThat(roleMenuMapper.selectMenusByRoleId(role.getId())).extracting(Menu::getId)
+                .containsExactlyInAnyOrder(kept.getId(), added.getId());
+
+        assertThat(roleMenuMapper.replaceMenus(role.getId(), List.of(added.getId(), kept.getId()))).isZero();
+
+        assertThat(roleMenuMapper.replaceMenus(role.getId(), List.of())).isEqualTo(2);
+        assertThat(roleMenuMapper.selectMenusByRoleId(role.getId())).isEmpty();
+    }
+
+    @Test
+    void selectMenusByRoleCodes_skipsDeletedRolesAndMenus() {
+        Role kept = role("RM_KEPT");
+        Role deleted = role("RM_DELETED");
+        Menu live = menu("rm-live");
+        Menu removed = menu("rm-removed");
+        Menu viaDeletedRole = menu("rm-via-deleted");
+        roleMenuMapper.insert(kept.getId(), live.getId());
+        roleMenuMapper.insert(kept.getId(), removed.getId());
+        roleMenuMapper.insert(deleted.getId(), viaDeletedRole.getId());
+        menuMapper.deleteById(removed.getId(), null);
+        roleMapper.deleteById(deleted.getId(), null);
+
+        List<Menu> menus = roleMenuMapper.selectMenusByRoleCodes(List.of("RM_KEPT", "RM_DELETED"));
+
+        assertThat(menus).extracting(Menu::getId).containsExactly(live.getId());
+    }
+}
@@ -1,19 +1,29 @@
 package com.example.mybatis.mapper;
 
+import com.example.mybatis.dto.request.MatchMode;
+import com.example.mybatis.entity.Permission;
+import com.example.mybatis.entity.Role;
 import com.example.mybatis.entity.User;
+import com.example.mybatis.entity.UserAccess;
+import org.apache.ibatis.cursor.Cursor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -39,6 +49,21 @@ class UserMapperIT {
     @Autowired
     private UserMapper userMapper;
 
+    @Autowired
+    private RoleMapper roleMapper;
+
+    @Autowired
+    private PermissionMapper permissionMapper;
+
+    @Autowired
+    private UserRoleMapper userRoleMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Nested
     @DisplayName("insert and selectById")
     class InsertAndSelect {
@@ -71,6 +96,82 @@ class UserMapperIT {
         }
     }
 
+    @Nested
+    @DisplayName("selectAccessByUsername")
+    class SelectAccessByUsername {
+        @Test
+        @DisplayName("returns the same roles and permissions as the separate queries")
+        void matchesSeparateQueries() {
+            UserAccess admin = userMapper.selectAccessByUsername("admin");
+
+            assertThat(admin).isNotNull();
+            assertThat(admin.getPassword()).isNotBlank();
+            assertThat(admin.getRoles()).extracting(Role::getCode)
+                    .containsExactlyInAnyOrderElementsOf(roleMapper.selectByUserId(admin.getId()).stream().map(Role::getCode).toList());
+            assertThat(admin.getPermissions()).extracting(Permission::getCode)
+                    .doesNotHaveDuplicates()
+                    .containsExactlyInAnyOrderElementsOf(permissionMapper.selectByUserId(admin.getId()).stream().map(Permission::getCode).toList());
+        }
+
+        @Test
+        @DisplayName("returns empty collections for a user without roles")
+        void noRoles() {
+            userMapper.insert(new User(null, "noroles", "pwd", "noroles@test.com", true, null, null, null, null));
+
+            UserAccess found = userMapper.selectAccessByUsername("noroles");
+
+            assertThat(found).isNotNull();
+            assertThat(found.getRoles()).isEmpty();
+            assertThat(found.getPermissions()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("returns null for an unknown username")
+        void unknown() {
+            assertThat(userMapper.selectAccessByUsername("nobody-here")).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("authz_version")
+    class AuthzVersion {
+        @Test
+        @DisplayName("incrementAuthzVersion bumps the version returned by selectAuthzVersion and the login query")
+        void incrementUser() {
+            User admin = userMapper.selectByUsername("admin");
+            long before = userMapper.selectAuthzVersion(admin.getId());
+
+            assertThat(userMapper.incrementAuthzVersion(admin.getId())).isEqualTo(1);
+
+            assertThat(userMapper.selectAuthzVersion(admin.getId())).isEqualTo(before + 1);
+            assertThat(userMapper.selectAccessByUsername("admin").getAuthzVersion()).isEqualTo(before + 1);
+        }
+
+        @Test
+        @DisplayName("incrementAuthzVersionByRoleId bumps only the holders of the role")
+        void incrementByRole() {
+            User admin = userMapper.selectByUsername("admin");
+            User other = new User(null, "authz-other", "pwd", "authz-other@test.com", true, null, null, null, null);
+            userMapper.insert(other);
+            long adminBefore = userMapper.selectAuthzVersion(admin.getId());
+            Long adminRoleId = roleMapper.selectByUserId(admin.getId()).get(0).getId();
+
+            assertThat(userMapper.incrementAuthzVersionByRoleId(adminRoleId)).isPositive();
+
+            assertThat(userMapper.selectAuthzVersion(admin.getId())).isEqualTo(adminBefore + 1);
+            assertThat(userMapper.selectAuthzVersion(other.getId())).isZero();
+        }
+
+        @Test
+        @DisplayName("selectAuthzVersion returns null for disabled users")
+        void disabledUser() {
+            User disabled = new User(null, "authz-disabled", "pwd", "authz-disabled@test.com", false, null, null, null, null);
+            userMapper.insert(disabled);
+
+            assertThat(userMapper.selectAuthzVersion(disabled.getId())).isNull();
+        }
+    }
+
     @Nested
     @DisplayName("selectByCondition and countByCondition")
     class SelectByCondition {
@@ -82,13 +183,66 @@ class UserMapperIT {
             u = new User(null, "cond_user2", "p", "c2@test.com", true, null, null, null, null);
             userMapper.insert(u);
 
-            List<User> list = userMapper.selectByCondition("cond_user", null, 0, 10);
-            long count = userMapper.countByCondition("cond_user", null);
+            List<User> list = userMapper.selectByCondition("cond_user", null, MatchMode.CONTAINS, 0, 10);
+            long count = userMapper.countByCondition("cond_user", null, MatchMode.CONTAINS);
             assertThat(list).hasSizeGreaterThanOrEqualTo(2);
             assertThat(count).isGreaterThanOrEqualTo(2);
         }
     }
 
+    @Nested
+    @DisplayName("prefix match mode")
+    class PrefixMatch {
+        @Test
+        @DisplayName("matches case-insensitive prefixes only, with % and _ taken literally")
+        void prefixOnly() {
+            userMapper.insert(new User(null, "Pre_fix_one", "p", "pf1@test.com", true, null, null, null, null));
+            userMapper.insert(new User(null, "prexfix_two", "p", "pf2@test.com", true, null, null, null, null));
+            userMapper.insert(new User(null, "a_pre_fix", "p", "pf3@test.com", true, null, null, null, null));
+
+            List<User> list = userMapper.selectByCondition("pre_fix", null, MatchMode.PREFIX, 0, 10);
+            long count = userMapper.countByCondition("pre_fix", null, MatchMode.PREFIX);
+
+            assertThat(list).extracting(User::getUsername).containsExactly("Pre_fix_one");
+            assertThat(count).isEqualTo(1);
+            assertThat(userMapper.countByCondition("pre%", null, MatchMode.PREFIX)).isZero();
+        }
+
+        @Test
+        @DisplayName("the planner can serve both match modes from the username indexes")
+        void usesIndexes() {
+            String plans = transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+                return explain("SELECT id FROM \"user\" WHERE deleted_at IS NULL AND username ILIKE '%' || 'abc' || '%'")
+                        + explain("SELECT id FROM \"user\" WHERE deleted_at IS NULL AND lower(username) LIKE 'abc%'");
+            });
+
+            assertThat(plans).contains("idx_user_username_trgm", "idx_user_username_prefix");
+        }
+
+        private String explain(String sql) {
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("selectByConditionAfter")
+    class SelectByConditionAfter {
+        @Test
+        @DisplayName("walks matching users in id order without overlap")
+        void walksPages() {
+            for (int i = 1; i <= 3; i++) {
+                userMapper.insert(new User(null, "keyset_user" + i, "p", "k" + i + "@test.com", true, null, null, null, null));
+            }
+
+            List<User> first = userMapper.selectByConditionAfter("keyset_user", null, MatchMode.CONTAINS, null, 2);
+            List<User> second = userMapper.selectByConditionAfter("keyset_user", null, MatchMode.CONTAINS, first.get(1).getId(), 2);
+
+            assertThat(first).extracting(User::getUsername).containsExactly("keyset_user1", "keyset_user2");
+            assertThat(second).extracting(User::getUsername).containsExactly("keyset_user3");
+        }
+    }
+
     @Nested
     @DisplayName("update")
     class Update {
@@ -122,4 +276,82 @@ class UserMapperIT {
             assertThat(found).isNull();
         }
     }
+
+    @Nested
+    @DisplayName("bulk import statements")
+    class BulkImport {
+        @Test
+        @DisplayName("insertBatchIgnoreExisting returns only the rows it inserted")
+        void insertBatchIgnoreExisting() {
+            userMapper.insert(new User(null, "bulk_taken", "p", null, true, null, null, null, null));
+            List<User> batch = List.of(
+                    new User(null, "bulk_new1", "h1", "b1@test.com", true, null, null, null, "importer"),
+                    new User(null, "bulk_taken", "h2", null, true, null, null, null, "importer"),
+                    new User(null, "bulk_new2", "h3", null, false, null, null, null, "importer"));
+
+            assertThat(userMapper.selectExistingUsernames(List.of("bulk_new1", "bulk_taken", "bulk_new2")))
+                    .containsExactly("bulk_taken");
+            List<User> inserted = userMapper.insertBatchIgnoreExisting(batch);
+
+            assertThat(inserted).extracting(User::getUsername).containsExactlyInAnyOrder("bulk_new1", "bulk_new2");
+            assertThat(inserted).allSatisfy(u -> assertThat(u.getId()).isNotNull());
+            assertThat(userMapper.selectByUsername("bulk_new2").getEnabled()).isFalse();
+        }
+
+        @Test
+        @DisplayName("insertForUsers links several users at once")
+        void insertForUsers() {
+            Role a = new Role(null, "BULK_A", "Bulk A", null, null);
+            Role b = new Role(null, "BULK_B", "Bulk B", null, null);
+            roleMapper.insert(a);
+            roleMapper.insert(b);
+            User u1 = new User(null, "bulk_link1", "p", null, true, null, null, null, null);
+            User u2 = new User(null, "bulk_link2", "p", null, true, null, null, null, null);
+            userMapper.insert(u1);
+            userMapper.insert(u2);
+
+            int rows = userRoleMapper.insertForUsers(java.util.Map.of(
+                    u1.getId(), List.of(a.getId(), b.getId()),
+                    u2.getId(), List.of(b.getId())));
+
+            assertThat(rows).isEqualTo(3);
+            assertThat(userMapper.selectAccessByUsername("bulk_link1").getRoles()).extracting(Role::getCode)
+                    .containsExactlyInAnyOrder("BULK_A", "BULK_B");
+        }
+    }
+
+    @Nested
+    @DisplayName("selectForExport")
+    class SelectForExport {
+        @Test
+        @DisplayName("streams matching users in id order, each with all of its roles and no password")
+        void streamsUsersWithRoles() {
+            Role a = new Role(null, "EXPORT_A", "Export A", null, null);
+            Role b = new Role(null, "EXPORT_B", "Export B", null, null);
+            roleMapper.insert(a);
+            roleMapper.insert(b);
+            User u1 = new User(null, "export_one", "secret", "one@export.test", true, null, null, null, null);
+            User u2 = new User(null, "export_two", "secret", null, true, null, null, null, null);
+            User other = new User(null, "not_exported", "secret", null, true, null, null, null, null);
+            userMapper.insert(u1);
+            userMapper.insert(u2);
+            userMapper.insert(other);
+            userRoleMapper.insertBatch(u1.getId(), List.of(a.getId(), b.getId()));
+
+            List<UserAccess> exported = transactionTemplate.execute(status -> {
+                List<UserAccess> rows = new ArrayList<>();
+                try (Cursor<UserAccess> cursor = userMapper.selectForExport("export_", null, MatchMode.CONTAINS)) {
+                    cursor.forEach(rows::add);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return rows;
+            });
+
+            assertThat(exported).extracting(User::getUsername).containsExactly("export_one", "export_two");
+            assertThat(exported.get(0).getRoles()).extracting(Role::getCode).containsExactly("EXPORT_A", "EXPORT_B");
+            assertThat(exported.get(0).getPassword()).isNull();
+            assertThat(exported.get(1).getRoles()).isEmpty();
+        }
+    }
 }
@@ -0,0 +1,89 @@
+package com.example.mybatis.ratelimit;
+
+import com.example.mybatis.properties.RateLimitProperties;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalBucketStoreTest {
+
+    private RateLimitProperties properties;
+    private Supplier<BucketConfiguration> configuration;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        configuration = () -> BucketConfiguration.builder()
+                .addLimit(limit -> limit.capacity(2).refillGreedy(2, Duration.ofMinutes(1)))
+                .build();
+    }
+
+    @Test
+    @DisplayName("returns the same bucket for a key")
+    void sameKeySameBucket() {
+        LocalBucketStore store = new LocalBucketStore(properties);
+
+        Bucket first = store.getBucket("10.0.0.1", configuration);
+        first.tryConsume(2);
+
+        assertThat(store.getBucket("10.0.0.1", configuration)).isSameAs(first);
+        assertThat(store.getBucket("10.0.0.1", configuration).tryConsume(1)).isFalse();
+        assertThat(store.getBucket("10.0.0.2", configuration).tryConsume(1)).isTrue();
+        assertThat(store.getBucketCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("never holds more than maximum-size buckets")
+    void boundedBySize() {
+        properties.getStore().setMaximumSize(10);
+        LocalBucketStore store = new LocalBucketStore(properties);
+
+        for (int i = 0; i < 1000; i++) {
+            store.getBucket("10.0." + (i / 256) + "." + (i % 256), configuration);
+        }
+        store.cleanUp();
+
+        assertThat(store.getBucketCount()).isLessThanOrEqualTo(10);
+        assertThat(store.getEvictionCount()).isGreaterThanOrEqualTo(990);
+    }
+
+    @Test
+    @DisplayName("keeps an idle bucket until its slowest limit has refilled, at least idle-timeout")
+    void expiresAfterFullRefill() {
+        AtomicLong nanos = new AtomicLong();
+        LocalBucketStore store = new LocalBucketStore(properties, nanos::get);
+        Supplier<BucketConfiguration> sustained = () -> BucketConfiguration.builder()
+                .addLimit(limit -> limit.capacity(2).refillGreedy(2, Duration.ofSeconds(10)))
+                .addLimit(limit -> limit.capacity(5).refillGreedy(5, Duration.ofMinutes(15)))
+                .build();
+
+        Bucket login = store.getBucket("login:10.0.0.1", sustained);
+        Bucket other = store.getBucket("10.0.0.1", configuration);
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        assertThat(store.getBucket("login:10.0.0.1", sustained)).isSameAs(login);
+        assertThat(store.getBucket("10.0.0.1", configuration)).isNotSameAs(other);
+
+        nanos.addAndGet(Duration.ofMinutes(16).toNanos());
+        assertThat(store.getBucket("login:10.0.0.1", sustained)).isNotSameAs(login);
+    }
+
+    @Test
+    @DisplayName("time to refill is the longest time any limit needs to go from empty to full")
+    void timeToRefill() {
+        BucketConfiguration config = BucketConfiguration.builder()
+                .addLimit(limit -> limit.capacity(10).refillGreedy(10, Duration.ofSeconds(1)))
+                .addLimit(limit -> limit.capacity(1000).refillGreedy(100, Duration.ofMinutes(6)))
+                .build();
+
+        assertThat(LocalBucketStore.timeToRefill(config)).isEqualTo(Duration.ofHours(1));
+    }
+}
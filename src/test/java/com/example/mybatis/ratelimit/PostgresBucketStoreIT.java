@@ -0,0 +1,93 @@
+package com.example.mybatis.ratelimit;
+
+import com.example.mybatis.properties.RateLimitProperties;
+import io.github.bucket4j.BucketConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two stores against the same database, standing in for two application instances.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers
+@ActiveProfiles("dev")
+class PostgresBucketStoreIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("testdb").withUsername("test").withPassword("test");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static final Supplier<BucketConfiguration> THREE_PER_MINUTE = () -> BucketConfiguration.builder()
+            .addLimit(limit -> limit.capacity(3).refillGreedy(3, Duration.ofMinutes(1)))
+            .build();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("instances share one bucket per key")
+    void limitIsSharedAcrossInstances() {
+        PostgresBucketStore nodeA = new PostgresBucketStore(dataSource, new RateLimitProperties());
+        PostgresBucketStore nodeB = new PostgresBucketStore(dataSource, new RateLimitProperties());
+
+        assertThat(nodeA.getBucket("10.1.0.1", THREE_PER_MINUTE).tryConsume(1)).isTrue();
+        assertThat(nodeB.getBucket("10.1.0.1", THREE_PER_MINUTE).tryConsume(1)).isTrue();
+        assertThat(nodeA.getBucket("10.1.0.1", THREE_PER_MINUTE).tryConsume(1)).isTrue();
+
+        assertThat(nodeB.getBucket("10.1.0.1", THREE_PER_MINUTE).tryConsume(1)).isFalse();
+        assertThat(nodeA.getBucket("10.1.0.2", THREE_PER_MINUTE).tryConsume(1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("delayed sync still enforces the limit once tokens are written back")
+    void delayedSync() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getCluster().setMaxUnsyncedTokens(1);
+        PostgresBucketStore nodeA = new PostgresBucketStore(dataSource, properties);
+        PostgresBucketStore nodeB = new PostgresBucketStore(dataSource, properties);
+
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            PostgresBucketStore node = i % 2 == 0 ? nodeA : nodeB;
+            if (node.getBucket("10.1.0.3", THREE_PER_MINUTE).tryConsume(1)) {
+                allowed++;
+            }
+        }
+
+        // each node may overshoot by at most max-unsynced-tokens
+        assertThat(allowed).isBetween(3, 5);
+    }
+
+    @Test
+    @DisplayName("cleanup runs against the table")
+    void removeExpired() {
+        PostgresBucketStore store = new PostgresBucketStore(dataSource, new RateLimitProperties());
+        store.getBucket("10.1.0.4", THREE_PER_MINUTE).tryConsume(1);
+
+        store.removeExpired();
+
+        assertThat(store.getBucketCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.mybatis.ratelimit;
+
+import com.example.mybatis.properties.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitPoliciesTest {
+
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setRequestsPerMinute(60);
+    }
+
+    @Test
+    @DisplayName("first matching policy wins, unmatched requests get the default")
+    void resolveInOrder() {
+        properties.setPolicies(List.of(
+                policy("user-detail", "/users/{id}", 10),
+                policy("users", "/users/**", 20)));
+        RateLimitPolicies policies = RateLimitPolicies.compile(properties);
+
+        assertThat(policies.resolve("GET", "/users/5").getName()).isEqualTo("user-detail");
+        assertThat(policies.resolve("GET", "/users").getName()).isEqualTo("users");
+        assertThat(policies.resolve("GET", "/roles").getName()).isEqualTo("default");
+    }
+
+    @Test
+    @DisplayName("literal paths match exactly, URI variables stay within their segment unless captured with {*}")
+    void pathSyntax() {
+        RateLimitProperties.Policy login = policy("login", "/auth/login", 5);
+        login.setMethods(List.of("post"));
+        properties.setPolicies(List.of(
+                login,
+                policy("files", "/files/{*rest}", 10),
+                policy("role-menus", "/roles/{id}/menus", 10)));
+        RateLimitPolicies policies = RateLimitPolicies.compile(properties);
+
+        assertThat(policies.resolve("POST", "/auth/login").getName()).isEqualTo("login");
+        assertThat(policies.resolve("GET", "/auth/login").getName()).isEqualTo("default");
+        assertThat(policies.resolve("POST", "/auth/login/x").getName()).isEqualTo("default");
+        assertThat(policies.resolve("GET", "/files/a/b").getName()).isEqualTo("files");
+        assertThat(policies.resolve("GET", "/roles/7/menus").getName()).isEqualTo("role-menus");
+        assertThat(policies.resolve("GET", "/roles/7/x/menus").getName()).isEqualTo("default");
+    }
+
+    @Test
+    @DisplayName("bucket keys are prefixed with the policy name and key type")
+    void bucketKeys() {
+        properties.setPolicies(List.of(policy("login", "/auth/login", 5)));
+        RateLimitPolicy login = RateLimitPolicies.compile(properties).resolve("POST", "/auth/login");
+
+        assertThat(login.ipKey("10.0.0.1")).isEqualTo("login:ip:10.0.0.1");
+        assertThat(login.userKey("jane")).isEqualTo("login:user:jane");
+    }
+
+    @Test
+    @DisplayName("several limits end up in one bucket configuration")
+    void burstAndSustained() {
+        RateLimitProperties.Policy policy = policy("login", "/auth/login", 5);
+        RateLimitProperties.Limit sustained = new RateLimitProperties.Limit();
+        sustained.setCapacity(20);
+        sustained.setPeriod(Duration.ofHours(1));
+        policy.setLimits(List.of(policy.getLimits().get(0), sustained));
+        properties.setPolicies(List.of(policy));
+
+        RateLimitPolicy compiled = RateLimitPolicies.compile(properties).resolve("POST", "/auth/login");
+
+        assertThat(compiled.getConfiguration().getBandwidths()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("default policy follows requests-per-minute")
+    void defaultPolicy() {
+        RateLimitPolicy fallback = RateLimitPolicies.compile(properties).resolve("GET", "/anything");
+
+        assertThat(fallback.getConfiguration().getBandwidths()[0].getCapacity()).isEqualTo(60);
+        assertThat(fallback.getKeyType()).isEqualTo(RateLimitProperties.KeyType.IP);
+        assertThat(fallback.getCost()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("rejects a policy without limits")
+    void noLimits() {
+        RateLimitProperties.Policy policy = policy("empty", "/x", 1);
+        policy.setLimits(List.of());
+        properties.setPolicies(List.of(policy));
+
+        assertThatThrownBy(() -> RateLimitPolicies.compile(properties))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("no limits");
+    }
+
+    @Test
+    @DisplayName("rejects duplicate policy names")
+    void duplicateNames() {
+        properties.setPolicies(List.of(policy("a", "/x", 1), policy("a", "/y", 1)));
+
+        assertThatThrownBy(() -> RateLimitPolicies.compile(properties))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate");
+    }
+
+    private static RateLimitProperties.Policy policy(String name, String path, long capacity) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setName(name);
+        policy.setPaths(List.of(path));
+        policy.setLimits(List.of(limit));
+        return policy;
+    }
+}
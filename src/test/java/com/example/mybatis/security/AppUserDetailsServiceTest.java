@@ -1,8 +1,8 @@
 package com.example.mybatis.security;
 
+import com.example.mybatis.entity.Permission;
 import com.example.mybatis.entity.Role;
-import com.example.mybatis.entity.User;
-import com.example.mybatis.mapper.RoleMapper;
+import com.example.mybatis.entity.UserAccess;
 import com.example.mybatis.mapper.UserMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,8 +17,6 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,21 +26,23 @@ class AppUserDetailsServiceTest {
     @Mock
     private UserMapper userMapper;
 
-    @Mock
-    private RoleMapper roleMapper;
-
     @InjectMocks
     private AppUserDetailsService userDetailsService;
 
     @Test
-    @DisplayName("loadUserByUsername returns SecurityUser with roles when user exists")
+    @DisplayName("loadUserByUsername returns SecurityUser with roles and permissions when user exists")
     void loadUserSuccess() {
-        User user = new User(1L, "testuser", "encoded", "t@e.com", true, null, null, null, null);
-        when(userMapper.selectByUsername("testuser")).thenReturn(user);
-        when(roleMapper.selectByUserId(1L)).thenReturn(List.of(
+        UserAccess user = new UserAccess();
+        user.setId(1L);
+        user.setUsername("testuser");
+        user.setPassword("encoded");
+        user.setEnabled(true);
+        user.setRoles(List.of(
                 new Role(1L, "ADMIN", "Admin", null, null),
                 new Role(2L, "USER", "User", null, null)
         ));
+        user.setPermissions(List.of(new Permission(1L, "READ", "Read", null, null)));
+        when(userMapper.selectAccessByUsername("testuser")).thenReturn(user);
 
         UserDetails details = userDetailsService.loadUserByUsername("testuser");
 
@@ -51,21 +51,21 @@ class AppUserDetailsServiceTest {
         assertThat(details.getPassword()).isEqualTo("encoded");
         assertThat(details.getAuthorities().stream().map(org.springframework.security.core.GrantedAuthority::getAuthority))
                 .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
-        verify(userMapper).selectByUsername("testuser");
-        verify(roleMapper).selectByUserId(1L);
+        assertThat(((SecurityUser) details).getRoles()).hasSize(2);
+        assertThat(((SecurityUser) details).getPermissions()).extracting(Permission::getCode).containsExactly("READ");
+        verify(userMapper).selectAccessByUsername("testuser");
     }
 
     @Test
     @DisplayName("loadUserByUsername throws UsernameNotFoundException when user not found")
     void loadUserNotFound() {
-        when(userMapper.selectByUsername("missing")).thenReturn(null);
+        when(userMapper.selectAccessByUsername("missing")).thenReturn(null);
 
         assertThatThrownBy(() -> userDetailsService.loadUserByUsername("missing"))
                 .isInstanceOf(UsernameNotFoundException.class)
                 .hasMessageContaining("User not found")
                 .hasMessageContaining("missing");
 
-        verify(userMapper).selectByUsername("missing");
-        verify(roleMapper, never()).selectByUserId(anyLong());
+        verify(userMapper).selectAccessByUsername("missing");
     }
 }
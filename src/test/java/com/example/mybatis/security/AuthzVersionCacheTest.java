@@ -0,0 +1,80 @@
+package com.example.mybatis.security;
+
+import com.example.mybatis.mapper.UserMapper;
+import com.example.mybatis.properties.AuthzClaimsProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthzVersionCacheTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    private AuthzVersionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AuthzVersionCache(userMapper, new AuthzClaimsProperties());
+    }
+
+    @Test
+    @DisplayName("matching version is current and the lookup is cached")
+    void isCurrent_cachesVersion() {
+        when(userMapper.selectAuthzVersion(1L)).thenReturn(2L);
+
+        assertThat(cache.isCurrent(1L, 2L)).isTrue();
+        assertThat(cache.isCurrent(1L, 2L)).isTrue();
+        assertThat(cache.isCurrent(1L, 1L)).isFalse();
+
+        verify(userMapper, times(1)).selectAuthzVersion(1L);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("unknown or disabled users are never current and are not cached")
+    void isCurrent_missingUser() {
+        when(userMapper.selectAuthzVersion(9L)).thenReturn(null);
+
+        assertThat(cache.isCurrent(9L, 0L)).isFalse();
+        assertThat(cache.isCurrent(9L, 0L)).isFalse();
+
+        verify(userMapper, times(2)).selectAuthzVersion(9L);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("bumpUser increments the column and evicts the cached version")
+    void bumpUser() {
+        when(userMapper.selectAuthzVersion(1L)).thenReturn(2L, 3L);
+        cache.isCurrent(1L, 2L);
+
+        cache.bumpUser(1L);
+
+        verify(userMapper).incrementAuthzVersion(1L);
+        assertThat(cache.isCurrent(1L, 2L)).isFalse();
+        assertThat(cache.isCurrent(1L, 3L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("bumpRole increments the holders of the role and clears the cache")
+    void bumpRole() {
+        when(userMapper.selectAuthzVersion(1L)).thenReturn(2L);
+        cache.isCurrent(1L, 2L);
+
+        cache.bumpRole(5L);
+
+        verify(userMapper).incrementAuthzVersionByRoleId(5L);
+        assertThat(cache.size()).isZero();
+    }
+}
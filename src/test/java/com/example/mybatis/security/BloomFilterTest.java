@@ -0,0 +1,54 @@
+package com.example.mybatis.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("every added value is reported as present")
+    void noFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        String[] values = new String[1_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.add(values[i]);
+        }
+
+        for (String value : values) {
+            assertThat(filter.mightContain(value)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("false-positive rate stays near the target at the expected size")
+    void falsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        int positives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                positives++;
+            }
+        }
+        assertThat((double) positives / probes).isLessThan(0.03);
+    }
+
+    @Test
+    @DisplayName("sizing follows the standard formulas")
+    void sizing() {
+        BloomFilter filter = BloomFilter.create(100_000, 0.01);
+
+        // m = -n ln p / (ln 2)^2 ~ 958,506 bits, k = m/n ln 2 ~ 7
+        assertThat(filter.bitCount()).isBetween(958_464L, 958_592L);
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.mybatis.security;
 
+import com.example.mybatis.properties.AuthzClaimsProperties;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.AfterEach;
@@ -15,30 +18,41 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class JwtAuthenticationFilterTest {
 
     @Mock
-    private JwtUtil jwtUtil;
+    private VerifiedTokenCache tokenCache;
 
     @Mock
-    private AppUserDetailsService userDetailsService;
+    private PrincipalCache principalCache;
+
+    @Mock
+    private AuthzVersionCache authzVersionCache;
+
+    @Mock
+    private TokenRevocationList revocationList;
 
     @Mock
     private FilterChain filterChain;
 
+    private AuthzClaimsProperties authzClaimsProperties;
+
     private JwtAuthenticationFilter filter;
     private MockHttpServletRequest request;
     private MockHttpServletResponse response;
 
     @BeforeEach
     void setUp() {
-        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService);
+        authzClaimsProperties = new AuthzClaimsProperties();
+        filter = new JwtAuthenticationFilter(tokenCache, principalCache, authzVersionCache, authzClaimsProperties,
+                revocationList);
         request = new MockHttpServletRequest();
         response = new MockHttpServletResponse();
         SecurityContextHolder.clearContext();
@@ -56,7 +70,7 @@ class JwtAuthenticationFilterTest {
 
         verify(filterChain).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
-        verifyNoInteractions(jwtUtil, userDetailsService);
+        verifyNoInteractions(tokenCache, principalCache);
     }
 
     @Test
@@ -68,7 +82,7 @@ class JwtAuthenticationFilterTest {
 
         verify(filterChain).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
-        verifyNoInteractions(userDetailsService);
+        verifyNoInteractions(principalCache);
     }
 
     @Test
@@ -81,9 +95,8 @@ class JwtAuthenticationFilterTest {
                 .password("encoded")
                 .authorities("ROLE_ADMIN")
                 .build();
-        when(jwtUtil.getUsernameFromToken(token)).thenReturn("admin");
-        when(userDetailsService.loadUserByUsername("admin")).thenReturn(userDetails);
-        when(jwtUtil.validateToken(eq(token), eq("admin"))).thenReturn(true);
+        when(tokenCache.verify(token)).thenReturn(new VerifiedToken("admin", Instant.now().plusSeconds(60)));
+        when(principalCache.load("admin")).thenReturn(userDetails);
 
         filter.doFilterInternal(request, response, filterChain);
 
@@ -92,15 +105,16 @@ class JwtAuthenticationFilterTest {
         assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("admin");
         assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        verify(tokenCache).verify(token);
     }
 
     @Test
-    @DisplayName("when token valid but loadUserByUsername throws, chain continues without auth")
+    @DisplayName("when token valid but principal lookup throws, chain continues without auth")
     void tokenValidButUserNotFound_chainContinuesWithoutAuth() throws ServletException, IOException {
         String token = "valid-jwt";
         request.addHeader("Authorization", "Bearer " + token);
-        when(jwtUtil.getUsernameFromToken(token)).thenReturn("nobody");
-        when(userDetailsService.loadUserByUsername("nobody"))
+        when(tokenCache.verify(token)).thenReturn(new VerifiedToken("nobody", Instant.now().plusSeconds(60)));
+        when(principalCache.load("nobody"))
                 .thenThrow(new org.springframework.security.core.userdetails.UsernameNotFoundException("not found"));
 
         filter.doFilter(request, response, filterChain);
@@ -110,35 +124,114 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    @DisplayName("when token invalid (getUsernameFromToken returns null), chain continues")
-    void invalidToken_chainContinues() throws ServletException, IOException {
+    @DisplayName("when token has no subject, chain continues")
+    void tokenWithoutSubject_chainContinues() throws ServletException, IOException {
         request.addHeader("Authorization", "Bearer bad-token");
-        when(jwtUtil.getUsernameFromToken("bad-token")).thenReturn(null);
+        when(tokenCache.verify("bad-token")).thenReturn(new VerifiedToken(null, Instant.now().plusSeconds(60)));
 
         filter.doFilter(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
-        verifyNoInteractions(userDetailsService);
+        verifyNoInteractions(principalCache);
     }
 
     @Test
-    @DisplayName("when token valid but validateToken false, authentication not set")
-    void tokenValidButValidateReturnsFalse_noAuthSet() throws ServletException, IOException {
-        String token = "valid-jwt";
+    @DisplayName("when token signature invalid, authentication not set and principal not loaded")
+    void invalidSignature_noAuthSet() throws ServletException, IOException {
+        String token = "tampered-jwt";
+        request.addHeader("Authorization", "Bearer " + token);
+        when(tokenCache.verify(token)).thenThrow(new SignatureException("bad signature"));
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(principalCache);
+    }
+
+    @Test
+    @DisplayName("when token expired, authentication not set and principal not loaded")
+    void expiredToken_noAuthSet() throws ServletException, IOException {
+        String token = "expired-jwt";
         request.addHeader("Authorization", "Bearer " + token);
+        when(tokenCache.verify(token)).thenThrow(new ExpiredJwtException(null, null, "JWT expired"));
+
+        filter.doFilter(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(principalCache);
+    }
+
+    @Test
+    @DisplayName("when role claims are current, authenticates from the token without loading the principal")
+    void currentClaims_skipPrincipalLookup() throws ServletException, IOException {
+        request.addHeader("Authorization", "Bearer claims-jwt");
+        when(tokenCache.verify("claims-jwt")).thenReturn(
+                new VerifiedToken("admin", Instant.now().plusSeconds(60), 1L, List.of("ADMIN"), 4L));
+        when(authzVersionCache.isCurrent(1L, 4L)).thenReturn(true);
+
+        filter.doFilter(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+                .isInstanceOfSatisfying(SecurityUser.class, user -> {
+                    assertThat(user.getId()).isEqualTo(1L);
+                    assertThat(user.getUsername()).isEqualTo("admin");
+                });
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting(a -> a.getAuthority()).containsExactly("ROLE_ADMIN");
+        verifyNoInteractions(principalCache);
+        assertThat(request.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("when role claims are stale, falls back to the cached principal")
+    void staleClaims_loadPrincipal() throws ServletException, IOException {
+        request.addHeader("Authorization", "Bearer stale-jwt");
+        when(tokenCache.verify("stale-jwt")).thenReturn(
+                new VerifiedToken("admin", Instant.now().plusSeconds(60), 1L, List.of("ADMIN"), 3L));
+        when(authzVersionCache.isCurrent(1L, 3L)).thenReturn(false);
+        UserDetails fresh = org.springframework.security.core.userdetails.User
+                .withUsername("admin").password("encoded").authorities("ROLE_USER").build();
+        when(principalCache.load("admin")).thenReturn(fresh);
+
+        filter.doFilter(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting(a -> a.getAuthority()).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("when authorization claims are disabled, ignores them and loads the principal")
+    void claimsDisabled_loadPrincipal() throws ServletException, IOException {
+        authzClaimsProperties.setEnabled(false);
+        request.addHeader("Authorization", "Bearer claims-jwt");
+        when(tokenCache.verify("claims-jwt")).thenReturn(
+                new VerifiedToken("admin", Instant.now().plusSeconds(60), 1L, List.of("ADMIN"), 4L));
         UserDetails userDetails = org.springframework.security.core.userdetails.User
-                .withUsername("admin")
-                .password("encoded")
-                .authorities("ROLE_ADMIN")
-                .build();
-        when(jwtUtil.getUsernameFromToken(token)).thenReturn("admin");
-        when(userDetailsService.loadUserByUsername("admin")).thenReturn(userDetails);
-        when(jwtUtil.validateToken(eq(token), eq("admin"))).thenReturn(false);
+                .withUsername("admin").password("encoded").authorities("ROLE_ADMIN").build();
+        when(principalCache.load("admin")).thenReturn(userDetails);
+
+        filter.doFilter(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        verifyNoInteractions(authzVersionCache);
+    }
+
+    @Test
+    @DisplayName("when the token id is revoked, authentication not set and principal not loaded")
+    void revokedToken_noAuthSet() throws ServletException, IOException {
+        request.addHeader("Authorization", "Bearer revoked-jwt");
+        when(tokenCache.verify("revoked-jwt")).thenReturn(
+                new VerifiedToken("admin", Instant.now().plusSeconds(60), 1L, List.of("ADMIN"), 4L, "jti-1"));
+        when(revocationList.isRevoked("jti-1")).thenReturn(true);
 
         filter.doFilter(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(request.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE)).isNull();
+        verifyNoInteractions(principalCache, authzVersionCache);
     }
 }
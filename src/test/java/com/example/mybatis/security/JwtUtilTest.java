@@ -1,9 +1,17 @@
 package com.example.mybatis.security;
 
+import com.example.mybatis.entity.Role;
+import com.example.mybatis.entity.User;
+import com.example.mybatis.properties.JwtProperties.Algorithm;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class JwtUtilTest {
 
@@ -38,4 +46,80 @@ class JwtUtilTest {
     void validateToken_returnsFalse_whenTokenInvalid() {
         assertThat(jwtUtil.validateToken("bad.token.here", "john")).isFalse();
     }
+
+    @Test
+    void parseClaims_returnsVerifiedClaims() {
+        String token = jwtUtil.generateToken("john");
+        Claims claims = jwtUtil.parseClaims(token);
+        assertThat(claims.getSubject()).isEqualTo("john");
+        assertThat(claims.getExpiration()).isAfter(claims.getIssuedAt());
+    }
+
+    @Test
+    void parseClaims_throws_whenSignedWithAnotherKey() {
+        String token = new JwtUtil("another-secret-key-for-hmac-sha256-at-least-32-chars", 3600_000L).generateToken("john");
+        assertThatThrownBy(() -> jwtUtil.parseClaims(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void generateToken_forPrincipal_embedsAuthorizationClaims() {
+        User user = new User(7L, "jane", "enc", null, true, null, null, null, null);
+        SecurityUser principal = new SecurityUser(user,
+                List.of(new Role(1L, "ADMIN", "Admin", null, null), new Role(2L, "USER", "User", null, null)),
+                List.of(), 3);
+
+        VerifiedToken token = VerifiedToken.from(jwtUtil.parseClaims(jwtUtil.generateToken(principal)));
+
+        assertThat(token.subject()).isEqualTo("jane");
+        assertThat(token.userId()).isEqualTo(7L);
+        assertThat(token.roles()).containsExactly("ADMIN", "USER");
+        assertThat(token.authzVersion()).isEqualTo(3L);
+        assertThat(token.hasAuthzClaims()).isTrue();
+    }
+
+    @Test
+    void generateToken_forUsername_hasNoAuthorizationClaims() {
+        VerifiedToken token = VerifiedToken.from(jwtUtil.parseClaims(jwtUtil.generateToken("john")));
+
+        assertThat(token.hasAuthzClaims()).isFalse();
+        assertThat(token.roles()).isEmpty();
+    }
+
+    @Test
+    void rs256_tokenCarriesKidAndVerifies() {
+        JwtKeyRing ring = JwtKeyRing.generate(Algorithm.RS256);
+        JwtUtil rsa = new JwtUtil(ring, 3600_000L);
+
+        String token = rsa.generateToken("john");
+
+        assertThat(rsa.getUsernameFromToken(token)).isEqualTo("john");
+        assertThat(new String(java.util.Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.')))))
+                .contains("\"kid\":\"" + ring.getActiveKeyId() + "\"")
+                .contains("\"alg\":\"RS256\"");
+    }
+
+    @Test
+    void eddsa_tokenVerifies() {
+        JwtUtil ed = new JwtUtil(JwtKeyRing.generate(Algorithm.EDDSA), 3600_000L);
+
+        assertThat(ed.getUsernameFromToken(ed.generateToken("john"))).isEqualTo("john");
+    }
+
+    @Test
+    void parseClaims_rejectsTokenSignedByKeyMissingFromTheRing() {
+        JwtUtil rsa = new JwtUtil(JwtKeyRing.generate(Algorithm.RS256), 3600_000L);
+        String before = rsa.generateToken("john");
+
+        JwtUtil restarted = new JwtUtil(JwtKeyRing.generate(Algorithm.RS256), 3600_000L);
+
+        assertThat(restarted.getUsernameFromToken(restarted.generateToken("john"))).isEqualTo("john");
+        assertThatThrownBy(() -> restarted.parseClaims(before)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void parseClaims_rejectsHmacTokenWhenSigningIsAsymmetric() {
+        JwtUtil rsa = new JwtUtil(JwtKeyRing.generate(Algorithm.RS256), 3600_000L);
+
+        assertThatThrownBy(() -> rsa.parseClaims(jwtUtil.generateToken("john"))).isInstanceOf(JwtException.class);
+    }
 }
@@ -0,0 +1,119 @@
+package com.example.mybatis.security;
+
+import com.example.mybatis.exception.ServiceUnavailableException;
+import com.example.mybatis.properties.PasswordHashingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+
+    private PasswordHashingProperties properties;
+    private PasswordHashingExecutor executor;
+    private ExecutorService callers;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        properties = new PasswordHashingProperties();
+        properties.getExecutor().setConcurrency(1);
+        properties.getExecutor().setQueueCapacity(1);
+        callers = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("runs the task on a hashing thread and returns its result")
+    void runsOnPool() {
+        executor = new PasswordHashingExecutor(properties);
+
+        String thread = executor.run(() -> Thread.currentThread().getName());
+
+        assertThat(thread).startsWith("password-hash-");
+    }
+
+    @Test
+    @DisplayName("rethrows runtime exceptions of the task")
+    void propagatesException() {
+        executor = new PasswordHashingExecutor(properties);
+
+        assertThatThrownBy(() -> executor.run(() -> {
+            throw new IllegalArgumentException("bad hash");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("bad hash");
+    }
+
+    @Test
+    @DisplayName("rejects with 503 when the pool and queue are full")
+    void rejectsWhenFull() throws InterruptedException {
+        executor = new PasswordHashingExecutor(properties);
+        CountDownLatch started = new CountDownLatch(1);
+        callers.submit(() -> executor.run(() -> {
+            started.countDown();
+            await(release);
+            return null;
+        }));
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> executor.run(() -> null));
+        waitForQueueDepth(1);
+
+        assertThatThrownBy(() -> executor.run(() -> "x")).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(executor.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("gives up with 503 after the timeout")
+    void timesOut() {
+        properties.getExecutor().setTimeout(Duration.ofMillis(50));
+        executor = new PasswordHashingExecutor(properties);
+
+        assertThatThrownBy(() -> executor.run(() -> {
+            await(release);
+            return null;
+        })).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(executor.getTimedOutCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("nested calls run inline instead of waiting on the pool")
+    void nestedRunsInline() {
+        executor = new PasswordHashingExecutor(properties);
+
+        String result = executor.run(() -> executor.run(() -> "inner"));
+
+        assertThat(result).isEqualTo("inner");
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (executor.getQueueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(executor.getQueueDepth()).isEqualTo(depth);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.mybatis.security;
+
+import com.example.mybatis.entity.User;
+import com.example.mybatis.properties.PrincipalCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock
+    private AppUserDetailsService userDetailsService;
+
+    private PrincipalCacheProperties properties;
+    private SecurityUser admin;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PrincipalCacheProperties();
+        admin = new SecurityUser(new User(1L, "admin", "encoded", null, true, null, null, null, null), List.of("ADMIN"));
+    }
+
+    @Test
+    @DisplayName("second load of the same username is served from cache")
+    void load_cachesPrincipal() {
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+        PrincipalCache cache = new PrincipalCache(userDetailsService, properties);
+
+        UserDetails first = cache.load("admin");
+        UserDetails second = cache.load("admin");
+
+        assertThat(first).isSameAs(admin);
+        assertThat(second).isSameAs(admin);
+        verify(userDetailsService, times(1)).loadUserByUsername("admin");
+    }
+
+    @Test
+    @DisplayName("evictUser removes the principal with that id so the next load hits the database")
+    void evictUser_reloads() {
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+        PrincipalCache cache = new PrincipalCache(userDetailsService, properties);
+
+        cache.load("admin");
+        cache.evictUser(1L);
+        cache.load("admin");
+
+        verify(userDetailsService, times(2)).loadUserByUsername("admin");
+    }
+
+    @Test
+    @DisplayName("evictAll clears every principal")
+    void evictAll_clears() {
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+        PrincipalCache cache = new PrincipalCache(userDetailsService, properties);
+
+        cache.load("admin");
+        cache.evictAll();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("unknown username is not cached and the exception propagates")
+    void load_notFound_propagates() {
+        when(userDetailsService.loadUserByUsername("missing")).thenThrow(new UsernameNotFoundException("User not found: missing"));
+        PrincipalCache cache = new PrincipalCache(userDetailsService, properties);
+
+        assertThatThrownBy(() -> cache.load("missing")).isInstanceOf(UsernameNotFoundException.class);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("when disabled every load goes to the user details service")
+    void disabled_alwaysLoads() {
+        properties.setEnabled(false);
+        when(userDetailsService.loadUserByUsername("admin")).thenReturn(admin);
+        PrincipalCache cache = new PrincipalCache(userDetailsService, properties);
+
+        cache.load("admin");
+        cache.load("admin");
+
+        verify(userDetailsService, times(2)).loadUserByUsername("admin");
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.test.context.ActiveProfiles;
@@ -44,17 +45,25 @@ class SecurityConfigTest {
     private SecurityFilterChain securityFilterChain;
 
     @Test
-    @DisplayName("PasswordEncoder bean is present and uses BCrypt")
+    @DisplayName("PasswordEncoder bean is present and uses prefixed BCrypt")
     void passwordEncoder_isBcrypt() {
         assertThat(passwordEncoder).isNotNull();
         String raw = "password";
         String encoded = passwordEncoder.encode(raw);
         assertThat(encoded).isNotEqualTo(raw);
-        assertThat(encoded).startsWith("$2a$");
+        assertThat(encoded).startsWith("{bcrypt}$2a$");
         assertThat(passwordEncoder.matches(raw, encoded)).isTrue();
         assertThat(passwordEncoder.matches("wrong", encoded)).isFalse();
     }
 
+    @Test
+    @DisplayName("PasswordEncoder still matches unprefixed BCrypt hashes")
+    void passwordEncoder_matchesLegacyBcrypt() {
+        String legacy = new BCryptPasswordEncoder().encode("password");
+
+        assertThat(passwordEncoder.matches("password", legacy)).isTrue();
+    }
+
     @Test
     @DisplayName("SecurityFilterChain bean is present")
     void securityFilterChain_isPresent() {
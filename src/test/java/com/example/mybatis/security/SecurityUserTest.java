@@ -1,5 +1,7 @@
 package com.example.mybatis.security;
 
+import com.example.mybatis.entity.Permission;
+import com.example.mybatis.entity.Role;
 import com.example.mybatis.entity.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.GrantedAuthority;
@@ -24,10 +26,29 @@ class SecurityUserTest {
         assertThat(sec.isEnabled()).isTrue();
     }
 
+    @Test
+    void roleCodes_stripRolePrefix() {
+        User user = new User(1L, "john", "enc", "j@e.com", true, null, null, null, null);
+        SecurityUser sec = new SecurityUser(user, List.of("ADMIN", "USER"));
+
+        assertThat(sec.getRoleCodes()).containsExactly("ADMIN", "USER");
+    }
+
     @Test
     void disabledUser_isEnabledFalse() {
         User user = new User(2L, "u", "p", null, false, null, null, null, null);
         SecurityUser sec = new SecurityUser(user, List.of());
         assertThat(sec.isEnabled()).isFalse();
     }
+
+    @Test
+    void fromRolesAndPermissions_keepsBothAndDerivesAuthorities() {
+        User user = new User(3L, "jane", "enc", null, true, null, null, null, null);
+        SecurityUser sec = new SecurityUser(user,
+                List.of(new Role(1L, "ADMIN", "Admin", null, null)),
+                List.of(new Permission(5L, "USER_READ", "Read users", null, null)));
+        assertThat(sec.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+        assertThat(sec.getRoles()).extracting(Role::getCode).containsExactly("ADMIN");
+        assertThat(sec.getPermissions()).extracting(Permission::getCode).containsExactly("USER_READ");
+    }
 }
@@ -0,0 +1,138 @@
+package com.example.mybatis.security;
+
+import com.example.mybatis.entity.RevokedToken;
+import com.example.mybatis.mapper.RevokedTokenMapper;
+import com.example.mybatis.properties.TokenRevocationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenMapper revokedTokenMapper;
+
+    private TokenRevocationProperties properties;
+    private TokenRevocationList list;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TokenRevocationProperties();
+        properties.setExpectedEntries(1_000);
+        list = new TokenRevocationList(revokedTokenMapper, properties);
+    }
+
+    @Test
+    @DisplayName("revoke stores the jti and it is revoked at once")
+    void revoke_isVisibleImmediately() {
+        Instant exp = Instant.now().plusSeconds(60);
+
+        list.revoke("jti-1", exp);
+
+        verify(revokedTokenMapper).insert("jti-1", exp);
+        assertThat(list.isRevoked("jti-1")).isTrue();
+        assertThat(list.isRevoked("jti-2")).isFalse();
+        assertThat(list.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("revoking an already expired token is a no-op")
+    void revoke_expired() {
+        list.revoke("jti-1", Instant.now().minusSeconds(1));
+
+        verify(revokedTokenMapper, never()).insert(any(), any());
+        assertThat(list.isRevoked("jti-1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("refresh loads everything first, then only rows after the cursor minus the overlap")
+    void refresh_isIncremental() {
+        Instant t1 = Instant.parse("2026-01-01T00:00:00Z");
+        Instant exp = Instant.now().plusSeconds(600);
+        when(revokedTokenMapper.selectRevokedSince(isNull(), any()))
+                .thenReturn(List.of(new RevokedToken("a", exp, t1)));
+        when(revokedTokenMapper.selectRevokedSince(eq(t1.minus(properties.getOverlap())), any()))
+                .thenReturn(List.of(new RevokedToken("a", exp, t1), new RevokedToken("b", exp, t1.plusSeconds(1))));
+
+        list.refresh();
+        assertThat(list.isRevoked("a")).isTrue();
+        assertThat(list.isRevoked("b")).isFalse();
+
+        list.refresh();
+        assertThat(list.isRevoked("b")).isTrue();
+        assertThat(list.getSize()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("a failed refresh keeps the current list")
+    void refresh_failure() {
+        list.revoke("jti-1", Instant.now().plusSeconds(60));
+        when(revokedTokenMapper.selectRevokedSince(any(), any())).thenThrow(new RuntimeException("db down"));
+
+        list.refresh();
+
+        assertThat(list.isRevoked("jti-1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("removeExpired deletes expired rows and drops them from memory")
+    void removeExpired() {
+        Instant now = Instant.now();
+        when(revokedTokenMapper.selectRevokedSince(isNull(), any())).thenReturn(List.of(
+                new RevokedToken("gone", now.minusSeconds(1), now.minusSeconds(60)),
+                new RevokedToken("kept", now.plusSeconds(600), now.minusSeconds(30))));
+        list.refresh();
+
+        list.removeExpired();
+
+        verify(revokedTokenMapper).deleteExpired(any());
+        assertThat(list.isRevoked("gone")).isFalse();
+        assertThat(list.isRevoked("kept")).isTrue();
+        assertThat(list.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    @DisplayName("benchmark: isRevoked for unrevoked tokens with 100k entries")
+    void benchmark() {
+        properties.setExpectedEntries(100_000);
+        TokenRevocationList big = new TokenRevocationList(revokedTokenMapper, properties);
+        Instant exp = Instant.now().plusSeconds(3600);
+        for (int i = 0; i < 100_000; i++) {
+            big.revoke(UUID.randomUUID().toString(), exp);
+        }
+        String[] probes = new String[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = UUID.randomUUID().toString();
+        }
+        int iterations = 5_000_000;
+        int hits = 0;
+        for (int i = 0; i < iterations; i++) {
+            hits += big.isRevoked(probes[i & 1023]) ? 1 : 0;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            hits += big.isRevoked(probes[i & 1023]) ? 1 : 0;
+        }
+        double nsPerOp = (System.nanoTime() - start) / (double) iterations;
+        System.out.printf("isRevoked: %.1f ns/op (%d false hits)%n", nsPerOp, hits);
+        assertThat(nsPerOp).isLessThan(1_000);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.mybatis.security;
+
+import com.example.mybatis.entity.RefreshToken;
+import com.example.mybatis.entity.User;
+import com.example.mybatis.exception.UnauthorizedException;
+import com.example.mybatis.mapper.RefreshTokenMapper;
+import com.example.mybatis.mapper.UserMapper;
+import com.example.mybatis.properties.AuthzClaimsProperties;
+import com.example.mybatis.properties.RefreshTokenProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenServiceTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private RefreshTokenMapper refreshTokenMapper;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private AppUserDetailsService userDetailsService;
+
+    @Mock
+    private TokenRevocationList revocationList;
+
+    private AuthzClaimsProperties authzClaimsProperties;
+    private TokenService tokenService;
+    private SecurityUser alice;
+
+    @BeforeEach
+    void setUp() {
+        authzClaimsProperties = new AuthzClaimsProperties();
+        tokenService = new TokenService(jwtUtil, authzClaimsProperties, new RefreshTokenProperties(),
+                refreshTokenMapper, userMapper, userDetailsService, revocationList);
+        alice = new SecurityUser(new User(1L, "alice", "enc", null, true, null, null, null, null), List.of("USER"));
+    }
+
+    private RefreshToken stored(String token, Instant expiresAt, Instant revokedAt) {
+        return new RefreshToken(10L, 1L, TokenService.hash(token), expiresAt, Instant.now(), revokedAt);
+    }
+
+    @Nested
+    @DisplayName("issue")
+    class Issue {
+        @Test
+        @DisplayName("stores only the hash of the refresh token")
+        void storesHash() {
+            when(jwtUtil.generateToken(alice)).thenReturn("access");
+            when(jwtUtil.getExpirationMs()).thenReturn(900_000L);
+
+            TokenPair pair = tokenService.issue(alice);
+
+            ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+            verify(refreshTokenMapper).insert(captor.capture());
+            assertThat(pair.accessToken()).isEqualTo("access");
+            assertThat(pair.expiresIn()).isEqualTo(900);
+            assertThat(pair.refreshToken()).hasSizeGreaterThanOrEqualTo(43);
+            assertThat(captor.getValue().getTokenHash())
+                    .isEqualTo(TokenService.hash(pair.refreshToken()))
+                    .isNotEqualTo(pair.refreshToken());
+            assertThat(captor.getValue().getUserId()).isEqualTo(1L);
+            assertThat(captor.getValue().getExpiresAt()).isAfter(Instant.now());
+        }
+
+        @Test
+        @DisplayName("issues a subject-only access token when authorization claims are disabled")
+        void claimsDisabled() {
+            authzClaimsProperties.setEnabled(false);
+            when(jwtUtil.generateToken("alice")).thenReturn("plain");
+
+            assertThat(tokenService.issue(alice).accessToken()).isEqualTo("plain");
+            verify(jwtUtil, never()).generateToken(any(SecurityUser.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("refresh")
+    class Refresh {
+        @Test
+        @DisplayName("revokes the presented token and issues a new pair for the reloaded user")
+        void rotates() {
+            when(refreshTokenMapper.selectByTokenHash(TokenService.hash("r1")))
+                    .thenReturn(stored("r1", Instant.now().plusSeconds(60), null));
+            when(refreshTokenMapper.revoke(10L)).thenReturn(1);
+            when(userMapper.selectById(1L)).thenReturn(new User(1L, "alice", "enc", null, true, null, null, null, null));
+            when(userDetailsService.loadUserByUsername("alice")).thenReturn(alice);
+            when(jwtUtil.generateToken(alice)).thenReturn("access-2");
+
+            TokenPair pair = tokenService.refresh("r1");
+
+            assertThat(pair.accessToken()).isEqualTo("access-2");
+            assertThat(pair.refreshToken()).isNotEqualTo("r1");
+            verify(refreshTokenMapper).revoke(10L);
+        }
+
+        @Test
+        @DisplayName("rejects unknown and expired tokens")
+        void unknownOrExpired() {
+            assertThatThrownBy(() -> tokenService.refresh("missing")).isInstanceOf(UnauthorizedException.class);
+
+            when(refreshTokenMapper.selectByTokenHash(TokenService.hash("old")))
+                    .thenReturn(stored("old", Instant.now().minusSeconds(1), null));
+            assertThatThrownBy(() -> tokenService.refresh("old")).isInstanceOf(UnauthorizedException.class);
+            verify(refreshTokenMapper, never()).revoke(any());
+        }
+
+        @Test
+        @DisplayName("a reused token revokes every refresh token of the user")
+        void reuseRevokesAll() {
+            when(refreshTokenMapper.selectByTokenHash(TokenService.hash("r1")))
+                    .thenReturn(stored("r1", Instant.now().plusSeconds(60), Instant.now().minusSeconds(5)));
+
+            assertThatThrownBy(() -> tokenService.refresh("r1")).isInstanceOf(UnauthorizedException.class);
+
+            verify(refreshTokenMapper).revokeAllByUserId(1L);
+        }
+
+        @Test
+        @DisplayName("losing the revoke race counts as reuse")
+        void concurrentRefresh() {
+            when(refreshTokenMapper.selectByTokenHash(TokenService.hash("r1")))
+                    .thenReturn(stored("r1", Instant.now().plusSeconds(60), null));
+            when(refreshTokenMapper.revoke(10L)).thenReturn(0);
+
+            assertThatThrownBy(() -> tokenService.refresh("r1")).isInstanceOf(UnauthorizedException.class);
+
+            verify(refreshTokenMapper).revokeAllByUserId(1L);
+        }
+
+        @Test
+        @DisplayName("rejects tokens of deleted users")
+        void deletedUser() {
+            when(refreshTokenMapper.selectByTokenHash(TokenService.hash("r1")))
+                    .thenReturn(stored("r1", Instant.now().plusSeconds(60), null));
+            when(refreshTokenMapper.revoke(10L)).thenReturn(1);
+            when(userMapper.selectById(1L)).thenReturn(new User(1L, "alice", "enc", null, true, null, null, null, null));
+            when(userDetailsService.loadUserByUsername("alice")).thenThrow(new UsernameNotFoundException("gone"));
+
+            assertThatThrownBy(() -> tokenService.refresh("r1")).isInstanceOf(UnauthorizedException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("logout")
+    class Logout {
+        @Test
+        @DisplayName("revokes the user's refresh token and the access token id")
+        void revokesBoth() {
+            when(refreshTokenMapper.selectByTokenHash(TokenService.hash("r1")))
+                    .thenReturn(stored("r1", Instant.now().plusSeconds(60), null));
+            Instant exp = Instant.now().plusSeconds(60);
+
+            tokenService.logout(alice, "r1", new VerifiedToken("alice", exp, 1L, List.of("USER"), 0L, "jti-1"));
+
+            verify(refreshTokenMapper).revoke(10L);
+            verify(revocationList).revoke("jti-1", exp);
+        }
+
+        @Test
+        @DisplayName("ignores a refresh token that belongs to another user")
+        void foreignRefreshToken() {
+            RefreshToken foreign = stored("r2", Instant.now().plusSeconds(60), null);
+            foreign.setUserId(2L);
+            when(refreshTokenMapper.selectByTokenHash(TokenService.hash("r2"))).thenReturn(foreign);
+
+            tokenService.logout(alice, "r2", null);
+
+            verify(refreshTokenMapper, never()).revoke(any());
+        }
+    }
+}
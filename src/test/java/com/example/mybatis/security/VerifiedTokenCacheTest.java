@@ -0,0 +1,77 @@
+package com.example.mybatis.security;
+
+import com.example.mybatis.properties.TokenCacheProperties;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class VerifiedTokenCacheTest {
+
+    private static final String TEST_SECRET = "test-secret-key-for-hmac-sha256-must-be-at-least-32-chars";
+
+    private JwtUtil jwtUtil;
+    private TokenCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(new JwtUtil(TEST_SECRET, 3600_000L));
+        properties = new TokenCacheProperties();
+    }
+
+    @Test
+    @DisplayName("first verify parses the token, repeats are cache hits")
+    void verify_cachesVerifiedToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, properties);
+        String token = jwtUtil.generateToken("john");
+
+        VerifiedToken first = cache.verify(token);
+        VerifiedToken second = cache.verify(token);
+
+        assertThat(first.subject()).isEqualTo("john");
+        assertThat(second).isEqualTo(first);
+        verify(jwtUtil, times(1)).parseClaims(token);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("invalid token is rejected and not cached")
+    void verify_invalidToken_throws() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, properties);
+
+        assertThatThrownBy(() -> cache.verify("bad.token.here")).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> cache.verify("bad.token.here")).isInstanceOf(JwtException.class);
+        assertThat(cache.getHitCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("expired token is rejected")
+    void verify_expiredToken_throws() {
+        JwtUtil shortLived = new JwtUtil(TEST_SECRET, -1_000L);
+        VerifiedTokenCache cache = new VerifiedTokenCache(shortLived, properties);
+        String token = shortLived.generateToken("john");
+
+        assertThatThrownBy(() -> cache.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("when disabled every call verifies the signature")
+    void disabled_alwaysParses() {
+        properties.setEnabled(false);
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, properties);
+        String token = jwtUtil.generateToken("john");
+
+        cache.verify(token);
+        cache.verify(token);
+
+        verify(jwtUtil, times(2)).parseClaims(token);
+        assertThat(cache.getHitCount()).isZero();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.mybatis.security;
 
+import com.example.mybatis.entity.User;
+import com.example.mybatis.mapper.UserMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +17,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,6 +47,15 @@ class WebSecurityIT {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private AppUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserMapper userMapper;
+
     @Test
     @DisplayName("GET protected endpoint without token returns 401 with ApiResponse body")
     void protectedEndpointWithoutAuth_returns401() throws Exception {
@@ -80,6 +92,19 @@ class WebSecurityIT {
                 .andExpect(jsonPath("$.message").value("Invalid username or password"));
     }
 
+    @Test
+    @DisplayName("GET .well-known/jwks.json is public and revalidates with its ETag")
+    void jwksEndpoint_isPublic() throws Exception {
+        String etag = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("max-age")))
+                .andExpect(jsonPath("$.keys").isArray())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     @DisplayName("GET protected endpoint with valid token returns 200")
     void protectedEndpointWithValidToken_returns200() throws Exception {
@@ -89,4 +114,83 @@ class WebSecurityIT {
                         .header("Authorization", "Bearer " + token))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    @DisplayName("GET me/menus returns the current user's menu tree")
+    void myMenus() throws Exception {
+        mockMvc.perform(get("/me/menus"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/me/menus")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isArray());
+    }
+
+    @Test
+    @DisplayName("GET roles/export streams a CSV attachment to an authenticated caller")
+    void exportRoles() throws Exception {
+        mockMvc.perform(get("/roles/export"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/roles/export").param("format", "csv")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("admin")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("roles.csv")))
+                .andExpect(content().string(containsString("id,code,name,description\r\n")));
+    }
+
+    @Test
+    @DisplayName("GET audit-logs/export is forbidden to users without the ADMIN role")
+    void exportAuditLogsRequiresAdmin() throws Exception {
+        userMapper.insert(new User(null, "audit_reader", "secret", null, true, null, null, null, null));
+
+        mockMvc.perform(get("/audit-logs/export")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("audit_reader")))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.code").value(403));
+
+        mockMvc.perform(get("/audit-logs/export")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("admin")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("POST auth/refresh rotates the refresh token and rejects the old one")
+    void refreshRotatesToken() throws Exception {
+        TokenPair tokens = tokenService.issue((SecurityUser) userDetailsService.loadUserByUsername("admin"));
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + tokens.refreshToken() + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.token").isNotEmpty())
+                .andExpect(jsonPath("$.data.refreshToken").isNotEmpty());
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + tokens.refreshToken() + "\"}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid or expired refresh token"));
+    }
+
+    @Test
+    @DisplayName("POST auth/logout revokes the access token it was called with")
+    void logoutRevokesAccessToken() throws Exception {
+        TokenPair tokens = tokenService.issue((SecurityUser) userDetailsService.loadUserByUsername("admin"));
+
+        mockMvc.perform(post("/auth/logout")
+                        .header("Authorization", "Bearer " + tokens.accessToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + tokens.refreshToken() + "\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/users")
+                        .header("Authorization", "Bearer " + tokens.accessToken()))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + tokens.refreshToken() + "\"}"))
+                .andExpect(status().isUnauthorized());
+    }
 }
@@ -0,0 +1,102 @@
+package com.example.mybatis.service.impl;
+
+import com.example.mybatis.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvUserImportReaderTest {
+
+    private static List<UserImportRow> readAll(String csv) throws IOException {
+        CsvUserImportReader reader = new CsvUserImportReader(new StringReader(csv));
+        List<UserImportRow> rows = new ArrayList<>();
+        UserImportRow row;
+        while ((row = reader.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("maps columns by header name in any order")
+    void headerOrder() throws IOException {
+        List<UserImportRow> rows = readAll("roleIds,Email,username,password\n1;2,jane@example.com,jane,secret\n");
+
+        assertThat(rows).hasSize(1);
+        UserImportRow row = rows.get(0);
+        assertThat(row.error()).isNull();
+        assertThat(row.line()).isEqualTo(2);
+        assertThat(row.request().getUsername()).isEqualTo("jane");
+        assertThat(row.request().getPassword()).isEqualTo("secret");
+        assertThat(row.request().getEmail()).isEqualTo("jane@example.com");
+        assertThat(row.request().getEnabled()).isTrue();
+        assertThat(row.request().getRoleIds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("quoted fields keep commas, escaped quotes and line breaks")
+    void quoting() throws IOException {
+        List<UserImportRow> rows = readAll(
+                "username,password,roleIds\r\n\"a,b\",\"say \"\"hi\"\"\nthere\",1\r\njoe,pw,1\r\n");
+
+        assertThat(rows).extracting(UserImportRow::username).containsExactly("a,b", "joe");
+        assertThat(rows.get(0).request().getPassword()).isEqualTo("say \"hi\"\nthere");
+        assertThat(rows).extracting(UserImportRow::line).containsExactly(2L, 4L);
+    }
+
+    @Test
+    @DisplayName("skips blank lines and a byte order mark")
+    void blankLinesAndBom() throws IOException {
+        List<UserImportRow> rows = readAll("\uFEFFusername,password,roleIds\n\njane,pw,1\n\n");
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).line()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("reports unreadable values as row errors")
+    void rowErrors() throws IOException {
+        List<UserImportRow> rows = readAll("username,password,enabled,roleIds\na,pw,maybe,1\nb,pw,no,x\nc,pw,0,1\n");
+
+        assertThat(rows).extracting(UserImportRow::error)
+                .containsExactly("enabled must be true or false", "Invalid role id: x", null);
+        assertThat(rows.get(2).request().getEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("fails a row whose field exceeds the length limit")
+    void fieldTooLong() throws IOException {
+        String longPassword = "p".repeat(CsvUserImportReader.MAX_FIELD_LENGTH + 1);
+
+        List<UserImportRow> rows = readAll("username,password,roleIds\njane," + longPassword + ",1\njoe,pw,1\n");
+
+        assertThat(rows.get(0).error()).startsWith("Field longer than");
+        assertThat(rows.get(1).error()).isNull();
+    }
+
+    @Test
+    @DisplayName("an unclosed quote fails the last row")
+    void unterminatedQuote() throws IOException {
+        List<UserImportRow> rows = readAll("username,password,roleIds\njoe,pw,1\n\"jane,pw,1\n");
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(1).error()).contains("not closed");
+    }
+
+    @Test
+    @DisplayName("rejects a header without the required columns")
+    void missingColumns() {
+        assertThatThrownBy(() -> readAll("username,email\njane,j@e.com\n"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("roleIds");
+        assertThatThrownBy(() -> readAll(""))
+                .isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.mybatis.service.impl;
+
+import com.example.mybatis.dto.request.ExportFormat;
+import com.example.mybatis.dto.request.MatchMode;
+import com.example.mybatis.entity.AuditLog;
+import com.example.mybatis.entity.Permission;
+import com.example.mybatis.entity.Role;
+import com.example.mybatis.entity.UserAccess;
+import com.example.mybatis.mapper.AuditLogMapper;
+import com.example.mybatis.mapper.PermissionMapper;
+import com.example.mybatis.mapper.RoleMapper;
+import com.example.mybatis.mapper.UserMapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private RoleMapper roleMapper;
+
+    @Mock
+    private PermissionMapper permissionMapper;
+
+    @Mock
+    private AuditLogMapper auditLogMapper;
+
+    @InjectMocks
+    private ExportServiceImpl exportService;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @SuppressWarnings("unchecked")
+    private static <T> Cursor<T> cursorOf(List<T> rows) {
+        Cursor<T> cursor = mock(Cursor.class);
+        when(cursor.iterator()).thenReturn(rows.iterator());
+        return cursor;
+    }
+
+    private String body() {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("exportUsers writes users with their role codes and without passwords, then closes the cursor")
+    void exportUsers() throws IOException {
+        UserAccess user = new UserAccess();
+        user.setId(1L);
+        user.setUsername("jane");
+        user.setPassword("hash");
+        user.setEmail("jane@example.com");
+        user.setEnabled(true);
+        user.setRoles(List.of(new Role(1L, "ADMIN", "Admin", null, null), new Role(2L, "USER", "User", null, null)));
+        Cursor<UserAccess> cursor = cursorOf(List.of(user));
+        when(userMapper.selectForExport("ja", null, MatchMode.CONTAINS)).thenReturn(cursor);
+
+        long rows = exportService.exportUsers("ja", null, MatchMode.CONTAINS, ExportFormat.CSV, out);
+
+        assertThat(rows).isEqualTo(1);
+        assertThat(body()).isEqualTo("id,username,email,enabled,roles,createdAt,updatedAt\r\n"
+                + "1,jane,jane@example.com,true,ADMIN;USER,,\r\n");
+        verify(cursor).close();
+    }
+
+    @Test
+    @DisplayName("exportRoles and exportPermissions pass the list filters to the cursor query")
+    void exportRolesAndPermissions() throws IOException {
+        Cursor<Role> roles = cursorOf(List.of(new Role(1L, "ADMIN", "Admin", "All", "system")));
+        Cursor<Permission> permissions = cursorOf(List.of(new Permission(3L, "READ", "Read", null, null)));
+        when(roleMapper.selectForExport("AD", "Adm", MatchMode.CONTAINS)).thenReturn(roles);
+        when(permissionMapper.selectForExport(null, "read", MatchMode.CONTAINS)).thenReturn(permissions);
+
+        exportService.exportRoles("AD", "Adm", MatchMode.CONTAINS, ExportFormat.NDJSON, out);
+        exportService.exportPermissions(null, "read", MatchMode.CONTAINS, ExportFormat.NDJSON, out);
+
+        assertThat(body()).isEqualTo(
+                "{\"id\":1,\"code\":\"ADMIN\",\"name\":\"Admin\",\"description\":\"All\"}\n"
+                        + "{\"id\":3,\"code\":\"READ\",\"name\":\"Read\",\"description\":null}\n");
+    }
+
+    @Test
+    @DisplayName("exportAuditLogs passes the time range and writes records oldest first as read")
+    void exportAuditLogs() throws IOException {
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        Instant to = Instant.parse("2026-02-01T00:00:00Z");
+        AuditLog record = new AuditLog(9L, "POST", "/roles", "{}", null, "admin", Instant.parse("2026-01-05T10:00:00Z"));
+        Cursor<AuditLog> cursor = cursorOf(List.of(record));
+        when(auditLogMapper.selectForExport("adm", "post", from, to)).thenReturn(cursor);
+
+        long rows = exportService.exportAuditLogs("adm", "post", from, to, ExportFormat.CSV, out);
+
+        assertThat(rows).isEqualTo(1);
+        assertThat(body()).isEqualTo("id,createdAt,method,httpUrl,ousername,requestData,responseData\r\n"
+                + "9,2026-01-05T10:00:00Z,POST,/roles,admin,{},\r\n");
+    }
+
+    @Test
+    @DisplayName("closes the cursor when the client goes away mid-export")
+    void closesCursorOnWriteFailure() throws IOException {
+        Cursor<Role> cursor = cursorOf(List.of(new Role(1L, "ADMIN", "Admin", null, null)));
+        when(roleMapper.selectForExport(null, null, MatchMode.CONTAINS)).thenReturn(cursor);
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> exportService.exportRoles(null, null, MatchMode.CONTAINS, ExportFormat.CSV, broken))
+                .isInstanceOf(IOException.class);
+        verify(cursor).close();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.mybatis.service.impl;
+
+import com.example.mybatis.dto.request.ExportFormat;
+import com.example.mybatis.entity.Role;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static com.example.mybatis.service.impl.ExportWriter.column;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportWriterTest {
+
+    private static final Instant CREATED = Instant.parse("2026-01-02T03:04:05Z");
+
+    private static final List<ExportWriter.Column<Role>> COLUMNS = List.of(
+            column("id", Role::getId),
+            column("code", Role::getCode),
+            column("description", Role::getDescription),
+            column("tags", r -> List.of("a", "b")),
+            column("createdAt", r -> CREATED),
+            column("active", r -> true));
+
+    private String export(ExportFormat format, Role... rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter<Role> writer = ExportWriter.open(format, out, COLUMNS);
+        for (Role row : rows) {
+            writer.write(row);
+        }
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("NDJSON writes one object per line with typed values")
+    void ndjson() throws IOException {
+        String body = export(ExportFormat.NDJSON,
+                new Role(1L, "ADMIN", "Admin", "Full \"root\" access", null),
+                new Role(2L, "USER", "User", null, null));
+
+        assertThat(body.split("\n", -1)).containsExactly(
+                "{\"id\":1,\"code\":\"ADMIN\",\"description\":\"Full \\\"root\\\" access\",\"tags\":[\"a\",\"b\"],"
+                        + "\"createdAt\":\"2026-01-02T03:04:05Z\",\"active\":true}",
+                "{\"id\":2,\"code\":\"USER\",\"description\":null,\"tags\":[\"a\",\"b\"],"
+                        + "\"createdAt\":\"2026-01-02T03:04:05Z\",\"active\":true}",
+                "");
+    }
+
+    @Test
+    @DisplayName("CSV writes a header and quotes only fields that need it")
+    void csv() throws IOException {
+        String body = export(ExportFormat.CSV,
+                new Role(1L, "ADMIN", "Admin", "Full, \"root\"\naccess", null),
+                new Role(2L, "USER", "User", null, null));
+
+        assertThat(body).isEqualTo(
+                "id,code,description,tags,createdAt,active\r\n"
+                        + "1,ADMIN,\"Full, \"\"root\"\"\naccess\",a;b,2026-01-02T03:04:05Z,true\r\n"
+                        + "2,USER,,a;b,2026-01-02T03:04:05Z,true\r\n");
+    }
+
+    @Test
+    @DisplayName("an empty export still has the CSV header and no NDJSON lines")
+    void empty() throws IOException {
+        assertThat(export(ExportFormat.CSV)).isEqualTo("id,code,description,tags,createdAt,active\r\n");
+        assertThat(export(ExportFormat.NDJSON)).isEmpty();
+    }
+}
@@ -1,15 +1,19 @@
 package com.example.mybatis.service.impl;
 
 import com.example.mybatis.audit.CurrentUserService;
+import com.example.mybatis.dto.request.CountMode;
 import com.example.mybatis.dto.request.MenuCreateRequest;
 import com.example.mybatis.dto.request.MenuUpdateRequest;
 import com.example.mybatis.dto.response.MenuResponse;
+import com.example.mybatis.dto.response.PageCursor;
 import com.example.mybatis.dto.response.PageResponse;
 import com.example.mybatis.entity.Menu;
 import com.example.mybatis.exception.BadRequestException;
 import com.example.mybatis.exception.ResourceNotFoundException;
 import com.example.mybatis.mapper.MenuMapper;
+import com.example.mybatis.mapper.TableStatsMapper;
 import com.example.mybatis.mapper.dto.MenuDtoMapper;
+import com.example.mybatis.properties.PaginationProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
@@ -25,6 +30,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,6 +46,12 @@ class MenuServiceImplTest {
     @Mock
     private CurrentUserService currentUserService;
 
+    @Spy
+    private PageCounter pageCounter = new PageCounter(mock(TableStatsMapper.class), new PaginationProperties());
+
+    @Mock
+    private RoleMenuTreeCache menuTreeCache;
+
     @InjectMocks
     private MenuServiceImpl menuService;
 
@@ -93,7 +105,7 @@ class MenuServiceImplTest {
             when(menuMapper.countByCondition(null, null, null)).thenReturn(1L);
             when(menuDtoMapper.toDTO(entity)).thenReturn(dto);
 
-            PageResponse<MenuResponse> result = menuService.findAll(0, 10, null, null, null);
+            PageResponse<MenuResponse> result = menuService.findAll(0, 10, null, null, null, CountMode.EXACT);
 
             assertThat(result.getContent()).hasSize(1);
             assertThat(result.getContent().get(0).getName()).isEqualTo("Dashboard");
@@ -108,13 +120,30 @@ class MenuServiceImplTest {
             when(menuMapper.selectByCondition("Admin", "/admin", 1L, 20, 5)).thenReturn(List.of());
             when(menuMapper.countByCondition("Admin", "/admin", 1L)).thenReturn(0L);
 
-            menuService.findAll(4, 5, "Admin", "/admin", 1L);
+            menuService.findAll(4, 5, "Admin", "/admin", 1L, CountMode.EXACT);
 
             verify(menuMapper).selectByCondition("Admin", "/admin", 1L, 20, 5);
             verify(menuMapper).countByCondition("Admin", "/admin", 1L);
         }
     }
 
+    @Nested
+    @DisplayName("findAllByCursor")
+    class FindAllByCursor {
+        @Test
+        @DisplayName("passes filters and decoded cursor to mapper")
+        void passesFilters() {
+            when(menuMapper.selectByConditionAfter("Admin", "/admin", 1L, 7L, 6)).thenReturn(List.of());
+            when(menuMapper.countByCondition("Admin", "/admin", 1L)).thenReturn(0L);
+
+            PageResponse<MenuResponse> result = menuService.findAllByCursor(PageCursor.encode(7L), 5, "Admin", "/admin", 1L, CountMode.EXACT);
+
+            assertThat(result.getContent()).isEmpty();
+            assertThat(result.getNextCursor()).isNull();
+            verify(menuMapper).selectByConditionAfter("Admin", "/admin", 1L, 7L, 6);
+        }
+    }
+
     @Nested
     @DisplayName("create")
     class Create {
@@ -129,6 +158,7 @@ class MenuServiceImplTest {
             menuService.create(request);
 
             verify(menuMapper).insert(any(Menu.class));
+            verify(menuTreeCache).evictAll();
         }
 
         @Test
@@ -160,6 +190,7 @@ class MenuServiceImplTest {
 
             verify(menuDtoMapper).updateEntity(eq(entity), eq(request));
             verify(menuMapper).update(entity);
+            verify(menuTreeCache).evictAll();
         }
 
         @Test
@@ -185,6 +216,7 @@ class MenuServiceImplTest {
             menuService.deleteById(1L);
 
             verify(menuMapper).deleteById(1L, null);
+            verify(menuTreeCache).evictAll();
         }
 
         @Test
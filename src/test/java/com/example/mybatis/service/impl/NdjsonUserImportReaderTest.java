@@ -0,0 +1,68 @@
+package com.example.mybatis.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonUserImportReaderTest {
+
+    @Test
+    @DisplayName("reads one request per line, skipping blank lines and reporting bad JSON")
+    void readsLines() throws IOException {
+        NdjsonUserImportReader reader = new NdjsonUserImportReader(new StringReader(
+                "{\"username\":\"jane\",\"password\":\"pw\",\"roleIds\":[1,2]}\n"
+                        + "\n"
+                        + "{\"username\":\n"
+                        + "{\"username\":\"joe\",\"password\":\"pw\",\"enabled\":false,\"roleIds\":[1]}\n"),
+                new ObjectMapper());
+
+        UserImportRow jane = reader.next();
+        UserImportRow broken = reader.next();
+        UserImportRow joe = reader.next();
+
+        assertThat(jane.line()).isEqualTo(1);
+        assertThat(jane.request().getRoleIds()).containsExactly(1L, 2L);
+        assertThat(broken.line()).isEqualTo(3);
+        assertThat(broken.error()).startsWith("Invalid JSON");
+        assertThat(joe.line()).isEqualTo(4);
+        assertThat(joe.request().getEnabled()).isFalse();
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("a null line fails its row instead of yielding no request")
+    void nullLine() throws IOException {
+        NdjsonUserImportReader reader = new NdjsonUserImportReader(new StringReader(
+                "  null  \n{\"username\":\"jane\",\"password\":\"pw\",\"roleIds\":[1]}\n"), new ObjectMapper());
+
+        UserImportRow nothing = reader.next();
+
+        assertThat(nothing.line()).isEqualTo(1);
+        assertThat(nothing.error()).isEqualTo("Expected a JSON object");
+        assertThat(nothing.request()).isNotNull();
+        assertThat(nothing.username()).isNull();
+        assertThat(reader.next().username()).isEqualTo("jane");
+    }
+
+    @Test
+    @DisplayName("a line over the length cap fails its row and the next line is read normally")
+    void lineTooLong() throws IOException {
+        String huge = "{\"username\":\"" + "x".repeat(NdjsonUserImportReader.MAX_LINE_LENGTH) + "\"}";
+        NdjsonUserImportReader reader = new NdjsonUserImportReader(new StringReader(
+                huge + "\r\n{\"username\":\"jane\",\"password\":\"pw\",\"roleIds\":[1]}"), new ObjectMapper());
+
+        UserImportRow tooLong = reader.next();
+        UserImportRow jane = reader.next();
+
+        assertThat(tooLong.line()).isEqualTo(1);
+        assertThat(tooLong.error()).startsWith("Line longer than");
+        assertThat(jane.line()).isEqualTo(2);
+        assertThat(jane.username()).isEqualTo("jane");
+        assertThat(reader.next()).isNull();
+    }
+}
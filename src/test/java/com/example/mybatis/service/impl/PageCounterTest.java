@@ -0,0 +1,153 @@
+package com.example.mybatis.service.impl;
+
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.MatchMode;
+import com.example.mybatis.mapper.TableStatsMapper;
+import com.example.mybatis.properties.PaginationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PageCounterTest {
+
+    @Mock
+    private TableStatsMapper tableStatsMapper;
+
+    private PaginationProperties properties;
+    private AtomicInteger exactCalls;
+    private LongSupplier exactCount;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PaginationProperties();
+        exactCalls = new AtomicInteger();
+        exactCount = () -> {
+            exactCalls.incrementAndGet();
+            return 42L;
+        };
+    }
+
+    @Test
+    @DisplayName("NONE returns null without counting")
+    void none() {
+        PageCounter counter = new PageCounter(tableStatsMapper, properties);
+
+        assertThat(counter.count(CountMode.NONE, "user", exactCount, "jane", null)).isNull();
+        assertThat(exactCalls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("EXACT is cached per table and filter tuple")
+    void exactCached() {
+        PageCounter counter = new PageCounter(tableStatsMapper, properties);
+
+        assertThat(counter.count(CountMode.EXACT, "user", exactCount, "jane", null)).isEqualTo(42L);
+        assertThat(counter.count(CountMode.EXACT, "user", exactCount, "jane", null)).isEqualTo(42L);
+        counter.count(CountMode.EXACT, "user", exactCount, "joe", null);
+
+        assertThat(exactCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("evict drops the cached counts of that table only")
+    void evict() {
+        PageCounter counter = new PageCounter(tableStatsMapper, properties);
+        counter.count(CountMode.EXACT, "user", exactCount, (Object) null);
+        counter.count(CountMode.EXACT, "role", exactCount, (Object) null);
+
+        counter.evict("user");
+        counter.count(CountMode.EXACT, "user", exactCount, (Object) null);
+        counter.count(CountMode.EXACT, "role", exactCount, (Object) null);
+
+        assertThat(exactCalls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("evict inside a transaction evicts again after commit")
+    void evictAfterCommit() {
+        PageCounter counter = new PageCounter(tableStatsMapper, properties);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counter.evict("user");
+            // a concurrent list request still sees the pre-commit rows and caches their count
+            counter.count(CountMode.EXACT, "user", exactCount, (Object) null);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        counter.count(CountMode.EXACT, "user", exactCount, (Object) null);
+
+        assertThat(exactCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("zero TTL disables the cache")
+    void cacheDisabled() {
+        properties.setCountCacheTtl(Duration.ZERO);
+        PageCounter counter = new PageCounter(tableStatsMapper, properties);
+
+        counter.count(CountMode.EXACT, "user", exactCount, (Object) null);
+        counter.count(CountMode.EXACT, "user", exactCount, (Object) null);
+
+        assertThat(exactCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("ESTIMATED uses the planner estimate when unfiltered")
+    void estimatedUnfiltered() {
+        when(tableStatsMapper.selectEstimatedRowCount("user")).thenReturn(1_000_000L);
+        PageCounter counter = new PageCounter(tableStatsMapper, properties);
+
+        assertThat(counter.count(CountMode.ESTIMATED, "user", exactCount, null, "")).isEqualTo(1_000_000L);
+        assertThat(exactCalls).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("ESTIMATED ignores the match mode when no filter is set, EXACT caches per mode")
+    void matchModeIsNotAFilter() {
+        when(tableStatsMapper.selectEstimatedRowCount("user")).thenReturn(1_000_000L);
+        PageCounter counter = new PageCounter(tableStatsMapper, properties);
+
+        assertThat(counter.count(CountMode.ESTIMATED, "user", exactCount, null, null, MatchMode.PREFIX))
+                .isEqualTo(1_000_000L);
+        counter.count(CountMode.EXACT, "user", exactCount, "jane", null, MatchMode.CONTAINS);
+        counter.count(CountMode.EXACT, "user", exactCount, "jane", null, MatchMode.PREFIX);
+
+        assertThat(exactCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("ESTIMATED counts exactly when a filter is set")
+    void estimatedFiltered() {
+        PageCounter counter = new PageCounter(tableStatsMapper, properties);
+
+        assertThat(counter.count(CountMode.ESTIMATED, "user", exactCount, "jane", null)).isEqualTo(42L);
+        verify(tableStatsMapper, never()).selectEstimatedRowCount(any());
+    }
+
+    @Test
+    @DisplayName("ESTIMATED falls back to exact when the table was never analyzed")
+    void estimatedNotAnalyzed() {
+        when(tableStatsMapper.selectEstimatedRowCount("menu")).thenReturn(-1L);
+        PageCounter counter = new PageCounter(tableStatsMapper, properties);
+
+        assertThat(counter.count(CountMode.ESTIMATED, "menu", exactCount, null, null, null)).isEqualTo(42L);
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.mybatis.service.impl;
 
 import com.example.mybatis.audit.CurrentUserService;
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.PermissionCreateRequest;
 import com.example.mybatis.dto.request.PermissionUpdateRequest;
 import com.example.mybatis.dto.response.PermissionResponse;
@@ -8,7 +10,9 @@ import com.example.mybatis.entity.Permission;
 import com.example.mybatis.exception.BadRequestException;
 import com.example.mybatis.exception.ResourceNotFoundException;
 import com.example.mybatis.mapper.PermissionMapper;
+import com.example.mybatis.mapper.TableStatsMapper;
 import com.example.mybatis.mapper.dto.PermissionDtoMapper;
+import com.example.mybatis.properties.PaginationProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
@@ -24,6 +29,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -39,6 +45,9 @@ class PermissionServiceImplTest {
     @Mock
     private CurrentUserService currentUserService;
 
+    @Spy
+    private PageCounter pageCounter = new PageCounter(mock(TableStatsMapper.class), new PaginationProperties());
+
     @InjectMocks
     private PermissionServiceImpl permissionService;
 
@@ -87,12 +96,12 @@ class PermissionServiceImplTest {
         @Test
         @DisplayName("returns paginated list")
         void returnsPage() {
-            when(permissionMapper.selectByCondition(null, null, 0, 10))
+            when(permissionMapper.selectByCondition(null, null, MatchMode.CONTAINS, 0, 10))
                     .thenReturn(List.of(entity));
-            when(permissionMapper.countByCondition(null, null)).thenReturn(1L);
+            when(permissionMapper.countByCondition(null, null, MatchMode.CONTAINS)).thenReturn(1L);
             when(permissionDtoMapper.toDTO(entity)).thenReturn(dto);
 
-            var result = permissionService.findAll(0, 10, null, null);
+            var result = permissionService.findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT);
 
             assertThat(result.getContent()).hasSize(1);
             assertThat(result.getContent().get(0).getCode()).isEqualTo("READ_USERS");
@@ -102,6 +111,25 @@ class PermissionServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("findAllByCursor")
+    class FindAllByCursor {
+        @Test
+        @DisplayName("returns the last page without a nextCursor")
+        void lastPage() {
+            when(permissionMapper.selectByConditionAfter(null, null, MatchMode.CONTAINS, null, 11)).thenReturn(List.of(entity));
+            when(permissionMapper.countByCondition(null, null, MatchMode.CONTAINS)).thenReturn(1L);
+            when(permissionDtoMapper.toDTO(entity)).thenReturn(dto);
+
+            var result = permissionService.findAllByCursor("", 10, null, null, MatchMode.CONTAINS, CountMode.EXACT);
+
+            assertThat(result.getContent()).containsExactly(dto);
+            assertThat(result.isFirst()).isTrue();
+            assertThat(result.isLast()).isTrue();
+            assertThat(result.getNextCursor()).isNull();
+        }
+    }
+
     @Nested
     @DisplayName("create")
     class Create {
@@ -0,0 +1,98 @@
+package com.example.mybatis.service.impl;
+
+import com.example.mybatis.dto.response.MenuResponse;
+import com.example.mybatis.exception.ResourceNotFoundException;
+import com.example.mybatis.properties.MenuTreeCacheProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoleMenuTreeCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<Long, List<MenuResponse>> loader = roleId -> {
+        loads.incrementAndGet();
+        MenuResponse menu = new MenuResponse();
+        menu.setId(roleId * 10);
+        return List.of(menu);
+    };
+
+    @Test
+    @DisplayName("get loads once per role")
+    void cachesPerRole() {
+        RoleMenuTreeCache cache = new RoleMenuTreeCache(new MenuTreeCacheProperties());
+
+        List<MenuResponse> first = cache.get(1L, loader);
+
+        assertThat(cache.get(1L, loader)).isSameAs(first);
+        assertThat(cache.get(2L, loader).get(0).getId()).isEqualTo(20L);
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("evictRole drops only that role, evictAll drops every role")
+    void eviction() {
+        RoleMenuTreeCache cache = new RoleMenuTreeCache(new MenuTreeCacheProperties());
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+
+        cache.evictRole(1L);
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.evictAll();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("merged trees are cached per role set and dropped when any role changes")
+    void roleSets() {
+        RoleMenuTreeCache cache = new RoleMenuTreeCache(new MenuTreeCacheProperties());
+        Function<Set<String>, List<MenuResponse>> setLoader = codes -> {
+            loads.incrementAndGet();
+            return List.of();
+        };
+
+        cache.getForRoles(Set.of("ADMIN", "USER"), setLoader);
+        cache.getForRoles(Set.of("USER", "ADMIN"), setLoader);
+        assertThat(loads).hasValue(1);
+
+        cache.evictRole(7L);
+        cache.getForRoles(Set.of("ADMIN", "USER"), setLoader);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("a failing load is not cached")
+    void failureNotCached() {
+        RoleMenuTreeCache cache = new RoleMenuTreeCache(new MenuTreeCacheProperties());
+
+        assertThatThrownBy(() -> cache.get(9L, id -> {
+            throw new ResourceNotFoundException("Role", id);
+        })).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("disabled cache loads on every call")
+    void disabled() {
+        MenuTreeCacheProperties properties = new MenuTreeCacheProperties();
+        properties.setEnabled(false);
+        RoleMenuTreeCache cache = new RoleMenuTreeCache(properties);
+
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+        cache.evictAll();
+
+        assertThat(loads).hasValue(2);
+    }
+}
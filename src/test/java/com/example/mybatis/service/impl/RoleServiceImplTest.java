@@ -1,8 +1,11 @@
 package com.example.mybatis.service.impl;
 
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.RoleCreateRequest;
 import com.example.mybatis.dto.request.RoleUpdateRequest;
 import com.example.mybatis.dto.response.MenuResponse;
+import com.example.mybatis.dto.response.PageCursor;
 import com.example.mybatis.dto.response.PageResponse;
 import com.example.mybatis.dto.response.RoleResponse;
 import com.example.mybatis.entity.Menu;
@@ -13,8 +16,13 @@ import com.example.mybatis.audit.CurrentUserService;
 import com.example.mybatis.mapper.MenuMapper;
 import com.example.mybatis.mapper.RoleMapper;
 import com.example.mybatis.mapper.RoleMenuMapper;
+import com.example.mybatis.mapper.TableStatsMapper;
 import com.example.mybatis.mapper.dto.MenuDtoMapper;
 import com.example.mybatis.mapper.dto.RoleDtoMapper;
+import com.example.mybatis.properties.MenuTreeCacheProperties;
+import com.example.mybatis.properties.PaginationProperties;
+import com.example.mybatis.security.AuthzVersionCache;
+import com.example.mybatis.security.PrincipalCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -22,6 +30,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
@@ -30,6 +39,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -54,6 +64,18 @@ class RoleServiceImplTest {
     @Mock
     private MenuMapper menuMapper;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private AuthzVersionCache authzVersionCache;
+
+    @Spy
+    private PageCounter pageCounter = new PageCounter(mock(TableStatsMapper.class), new PaginationProperties());
+
+    @Spy
+    private RoleMenuTreeCache menuTreeCache = new RoleMenuTreeCache(new MenuTreeCacheProperties());
+
     @InjectMocks
     private RoleServiceImpl roleService;
 
@@ -100,21 +122,48 @@ class RoleServiceImplTest {
             List<RoleResponse> dtos = List.of(
                     new RoleResponse(1L, "ADMIN", "Administrator", null),
                     new RoleResponse(2L, "USER", "User", null));
-            when(roleMapper.selectByCondition("ADMIN", "Admin", 10, 5))
+            when(roleMapper.selectByCondition("ADMIN", "Admin", MatchMode.CONTAINS, 10, 5))
                     .thenReturn(entities);
-            when(roleMapper.countByCondition("ADMIN", "Admin")).thenReturn(2L);
+            when(roleMapper.countByCondition("ADMIN", "Admin", MatchMode.CONTAINS)).thenReturn(2L);
             when(roleDtoMapper.toDTO(entities.get(0))).thenReturn(dtos.get(0));
             when(roleDtoMapper.toDTO(entities.get(1))).thenReturn(dtos.get(1));
 
-            PageResponse<RoleResponse> result = roleService.findAll(2, 5, "ADMIN", "Admin");
+            PageResponse<RoleResponse> result = roleService.findAll(2, 5, "ADMIN", "Admin", MatchMode.CONTAINS, CountMode.EXACT);
 
             assertThat(result.getContent()).hasSize(2);
             assertThat(result.getContent().get(0).getCode()).isEqualTo("ADMIN");
             assertThat(result.getTotalElements()).isEqualTo(2L);
             assertThat(result.getSize()).isEqualTo(5);
             assertThat(result.getNumber()).isEqualTo(2);
-            verify(roleMapper).selectByCondition("ADMIN", "Admin", 10, 5);
-            verify(roleMapper).countByCondition("ADMIN", "Admin");
+            verify(roleMapper).selectByCondition("ADMIN", "Admin", MatchMode.CONTAINS, 10, 5);
+            verify(roleMapper).countByCondition("ADMIN", "Admin", MatchMode.CONTAINS);
+        }
+    }
+
+    @Nested
+    @DisplayName("findAllByCursor")
+    class FindAllByCursor {
+        @Test
+        @DisplayName("trims the look-ahead row and encodes the last returned id as nextCursor")
+        void success() {
+            Role admin = new Role(3L, "ADMIN", "Administrator", null, null);
+            Role user = new Role(4L, "USER", "User", null, null);
+            when(roleMapper.selectByConditionAfter(null, null, MatchMode.CONTAINS, 2L, 2)).thenReturn(List.of(admin, user));
+            when(roleMapper.countByCondition(null, null, MatchMode.CONTAINS)).thenReturn(10L);
+            when(roleDtoMapper.toDTO(admin)).thenReturn(new RoleResponse(3L, "ADMIN", "Administrator", null));
+
+            PageResponse<RoleResponse> result = roleService.findAllByCursor(PageCursor.encode(2L), 1, null, null, MatchMode.CONTAINS, CountMode.EXACT);
+
+            assertThat(result.getContent()).extracting(RoleResponse::getId).containsExactly(3L);
+            assertThat(result.getNextCursor()).isEqualTo(PageCursor.encode(3L));
+            assertThat(result.isFirst()).isFalse();
+        }
+
+        @Test
+        @DisplayName("rejects a non-positive size")
+        void invalidSize() {
+            assertThatThrownBy(() -> roleService.findAllByCursor("", 0, null, null, MatchMode.CONTAINS, CountMode.EXACT))
+                    .isInstanceOf(BadRequestException.class);
         }
     }
 
@@ -175,6 +224,9 @@ class RoleServiceImplTest {
             verify(roleMapper).update(captor.capture());
             assertThat(captor.getValue().getId()).isEqualTo(id);
             assertThat(captor.getValue().getCode()).isEqualTo("UPD");
+            verify(principalCache).evictAll();
+            verify(authzVersionCache).bumpRole(id);
+            verify(menuTreeCache).evictRole(id);
         }
 
         @Test
@@ -201,6 +253,9 @@ class RoleServiceImplTest {
             roleService.deleteById(1L);
 
             verify(roleMapper).deleteById(1L, "audit-user");
+            verify(principalCache).evictAll();
+            verify(authzVersionCache).bumpRole(1L);
+            verify(menuTreeCache).evictRole(1L);
         }
 
         @Test
@@ -283,6 +338,42 @@ class RoleServiceImplTest {
             verify(roleMenuMapper).selectMenusByRoleId(1L);
         }
 
+        @Test
+        @DisplayName("serves repeated calls from the cache with an unmodifiable tree")
+        void cached() {
+            Role role = new Role(1L, "ADMIN", "Admin", null, null);
+            Menu rootMenu = new Menu(1L, "Admin", "/admin", null, false, false, "Admin", null, false, null, "", null, 0, null, "#000", null, null, null, null);
+            MenuResponse rootDto = new MenuResponse(1L, "Admin", "/admin", null, false, false, "Admin", null, false, null, "", null, 0, null, "#000", null, null, null);
+            when(roleMapper.selectById(1L)).thenReturn(role);
+            when(roleMenuMapper.selectMenusByRoleId(1L)).thenReturn(List.of(rootMenu));
+            when(menuDtoMapper.toDTO(rootMenu)).thenReturn(rootDto);
+
+            List<MenuResponse> first = roleService.getMenusByRoleId(1L);
+            List<MenuResponse> second = roleService.getMenusByRoleId(1L);
+
+            assertThat(second).isSameAs(first);
+            assertThatThrownBy(() -> first.get(0).getChildren().add(rootDto))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            verify(roleMapper).selectById(1L);
+            verify(roleMenuMapper).selectMenusByRoleId(1L);
+        }
+
+        @Test
+        @DisplayName("reloads the tree after the role's menus are reassigned")
+        void reloadAfterAssign() {
+            Role role = new Role(1L, "ADMIN", "Admin", null, null);
+            when(roleMapper.selectById(1L)).thenReturn(role);
+            when(roleMenuMapper.selectMenusByRoleId(1L)).thenReturn(List.of());
+            when(roleMenuMapper.replaceMenus(1L, List.of())).thenReturn(1);
+
+            roleService.getMenusByRoleId(1L);
+            roleService.assignMenusToRole(1L, List.of());
+            roleService.getMenusByRoleId(1L);
+
+            verify(menuTreeCache).evictRole(1L);
+            verify(roleMenuMapper, org.mockito.Mockito.times(2)).selectMenusByRoleId(1L);
+        }
+
         @Test
         @DisplayName("throws ResourceNotFoundException when role not found")
         void roleNotFound() {
@@ -294,33 +385,77 @@ class RoleServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("getMenusByRoleCodes")
+    class GetMenusByRoleCodes {
+        @Test
+        @DisplayName("builds one tree from the distinct menus of all roles and caches it per role set")
+        void mergedAndCached() {
+            Menu rootMenu = new Menu(1L, "Admin", "/admin", null, false, false, "Admin", null, false, null, "", null, 0, null, "#000", null, null, null, null);
+            Menu childMenu = new Menu(6L, "Users", "/users", null, false, false, "Users", null, false, null, "", null, 0, 1L, "#000", null, null, null, null);
+            MenuResponse rootDto = new MenuResponse(1L, "Admin", "/admin", null, false, false, "Admin", null, false, null, "", null, 0, null, "#000", null, null, null);
+            MenuResponse childDto = new MenuResponse(6L, "Users", "/users", null, false, false, "Users", null, false, null, "", null, 0, 1L, "#000", null, null, null);
+            when(roleMenuMapper.selectMenusByRoleCodes(java.util.Set.of("ADMIN", "USER"))).thenReturn(List.of(rootMenu, childMenu));
+            when(menuDtoMapper.toDTO(rootMenu)).thenReturn(rootDto);
+            when(menuDtoMapper.toDTO(childMenu)).thenReturn(childDto);
+
+            List<MenuResponse> result = roleService.getMenusByRoleCodes(List.of("ADMIN", "USER"));
+
+            assertThat(result).hasSize(1);
+            assertThat(result.get(0).getChildren()).extracting(MenuResponse::getId).containsExactly(6L);
+            assertThat(roleService.getMenusByRoleCodes(List.of("USER", "ADMIN"))).isSameAs(result);
+            verify(roleMenuMapper).selectMenusByRoleCodes(java.util.Set.of("ADMIN", "USER"));
+        }
+
+        @Test
+        @DisplayName("returns an empty tree without querying when there are no roles")
+        void noRoles() {
+            assertThat(roleService.getMenusByRoleCodes(List.of())).isEmpty();
+
+            verify(roleMenuMapper, org.mockito.Mockito.never()).selectMenusByRoleCodes(any());
+        }
+    }
+
     @Nested
     @DisplayName("assignMenusToRole")
     class AssignMenusToRole {
         @Test
-        @DisplayName("replaces assignments and inserts new menu ids")
+        @DisplayName("replaces assignments with the given menu ids")
         void success() {
             Role role = new Role(1L, "ADMIN", "Admin", null, null);
             when(roleMapper.selectById(1L)).thenReturn(role);
             when(menuMapper.selectExistingIds(List.of(2L, 3L))).thenReturn(List.of(2L, 3L));
+            when(roleMenuMapper.replaceMenus(1L, List.of(2L, 3L))).thenReturn(2);
 
             roleService.assignMenusToRole(1L, List.of(2L, 3L));
 
-            verify(roleMenuMapper).deleteByRoleId(1L);
-            verify(roleMenuMapper).insert(1L, 2L);
-            verify(roleMenuMapper).insert(1L, 3L);
+            verify(roleMenuMapper).replaceMenus(1L, List.of(2L, 3L));
+            verify(roleMenuMapper, org.mockito.Mockito.never()).deleteByRoleId(any());
+            verify(menuTreeCache).evictRole(1L);
         }
 
         @Test
-        @DisplayName("clears assignments when menuIds is empty")
+        @DisplayName("keeps the cached tree when the assignment did not change")
+        void unchanged() {
+            Role role = new Role(1L, "ADMIN", "Admin", null, null);
+            when(roleMapper.selectById(1L)).thenReturn(role);
+            when(menuMapper.selectExistingIds(List.of(2L))).thenReturn(List.of(2L));
+            when(roleMenuMapper.replaceMenus(1L, List.of(2L))).thenReturn(0);
+
+            roleService.assignMenusToRole(1L, List.of(2L));
+
+            verify(menuTreeCache, org.mockito.Mockito.never()).evictRole(any());
+        }
+
+        @Test
+        @DisplayName("clears assignments when menuIds is null")
         void clearAssignments() {
             Role role = new Role(1L, "ADMIN", "Admin", null, null);
             when(roleMapper.selectById(1L)).thenReturn(role);
 
-            roleService.assignMenusToRole(1L, List.of());
+            roleService.assignMenusToRole(1L, null);
 
-            verify(roleMenuMapper).deleteByRoleId(1L);
-            verify(roleMenuMapper, org.mockito.Mockito.never()).insert(any(Long.class), any(Long.class));
+            verify(roleMenuMapper).replaceMenus(1L, List.of());
         }
 
         @Test
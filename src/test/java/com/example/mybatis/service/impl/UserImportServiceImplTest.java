@@ -0,0 +1,266 @@
+package com.example.mybatis.service.impl;
+
+import com.example.mybatis.audit.CurrentUserService;
+import com.example.mybatis.dto.response.UserImportResponse;
+import com.example.mybatis.entity.User;
+import com.example.mybatis.exception.BadRequestException;
+import com.example.mybatis.exception.ServiceUnavailableException;
+import com.example.mybatis.mapper.UserMapper;
+import com.example.mybatis.mapper.UserRoleMapper;
+import com.example.mybatis.properties.UserImportProperties;
+import com.example.mybatis.security.BoundedPasswordEncoder;
+import com.example.mybatis.security.PasswordHashingExecutor;
+import com.example.mybatis.service.RoleService;
+import com.example.mybatis.service.UserImportService.Format;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceImplTest {
+
+    private static final String HEADER = "username,password,email,roleIds\n";
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private UserRoleMapper userRoleMapper;
+
+    @Mock
+    private RoleService roleService;
+
+    @Mock
+    private CurrentUserService currentUserService;
+
+    @Mock
+    private PasswordHashingExecutor hashingExecutor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PageCounter pageCounter;
+
+    @Mock
+    private ObjectProvider<ObjectMapper> objectMapperProvider;
+
+    private UserImportProperties properties;
+    private UserImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new UserImportProperties();
+        properties.setChunkSize(2);
+        properties.setHashingConcurrency(2);
+        PasswordEncoder encoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+        when(objectMapperProvider.getIfAvailable(any())).thenReturn(new ObjectMapper());
+        importService = new UserImportServiceImpl(userMapper, userRoleMapper, roleService,
+                new BoundedPasswordEncoder(encoder, hashingExecutor), currentUserService,
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapperProvider,
+                new TransactionTemplate(transactionManager), pageCounter, properties);
+    }
+
+    /** Makes insertBatchIgnoreExisting assign ids to every user except the given usernames. */
+    private void insertAllExcept(String... taken) {
+        AtomicLong ids = new AtomicLong(100);
+        when(userMapper.insertBatchIgnoreExisting(anyList())).thenAnswer(inv -> {
+            List<User> users = inv.getArgument(0);
+            return users.stream()
+                    .filter(u -> !Set.of(taken).contains(u.getUsername()))
+                    .map(u -> new User(ids.incrementAndGet(), u.getUsername(), null, null, null, null, null, null, null))
+                    .toList();
+        });
+    }
+
+    @Test
+    @DisplayName("writes valid rows in chunks with hashed passwords and their roles")
+    @SuppressWarnings("unchecked")
+    void importsInChunks() {
+        when(currentUserService.getCurrentUsername()).thenReturn("admin");
+        insertAllExcept();
+
+        UserImportResponse result = importService.importUsers(new StringReader(HEADER
+                + "a,pa,a@e.com,1\n"
+                + "b,pb,,1;2\n"
+                + "c,pc,,2\n"), Format.CSV);
+
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getFailed()).isZero();
+        assertThat(result.getErrors()).isEmpty();
+
+        ArgumentCaptor<List<User>> users = ArgumentCaptor.forClass(List.class);
+        verify(userMapper, times(2)).insertBatchIgnoreExisting(users.capture());
+        assertThat(users.getAllValues().get(0)).extracting(User::getUsername).containsExactly("a", "b");
+        User first = users.getAllValues().get(0).get(0);
+        assertThat(first.getPassword()).isEqualTo("hashed:pa");
+        assertThat(first.getEmail()).isEqualTo("a@e.com");
+        assertThat(first.getEnabled()).isTrue();
+        assertThat(first.getOusername()).isEqualTo("admin");
+
+        ArgumentCaptor<Map<Long, List<Long>>> links = ArgumentCaptor.forClass(Map.class);
+        verify(userRoleMapper, times(2)).insertForUsers(links.capture());
+        assertThat(links.getAllValues().get(0)).containsEntry(101L, List.of(1L)).containsEntry(102L, List.of(1L, 2L));
+
+        verify(roleService).validateRoleIds(List.of(1L));
+        verify(roleService).validateRoleIds(List.of(2L));
+        verify(pageCounter).evict("user");
+        verifyNoInteractions(hashingExecutor);
+    }
+
+    @Test
+    @DisplayName("reports each invalid row with its line and keeps going")
+    void rowErrors() {
+        doAnswer(inv -> {
+            if (inv.getArgument(0, List.class).contains(99L)) {
+                throw new BadRequestException("Role not found in database: [99]");
+            }
+            return null;
+        }).when(roleService).validateRoleIds(anyList());
+        when(userMapper.selectExistingUsernames(anyList())).thenReturn(List.of("taken"));
+        insertAllExcept("raced");
+
+        UserImportResponse result = importService.importUsers(new StringReader(HEADER
+                + "ok,pw,,1\n"
+                + "nopass,,,1\n"
+                + "badrole,pw,,99\n"
+                + "badrole2,pw,,99\n"
+                + "ok,pw,,1\n"
+                + "taken,pw,,1\n"
+                + "raced,pw,,1\n"), Format.CSV);
+
+        assertThat(result.getTotal()).isEqualTo(7);
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(6);
+        assertThat(result.getErrors()).extracting(UserImportResponse.RowError::getLine)
+                .containsExactly(3L, 4L, 5L, 6L, 7L, 8L);
+        assertThat(result.getErrors()).extracting(UserImportResponse.RowError::getMessage)
+                .containsExactly(
+                        "password: Password must not be blank; password: size must be between 1 and 255",
+                        "Role not found in database: 99",
+                        "Role not found in database: 99",
+                        "Duplicate username in upload",
+                        "Username already exists",
+                        "Username already exists");
+        // each distinct role id is checked once
+        verify(roleService).validateRoleIds(List.of(99L));
+        verify(roleService).validateRoleIds(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("a chunk that fails to save fails its rows only")
+    void chunkFailure() {
+        when(userMapper.insertBatchIgnoreExisting(anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenAnswer(inv -> List.of(new User(7L, "c", null, null, null, null, null, null, null)));
+
+        UserImportResponse result = importService.importUsers(new StringReader(HEADER
+                + "a,pw,,1\nb,pw,,1\nc,pw,,1\n"), Format.CSV);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(UserImportResponse.RowError::getUsername).containsExactly("a", "b");
+        assertThat(result.getErrors()).extracting(UserImportResponse.RowError::getMessage).containsOnly("Could not be saved");
+    }
+
+    @Test
+    @DisplayName("an upload that breaks off keeps the saved chunks, reports them and evicts the user count")
+    void uploadBreaksOff() {
+        insertAllExcept();
+        Reader rows = new StringReader(HEADER + "a,pw,,1\nb,pw,,1\nc,pw,,1\n");
+        Reader broken = new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                int read = rows.read(buffer, offset, length);
+                if (read < 0) {
+                    throw new IOException("Connection reset");
+                }
+                return read;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        UserImportResponse result = importService.importUsers(broken, Format.CSV);
+
+        assertThat(result.isAborted()).isTrue();
+        assertThat(result.getAbortReason()).contains("Connection reset");
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(UserImportResponse.RowError::getUsername).containsExactly("c");
+        assertThat(result.getErrors()).extracting(UserImportResponse.RowError::getMessage)
+                .containsExactly("Not saved, the import stopped");
+        verify(pageCounter).evict("user");
+    }
+
+    @Test
+    @DisplayName("lists at most max-reported-errors rows but counts them all")
+    void errorLimit() {
+        properties.setMaxReportedErrors(1);
+
+        UserImportResponse result = importService.importUsers(new StringReader(
+                "{\"username\":\"a\"}\n{\"username\":\"b\"}\nnot json\n"), Format.NDJSON);
+
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.isErrorsTruncated()).isTrue();
+        verify(userMapper, never()).insertBatchIgnoreExisting(any());
+        verify(pageCounter, never()).evict(any());
+    }
+
+    @Test
+    @DisplayName("rejects a second import while one is running")
+    void oneAtATime() {
+        AtomicReference<Throwable> second = new AtomicReference<>();
+        doAnswer(inv -> {
+            second.set(catchThrowable(() -> importService.importUsers(new StringReader(HEADER), Format.CSV)));
+            return null;
+        }).when(roleService).validateRoleIds(List.of(1L));
+
+        importService.importUsers(new StringReader(HEADER + "a,pw,,1\n"), Format.CSV);
+
+        assertThat(second.get()).isInstanceOf(ServiceUnavailableException.class);
+    }
+}
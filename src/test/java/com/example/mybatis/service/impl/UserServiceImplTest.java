@@ -1,20 +1,28 @@
 package com.example.mybatis.service.impl;
 
 import com.example.mybatis.audit.CurrentUserService;
+import com.example.mybatis.dto.request.CountMode;
+import com.example.mybatis.dto.request.MatchMode;
 import com.example.mybatis.dto.request.UserCreateRequest;
 import com.example.mybatis.dto.request.UserUpdateRequest;
+import com.example.mybatis.dto.response.PageCursor;
 import com.example.mybatis.dto.response.PageResponse;
 import com.example.mybatis.dto.response.RoleResponse;
 import com.example.mybatis.dto.response.UserResponse;
 import com.example.mybatis.entity.Role;
 import com.example.mybatis.entity.User;
+import com.example.mybatis.entity.UserRoles;
 import com.example.mybatis.exception.BadRequestException;
 import com.example.mybatis.exception.ResourceNotFoundException;
 import com.example.mybatis.mapper.RoleMapper;
+import com.example.mybatis.mapper.TableStatsMapper;
 import com.example.mybatis.mapper.UserMapper;
 import com.example.mybatis.mapper.UserRoleMapper;
 import com.example.mybatis.mapper.dto.RoleDtoMapper;
 import com.example.mybatis.mapper.dto.UserDtoMapper;
+import com.example.mybatis.properties.PaginationProperties;
+import com.example.mybatis.security.AuthzVersionCache;
+import com.example.mybatis.security.PrincipalCache;
 import com.example.mybatis.service.RoleService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,6 +32,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -33,7 +42,9 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -65,6 +76,15 @@ class UserServiceImplTest {
     @Mock
     private CurrentUserService currentUserService;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private AuthzVersionCache authzVersionCache;
+
+    @Spy
+    private PageCounter pageCounter = new PageCounter(mock(TableStatsMapper.class), new PaginationProperties());
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -117,21 +137,107 @@ class UserServiceImplTest {
         @Test
         @DisplayName("returns paginated list with roles")
         void returnsPage() {
-            when(userMapper.selectByCondition(null, null, 0, 10)).thenReturn(List.of(userEntity));
-            when(userMapper.countByCondition(null, null)).thenReturn(1L);
+            when(userMapper.selectByCondition(null, null, MatchMode.CONTAINS, 0, 10)).thenReturn(List.of(userEntity));
+            when(userMapper.countByCondition(null, null, MatchMode.CONTAINS)).thenReturn(1L);
             when(userDtoMapper.toDTO(userEntity)).thenReturn(userResponse);
-            when(roleMapper.selectByUserId(1L)).thenReturn(List.of());
-            when(roleDtoMapper.toDTOList(any())).thenReturn(List.of());
+            when(roleMapper.selectByUserIds(List.of(1L)))
+                    .thenReturn(List.of(new UserRoles(1L, List.of(new Role(1L, "USER", "User", null, null)))));
+            when(roleDtoMapper.toDTOList(any())).thenReturn(List.of(new RoleResponse(1L, "USER", "User", null)));
 
-            PageResponse<UserResponse> result = userService.findAll(0, 10, null, null);
+            PageResponse<UserResponse> result = userService.findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT);
 
             assertThat(result.getContent()).hasSize(1);
             assertThat(result.getContent().get(0).getUsername()).isEqualTo("jane");
             assertThat(result.getTotalElements()).isEqualTo(1);
             assertThat(result.getNumber()).isZero();
             assertThat(result.getSize()).isEqualTo(10);
-            verify(userMapper).selectByCondition(null, null, 0, 10);
-            verify(userMapper).countByCondition(null, null);
+            assertThat(result.getContent().get(0).getRoles()).hasSize(1);
+            verify(userMapper).selectByCondition(null, null, MatchMode.CONTAINS, 0, 10);
+            verify(userMapper).countByCondition(null, null, MatchMode.CONTAINS);
+            verify(roleMapper).selectByUserIds(List.of(1L));
+            verify(roleMapper, never()).selectByUserId(any());
+        }
+
+        @Test
+        @DisplayName("does not query roles when page is empty")
+        void emptyPage() {
+            when(userMapper.selectByCondition(null, null, MatchMode.CONTAINS, 0, 10)).thenReturn(List.of());
+            when(userMapper.countByCondition(null, null, MatchMode.CONTAINS)).thenReturn(0L);
+
+            PageResponse<UserResponse> result = userService.findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.EXACT);
+
+            assertThat(result.getContent()).isEmpty();
+            verify(roleMapper, never()).selectByUserIds(any());
+        }
+
+        @Test
+        @DisplayName("count NONE skips countByCondition and leaves totals empty")
+        void countNone() {
+            when(userMapper.selectByCondition(null, null, MatchMode.CONTAINS, 0, 10)).thenReturn(List.of());
+
+            PageResponse<UserResponse> result = userService.findAll(0, 10, null, null, MatchMode.CONTAINS, CountMode.NONE);
+
+            assertThat(result.getTotalElements()).isNull();
+            assertThat(result.getTotalPages()).isNull();
+            assertThat(result.isLast()).isTrue();
+            verify(userMapper, never()).countByCondition(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("passes the prefix match mode through to the mapper")
+        void prefixMatch() {
+            when(userMapper.selectByCondition("ja", null, MatchMode.PREFIX, 0, 10)).thenReturn(List.of());
+            when(userMapper.countByCondition("ja", null, MatchMode.PREFIX)).thenReturn(0L);
+
+            PageResponse<UserResponse> result = userService.findAll(0, 10, "ja", null, MatchMode.PREFIX, CountMode.EXACT);
+
+            assertThat(result.getTotalElements()).isZero();
+            verify(userMapper).countByCondition("ja", null, MatchMode.PREFIX);
+        }
+    }
+
+    @Nested
+    @DisplayName("findAllByCursor")
+    class FindAllByCursor {
+        @Test
+        @DisplayName("first page fetches size + 1 rows and returns a cursor for the last returned row")
+        void firstPageWithNext() {
+            User second = new User(2L, "joe", "encoded", "joe@example.com", true, null, null, null, null);
+            when(userMapper.selectByConditionAfter(null, null, MatchMode.CONTAINS, null, 2)).thenReturn(List.of(userEntity, second));
+            when(userMapper.countByCondition(null, null, MatchMode.CONTAINS)).thenReturn(5L);
+            when(roleMapper.selectByUserIds(List.of(1L))).thenReturn(List.of());
+            when(userDtoMapper.toDTO(userEntity)).thenReturn(userResponse);
+
+            PageResponse<UserResponse> result = userService.findAllByCursor("", 1, null, null, MatchMode.CONTAINS, CountMode.EXACT);
+
+            assertThat(result.getContent()).hasSize(1);
+            assertThat(result.isCursorPaged()).isTrue();
+            assertThat(result.isFirst()).isTrue();
+            assertThat(result.isLast()).isFalse();
+            assertThat(result.getNextCursor()).isEqualTo(PageCursor.encode(1L));
+        }
+
+        @Test
+        @DisplayName("continues after the decoded id and has no cursor on the last page")
+        void lastPage() {
+            when(userMapper.selectByConditionAfter("j", null, MatchMode.CONTAINS, 1L, 11)).thenReturn(List.of());
+            when(userMapper.countByCondition("j", null, MatchMode.CONTAINS)).thenReturn(1L);
+
+            PageResponse<UserResponse> result = userService.findAllByCursor(PageCursor.encode(1L), 10, "j", null, MatchMode.CONTAINS, CountMode.EXACT);
+
+            assertThat(result.getContent()).isEmpty();
+            assertThat(result.isFirst()).isFalse();
+            assertThat(result.isLast()).isTrue();
+            assertThat(result.getNextCursor()).isNull();
+            verify(roleMapper, never()).selectByUserIds(any());
+        }
+
+        @Test
+        @DisplayName("throws BadRequestException for a malformed cursor")
+        void invalidCursor() {
+            assertThatThrownBy(() -> userService.findAllByCursor("not-a-cursor", 10, null, null, MatchMode.CONTAINS, CountMode.EXACT))
+                    .isInstanceOf(BadRequestException.class);
+            verify(userMapper, never()).selectByConditionAfter(any(), any(), any(), any(), anyInt());
         }
     }
 
@@ -158,8 +264,8 @@ class UserServiceImplTest {
             ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
             verify(userMapper).insert(userCaptor.capture());
             assertThat(userCaptor.getValue().getPassword()).isEqualTo("encoded");
-            verify(userRoleMapper).insert(10L, 1L);
-            verify(userRoleMapper).insert(10L, 2L);
+            verify(userRoleMapper).insertBatch(10L, List.of(1L, 2L));
+            verify(pageCounter).evict("user");
         }
 
         @Test
@@ -175,7 +281,7 @@ class UserServiceImplTest {
                     .hasMessageContaining("User creation failed");
 
             verify(roleService).validateRoleIds(List.of(1L));
-            verify(userRoleMapper, never()).insert(any(), any(Long.class));
+            verify(userRoleMapper, never()).insertBatch(any(), any());
         }
     }
 
@@ -223,9 +329,10 @@ class UserServiceImplTest {
             userService.update(1L, request);
 
             verify(roleService).validateRoleIds(List.of(2L, 3L));
-            verify(userRoleMapper).deleteByUserId(1L);
-            verify(userRoleMapper).insert(1L, 2L);
-            verify(userRoleMapper).insert(1L, 3L);
+            verify(userRoleMapper).replaceRoles(1L, List.of(2L, 3L));
+            verify(userRoleMapper, never()).deleteByUserId(any());
+            verify(principalCache).evictUser(1L);
+            verify(authzVersionCache).bumpUser(1L);
         }
 
         @Test
@@ -239,6 +346,8 @@ class UserServiceImplTest {
 
             verify(userMapper).selectById(999L);
             verify(userMapper, never()).update(any());
+            verify(principalCache, never()).evictUser(any());
+            verify(authzVersionCache, never()).bumpUser(any());
         }
     }
 
@@ -253,6 +362,8 @@ class UserServiceImplTest {
             userService.deleteById(1L);
 
             verify(userMapper).deleteById(1L, null);
+            verify(principalCache).evictUser(1L);
+            verify(authzVersionCache).bumpUser(1L);
         }
 
         @Test